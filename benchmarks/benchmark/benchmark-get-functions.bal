@@ -1,6 +1,7 @@
 import benchmarksprintf;
 import benchmarktypes;
 import benchmarkio;
+import benchmarkconcurrency;
 import ballerina/io;
 
 map<function()> functions;
@@ -17,6 +18,9 @@ function addFunctions() {
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addConcurrencyFunctions();
+    addTableFunctions();
+    addQueryFunctions();
 }
 
 function addJSONFunctions() {
@@ -48,6 +52,9 @@ function addJSONFunctions() {
     functions["benchmarkConstrainedJsonWithFunctions"] = benchmarktypes:benchmarkConstrainedJsonWithFunctions;
     functions["benchmarkConstrainedJsonWithFunctionGetKeys"] = benchmarktypes:
     benchmarkConstrainedJsonWithFunctionGetKeys;
+    functions["benchmarkJsonParse"] = benchmarktypes:benchmarkJsonParse;
+    functions["benchmarkJsonParseWithType"] = benchmarktypes:benchmarkJsonParseWithType;
+    functions["benchmarkJsonToJsonString"] = benchmarktypes:benchmarkJsonToJsonString;
 }
 
 function addIntFunctions() {
@@ -113,12 +120,16 @@ function addIoFunctions() {
     functions["benchmarkInitFileChannelAppendMode"] = benchmarkio:benchmarkInitFileChannelAppendMode;
     functions["benchmarkReadBytes"] = benchmarkio:benchmarkReadBytes;
     functions["benchmarkWriteBytes"] = benchmarkio:benchmarkWriteBytes;
+    functions["benchmarkReadFile"] = benchmarkio:benchmarkReadFile;
+    functions["benchmarkReadFileCharacters"] = benchmarkio:benchmarkReadFileCharacters;
 }
 
 function addStringFunctions() {
     functions["benchmarkStringContains"] = benchmarktypes:benchmarkStringContains;
     functions["benchmarkStringEqualsIgnoreCase"] = benchmarktypes:benchmarkStringEqualsIgnoreCase;
     functions["benchmarkStringConcat"] = benchmarktypes:benchmarkStringConcat;
+    functions["benchmarkStringConcatLoop"] = benchmarktypes:benchmarkStringConcatLoop;
+    functions["benchmarkStringConcatFunctionLoop"] = benchmarktypes:benchmarkStringConcatFunctionLoop;
     functions["benchmarkStringHasPrefix"] = benchmarktypes:benchmarkStringHasPrefix;
     functions["benchmarkStringHasSuffix"] = benchmarktypes:benchmarkStringHasSuffix;
     functions["benchmarkStringIndexOf"] = benchmarktypes:benchmarkStringIndexOf;
@@ -140,3 +151,34 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addConcurrencyFunctions() {
+    functions["benchmarkStartAndWaitStrands"] = benchmarkconcurrency:benchmarkStartAndWaitStrands;
+    functions["benchmarkNestedStartStrands"] = benchmarkconcurrency:benchmarkNestedStartStrands;
+    functions["benchmarkWorkerFanOutFanIn"] = benchmarkconcurrency:benchmarkWorkerFanOutFanIn;
+    functions["benchmarkWorkerAsyncSend"] = benchmarkconcurrency:benchmarkWorkerAsyncSend;
+    functions["benchmarkWorkerSyncSend"] = benchmarkconcurrency:benchmarkWorkerSyncSend;
+    functions["benchmarkWorkerSendAndFlush"] = benchmarkconcurrency:benchmarkWorkerSendAndFlush;
+}
+
+function addTableFunctions() {
+    functions["benchmarkTableAdd"] = benchmarktypes:benchmarkTableAdd;
+    functions["benchmarkTablePut"] = benchmarktypes:benchmarkTablePut;
+    functions["benchmarkTableGet"] = benchmarktypes:benchmarkTableGet;
+    functions["benchmarkTableMultiKeyGet"] = benchmarktypes:benchmarkTableMultiKeyGet;
+    functions["benchmarkTableIterate"] = benchmarktypes:benchmarkTableIterate;
+    functions["benchmarkTableRemove"] = benchmarktypes:benchmarkTableRemove;
+    functions["benchmarkKeylessTableAdd"] = benchmarktypes:benchmarkKeylessTableAdd;
+    functions["benchmarkTableQueryByIndexedField"] = benchmarktypes:benchmarkTableQueryByIndexedField;
+}
+
+function addQueryFunctions() {
+    functions["benchmarkQueryWhereSelect"] = benchmarktypes:benchmarkQueryWhereSelect;
+    functions["benchmarkQueryLetWhereSelect"] = benchmarktypes:benchmarkQueryLetWhereSelect;
+    functions["benchmarkQueryLimit"] = benchmarktypes:benchmarkQueryLimit;
+    functions["benchmarkQueryAction"] = benchmarktypes:benchmarkQueryAction;
+    functions["benchmarkQueryStream"] = benchmarktypes:benchmarkQueryStream;
+    functions["benchmarkQueryOrderBy"] = benchmarktypes:benchmarkQueryOrderBy;
+    functions["benchmarkQueryOrderByLimit"] = benchmarktypes:benchmarkQueryOrderByLimit;
+    functions["benchmarkQueryJoin"] = benchmarktypes:benchmarkQueryJoin;
+}
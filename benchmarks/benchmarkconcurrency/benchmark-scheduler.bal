@@ -0,0 +1,58 @@
+// Run these with BALLERINA_SCHEDULER_MODE set to `shared` (default) and `work-stealing` to compare the
+// throughput of the two strand schedulers.
+
+const int STRAND_COUNT = 1000;
+
+public function benchmarkStartAndWaitStrands() {
+    future<int>[] futures = [];
+    int i = 0;
+    while (i < STRAND_COUNT) {
+        futures[i] = start compute(i);
+        i = i + 1;
+    }
+    foreach var f in futures {
+        int result = wait f;
+    }
+}
+
+public function benchmarkNestedStartStrands() {
+    future<int> f = start spawnTree(10);
+    int result = wait f;
+}
+
+public function benchmarkWorkerFanOutFanIn() {
+    worker w1 returns int {
+        return compute(1);
+    }
+    worker w2 returns int {
+        return compute(2);
+    }
+    worker w3 returns int {
+        return compute(3);
+    }
+    worker w4 returns int {
+        return compute(4);
+    }
+    map<int> results = wait {w1, w2, w3, w4};
+}
+
+function spawnTree(int depth) returns int {
+    if (depth == 0) {
+        return compute(depth);
+    }
+    future<int> left = start spawnTree(depth - 1);
+    future<int> right = start spawnTree(depth - 1);
+    int l = wait left;
+    int r = wait right;
+    return l + r;
+}
+
+function compute(int seed) returns int {
+    int sum = seed;
+    int i = 0;
+    while (i < 100) {
+        sum = sum + i * seed;
+        i = i + 1;
+    }
+    return sum;
+}
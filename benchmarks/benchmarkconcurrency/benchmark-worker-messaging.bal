@@ -0,0 +1,56 @@
+const int MESSAGE_COUNT = 1000;
+
+public function benchmarkWorkerAsyncSend() {
+    worker sender {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            i -> receiver;
+            i = i + 1;
+        }
+    }
+    worker receiver {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            int value = <- sender;
+            i = i + 1;
+        }
+    }
+    _ = wait {sender, receiver};
+}
+
+public function benchmarkWorkerSyncSend() {
+    worker sender returns error? {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            _ = check i ->> receiver;
+            i = i + 1;
+        }
+    }
+    worker receiver {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            int value = <- sender;
+            i = i + 1;
+        }
+    }
+    _ = wait {sender, receiver};
+}
+
+public function benchmarkWorkerSendAndFlush() {
+    worker sender returns error? {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            i -> receiver;
+            i = i + 1;
+        }
+        check flush receiver;
+    }
+    worker receiver {
+        int i = 0;
+        while (i < MESSAGE_COUNT) {
+            int value = <- sender;
+            i = i + 1;
+        }
+    }
+    _ = wait {sender, receiver};
+}
@@ -0,0 +1,45 @@
+import ballerina/io;
+
+const string LARGE_FILE_PATH = "benchmarkio/resources/large.txt";
+const int LARGE_FILE_LINES = 200000;
+const int READ_SIZE = 16384;
+
+function init() {
+    // Writes a log file of about sixteen megabytes for the file read benchmarks.
+    io:WritableByteChannel byteChannel = checkpanic io:openWritableFile(LARGE_FILE_PATH);
+    byte[] line = "2021-03-03T10:15:30.000+05:30 INFO  [ballerina/http] - request served in 12 ms\n".toBytes();
+    foreach int i in 0 ..< LARGE_FILE_LINES {
+        int written = 0;
+        while written < line.length() {
+            written += checkpanic byteChannel.write(line, written);
+        }
+    }
+    checkpanic byteChannel.close();
+}
+
+public function benchmarkReadFile() {
+    io:ReadableByteChannel byteChannel = checkpanic io:openReadableFile(LARGE_FILE_PATH);
+    int total = 0;
+    while true {
+        byte[]|io:Error bytes = byteChannel.read(READ_SIZE);
+        if bytes is io:Error {
+            break;
+        }
+        total += bytes.length();
+    }
+    checkpanic byteChannel.close();
+}
+
+public function benchmarkReadFileCharacters() {
+    io:ReadableByteChannel byteChannel = checkpanic io:openReadableFile(LARGE_FILE_PATH);
+    io:ReadableCharacterChannel characterChannel = new (byteChannel, "UTF-8");
+    int total = 0;
+    while true {
+        string|io:Error characters = characterChannel.read(READ_SIZE);
+        if characters is io:Error || characters.length() == 0 {
+            break;
+        }
+        total += characters.length();
+    }
+    checkpanic characterChannel.close();
+}
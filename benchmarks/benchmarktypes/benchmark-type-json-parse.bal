@@ -0,0 +1,38 @@
+const string INVOICE_JSON = "{\"id\":\"INV-2021-000125\",\"issued\":\"2021-03-04T10:15:30Z\",\"paid\":false," +
+    "\"customer\":{\"name\":\"Jane Doe\",\"email\":\"jane.doe@example.com\",\"city\":\"Zürich\"}," +
+    "\"lines\":[{\"sku\":\"A-1001\",\"description\":\"Notebook, ruled\",\"quantity\":12,\"price\":2.5}," +
+    "{\"sku\":\"A-1002\",\"description\":\"Ballpoint pen \\\"blue\\\"\",\"quantity\":40,\"price\":0.75}," +
+    "{\"sku\":\"B-2001\",\"description\":\"Desk lamp\",\"quantity\":1,\"price\":34.9}," +
+    "{\"sku\":\"C-3001\",\"description\":\"Paper, A4, 500 sheets\",\"quantity\":5,\"price\":6.2}]," +
+    "\"notes\":null,\"total\":103.9}";
+
+type Invoice record {|
+    string id;
+    string issued;
+    boolean paid;
+    InvoiceCustomer customer;
+    InvoiceLine[] lines;
+    string? notes;
+    float total;
+|};
+
+type InvoiceCustomer record {|
+    string name;
+    string email;
+    string city;
+|};
+
+type InvoiceLine record {|
+    string sku;
+    string description;
+    int quantity;
+    float price;
+|};
+
+public function benchmarkJsonParse() {
+    json|error invoice = INVOICE_JSON.fromJsonString();
+}
+
+public function benchmarkJsonParseWithType() {
+    Invoice|error invoice = INVOICE_JSON.fromJsonStringWithType(Invoice);
+}
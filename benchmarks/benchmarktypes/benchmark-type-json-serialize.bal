@@ -0,0 +1,5 @@
+final json invoiceJson = checkpanic INVOICE_JSON.fromJsonString();
+
+public function benchmarkJsonToJsonString() {
+    string invoice = invoiceJson.toJsonString();
+}
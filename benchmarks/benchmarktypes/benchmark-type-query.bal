@@ -0,0 +1,102 @@
+const int QUERY_INPUT_SIZE = 100000;
+
+type Order record {|
+    int id;
+    string customer;
+    float amount;
+    int quantity;
+|};
+
+type JoinCustomer record {|
+    string name;
+    string region;
+|};
+
+type OrderSummary record {|
+    int id;
+    string customer;
+    float total;
+|};
+
+public function benchmarkQueryWhereSelect() {
+    Order[] orders = createOrders();
+    OrderSummary[] summaries = from var o in orders
+                               where o.quantity > 2
+                               select {id: o.id, customer: o.customer, total: o.amount * <float>o.quantity};
+}
+
+public function benchmarkQueryLetWhereSelect() {
+    Order[] orders = createOrders();
+    float[] totals = from var o in orders
+                     let float total = o.amount * <float>o.quantity
+                     where total > 500.0
+                     select total;
+}
+
+public function benchmarkQueryLimit() {
+    Order[] orders = createOrders();
+    int[] ids = from var o in orders
+                where o.customer == "Customer7"
+                limit 1000
+                select o.id;
+}
+
+public function benchmarkQueryAction() {
+    Order[] orders = createOrders();
+    float revenue = 0.0;
+    error? result = from var o in orders
+                    where o.quantity > 0
+                    do {
+                        revenue += o.amount;
+                    };
+}
+
+public function benchmarkQueryStream() {
+    Order[] orders = createOrders();
+    stream<int> ids = stream from var o in orders where o.quantity > 2 select o.id;
+    record {| int value; |}? next = ids.next();
+    while (next is record {| int value; |}) {
+        next = ids.next();
+    }
+}
+
+public function benchmarkQueryOrderBy() {
+    Order[] orders = createOrders();
+    int[] ids = from var o in orders
+                where o.quantity > 2
+                order by o.amount descending
+                select o.id;
+}
+
+public function benchmarkQueryOrderByLimit() {
+    Order[] orders = createOrders();
+    int[] ids = from var o in orders
+                order by o.amount descending, o.id
+                limit 10
+                select o.id;
+}
+
+public function benchmarkQueryJoin() {
+    Order[] orders = createOrders();
+    JoinCustomer[] customers = [];
+    int i = 0;
+    while (i < 10) {
+        customers.push({name: "Customer" + i.toString(), region: i % 2 == 0 ? "East" : "West"});
+        i = i + 1;
+    }
+    string[] regions = from var o in orders
+                       join var c in customers
+                       on o.customer equals c.name
+                       where o.quantity > 2
+                       select c.region;
+}
+
+function createOrders() returns Order[] {
+    Order[] orders = [];
+    int i = 0;
+    while (i < QUERY_INPUT_SIZE) {
+        orders.push({id: i, customer: "Customer" + (i % 10).toString(), amount: <float>(i % 100), quantity: i % 5});
+        i = i + 1;
+    }
+    return orders;
+}
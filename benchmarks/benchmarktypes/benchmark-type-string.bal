@@ -16,6 +16,22 @@ public function benchmarkStringConcat() {
     string s3 = s2 + s2;
 }
 
+public function benchmarkStringConcatLoop() {
+    string s = "";
+    foreach int i in 0 ..< 10000 {
+        s = s + i.toString() + ",";
+    }
+    boolean result = s.endsWith("9999,");
+}
+
+public function benchmarkStringConcatFunctionLoop() {
+    string s = "";
+    foreach int i in 0 ..< 10000 {
+        s = s.concat(i.toString());
+    }
+    boolean result = s.endsWith("9999");
+}
+
 public function benchmarkStringHasPrefix() {
     string name = "randomPerson";
     string prefix = "Mr";
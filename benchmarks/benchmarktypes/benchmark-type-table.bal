@@ -0,0 +1,116 @@
+const int TABLE_SIZE = 1000000;
+
+type TableEmployee record {
+    readonly int id;
+    string name;
+    float salary;
+};
+
+type TableCustomer record {
+    readonly string name;
+    readonly int id;
+    string city;
+};
+
+type Department record {
+    readonly int id;
+    readonly string name;
+    readonly int floor;
+};
+
+type EmployeeTable table<TableEmployee> key(id);
+
+type CustomerTable table<TableCustomer> key(name, id);
+
+public function benchmarkTableAdd() {
+    EmployeeTable employees = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        employees.add({id: i, name: "Employee", salary: 100.0});
+        i = i + 1;
+    }
+}
+
+public function benchmarkTablePut() {
+    EmployeeTable employees = createEmployeeTable();
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        employees.put({id: i, name: "Updated", salary: 200.0});
+        i = i + 1;
+    }
+}
+
+public function benchmarkTableGet() {
+    EmployeeTable employees = createEmployeeTable();
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        TableEmployee employee = employees.get(i);
+        i = i + 1;
+    }
+}
+
+public function benchmarkTableMultiKeyGet() {
+    CustomerTable customers = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        customers.add({name: "Customer", id: i, city: "Colombo"});
+        i = i + 1;
+    }
+    i = 0;
+    while (i < TABLE_SIZE) {
+        TableCustomer customer = customers.get(["Customer", i]);
+        i = i + 1;
+    }
+}
+
+public function benchmarkTableIterate() {
+    EmployeeTable employees = createEmployeeTable();
+    float total = 0.0;
+    foreach TableEmployee employee in employees {
+        total = total + employee.salary;
+    }
+}
+
+public function benchmarkTableRemove() {
+    EmployeeTable employees = createEmployeeTable();
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        TableEmployee employee = employees.remove(i);
+        i = i + 1;
+    }
+}
+
+public function benchmarkKeylessTableAdd() {
+    table<TableEmployee> employees = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        employees.add({id: i, name: "Employee", salary: 100.0});
+        i = i + 1;
+    }
+}
+
+public function benchmarkTableQueryByIndexedField() {
+    table<Department> key(id) departments = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        departments.add({id: i, name: "Department" + (i % 100).toString(), floor: i % 50});
+        i = i + 1;
+    }
+    i = 0;
+    while (i < 100) {
+        string name = "Department" + i.toString();
+        int[] ids = from var department in departments where department.name == name select department.id;
+        int[] lowFloors = from var department in departments where department.floor < 1 select department.id;
+        i = i + 1;
+    }
+}
+
+function createEmployeeTable() returns EmployeeTable {
+    EmployeeTable employees = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        employees.add({id: i, name: "Employee", salary: 100.0});
+        i = i + 1;
+    }
+    return employees;
+}
@@ -28,6 +28,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.Utf8JsonParser;
 import io.ballerina.runtime.internal.values.ErrorValue;
 
 import java.io.IOException;
@@ -35,6 +36,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 /**
@@ -67,6 +69,29 @@ public class JsonUtils {
         return JsonParser.parse(in, charsetName);
     }
 
+    /**
+     * Parses the UTF-8 encoded JSON content in the given bytes and returns a json.
+     *
+     * @param bytes the bytes which contain the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes) throws BError {
+        return Utf8JsonParser.parse(bytes, 0, bytes.length, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the remaining bytes of the given {@link ByteBuffer} and returns a
+     * json. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer which contains the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer) throws BError {
+        return Utf8JsonParser.parse(buffer, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
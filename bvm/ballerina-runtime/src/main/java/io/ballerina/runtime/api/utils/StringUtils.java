@@ -48,8 +48,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.STRING_LANG_LIB;
@@ -115,25 +113,24 @@ public class StringUtils {
         if (s == null) {
             return null;
         }
-        List<Integer> highSurrogates = null;
+        int highSurrogates = 0;
         for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (Character.isHighSurrogate(c)) {
-                if (highSurrogates == null) {
-                    highSurrogates = new ArrayList<>();
-                }
-                highSurrogates.add(i - highSurrogates.size());
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogates++;
             }
         }
-        if (highSurrogates == null) {
+        if (highSurrogates == 0) {
             return new BmpStringValue(s);
         }
 
-        int[] highSurrogatesArr = new int[highSurrogates.size()];
-
-        for (int i = 0; i < highSurrogates.size(); i++) {
-            Integer highSurrogate = highSurrogates.get(i);
-            highSurrogatesArr[i] = highSurrogate;
+        // Code point indices of the surrogate pairs, in ascending order.
+        int[] highSurrogatesArr = new int[highSurrogates];
+        int count = 0;
+        for (int i = 0; count < highSurrogates; i++) {
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogatesArr[count] = i - count;
+                count++;
+            }
         }
         return new NonBmpStringValue(s, highSurrogatesArr);
     }
@@ -18,7 +18,10 @@
 package io.ballerina.runtime.internal;
 
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 import io.ballerina.runtime.internal.values.ArrayValue;
 import io.ballerina.runtime.internal.values.DecimalValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
@@ -26,17 +29,23 @@ import io.ballerina.runtime.internal.values.RefValue;
 import io.ballerina.runtime.internal.values.StreamingJsonValue;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * This class represents the functionality to generate the JSON constructs to be written out
  * to a given {@link OutputStream}.
+ * <p>
+ * When the output stream is written in UTF-8, the generator encodes the JSON constructs into its own byte buffer,
+ * without going through a {@link Writer}.
  * 
  * @since 0.995.0
  */
@@ -44,8 +53,18 @@ public class JsonGenerator {
 
     private static final int DEFAULT_DEPTH = 10;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte REPLACEMENT_BYTE = '?';
+
     private Writer writer;
 
+    private OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
     private boolean[] levelInit = new boolean[DEFAULT_DEPTH];
 
     private int currentLevel;
@@ -68,7 +87,12 @@ public class JsonGenerator {
     }
 
     public JsonGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            this.out = out;
+            this.buffer = new byte[BUFFER_SIZE];
+        } else {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        }
     }
 
     public JsonGenerator(Writer writer) {
@@ -96,7 +120,7 @@ public class JsonGenerator {
     private void processStartLevel() throws IOException {
         if (!this.fieldActive) {
             if (this.getLevelInit(this.currentLevel)) {
-                this.writer.write(", ");
+                this.write(", ");
             } else {
                 this.setLevelInit(this.currentLevel, true);
             }
@@ -114,7 +138,7 @@ public class JsonGenerator {
 
     private void processFieldInit() throws IOException {
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -127,7 +151,7 @@ public class JsonGenerator {
             return;
         }
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -135,39 +159,43 @@ public class JsonGenerator {
 
     public void startObject() throws IOException {
         this.processStartLevel();
-        this.writer.write('{');
+        this.write('{');
     }
 
     public void endObject() throws IOException {
-        this.writer.write('}');
+        this.write('}');
         this.processEndLevel();
     }
 
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
         this.writeStringValue(fieldName);
-        this.writer.write(":");
+        this.write(':');
+    }
+
+    private void writeFieldName(byte[] encodedFieldName) throws IOException {
+        this.processFieldInit();
+        this.write(encodedFieldName);
     }
 
     private void writeStringValue(String value) throws IOException {
-        this.writer.write("\"");
+        this.write('"');
         int count = value.length();
         char ch;
         boolean escaped = false;
-        char[] chs = value.toCharArray();
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
+            ch = value.charAt(i);
             if (ch < escChars.length && escChars[ch]) {
                 escaped = true;
                 break;
             }
         }
         if (escaped) {
-            this.writeStringEsc(chs);
+            this.writeStringEsc(value);
         } else {
-            this.writer.write(chs);
+            this.write(value, 0, count);
         }
-        this.writer.write("\"");
+        this.write('"');
     }
 
     public void writeString(String value) throws IOException {
@@ -176,50 +204,54 @@ public class JsonGenerator {
     }
 
     public void writeStringEsc(char[] chs) throws IOException {
-        int count = chs.length;
+        this.writeStringEsc(new String(chs));
+    }
+
+    private void writeStringEsc(String value) throws IOException {
+        int count = value.length();
         int index = 0;
         char ch;
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
+            ch = value.charAt(i);
             switch (ch) {
                 case '"':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\"");
+                    this.write(value, index, i - index);
+                    this.write("\\\"");
                     index = i + 1;
                     break;
                 case '\\':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\\");
+                    this.write(value, index, i - index);
+                    this.write("\\\\");
                     index = i + 1;
                     break;
                 case '/':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\/");
+                    this.write(value, index, i - index);
+                    this.write("\\/");
                     index = i + 1;
                     break;
                 case '\b':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\b");
+                    this.write(value, index, i - index);
+                    this.write("\\b");
                     index = i + 1;
                     break;
                 case '\n':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\n");
+                    this.write(value, index, i - index);
+                    this.write("\\n");
                     index = i + 1;
                     break;
                 case '\r':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\r");
+                    this.write(value, index, i - index);
+                    this.write("\\r");
                     index = i + 1;
                     break;
                 case '\f':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\f");
+                    this.write(value, index, i - index);
+                    this.write("\\f");
                     index = i + 1;
                     break;
                 case '\t':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\t");
+                    this.write(value, index, i - index);
+                    this.write("\\t");
                     index = i + 1;
                     break;
                 default:
@@ -228,48 +260,176 @@ public class JsonGenerator {
         }
 
         if (count - index > 0) {
-            this.writer.write(chs, index, count - index);
+            this.write(value, index, count - index);
         }
 
     }
 
     public void writeNumber(long value) throws IOException {
         this.processValueInit();
-        this.writer.write(Long.toString(value));
+        if (this.out == null || value == Long.MIN_VALUE) {
+            this.write(Long.toString(value));
+            return;
+        }
+
+        // Write the digits from the end, so that no string is created for the number.
+        this.ensureCapacity(20);
+        if (value < 0) {
+            this.buffer[this.position++] = '-';
+            value = -value;
+        }
+        int end = this.position + digitCount(value);
+        int pos = end;
+        do {
+            this.buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        this.position = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
     }
 
     public void writeNumber(double value) throws IOException {
         this.processValueInit();
-        this.writer.write(Double.toString(value));
+        this.write(Double.toString(value));
     }
 
     public void writeNumber(BigDecimal value) throws IOException {
         this.processValueInit();
-        this.writer.write(value.toString());
+        this.write(value.toString());
     }
 
     public void writeBoolean(boolean value) throws IOException {
         this.processValueInit();
-        this.writer.write(Boolean.toString(value));
+        this.write(Boolean.toString(value));
     }
 
     public void writeNull() throws IOException {
         this.processValueInit();
-        this.writer.write("null");
+        this.write("null");
     }
 
     public void writeStartArray() throws IOException {
         this.processStartLevel();
-        this.writer.write("[");
+        this.write('[');
     }
 
     public void writeEndArray() throws IOException {
-        this.writer.write("]");
+        this.write(']');
         this.processEndLevel();
     }
 
     public void flush() throws IOException {
-        this.writer.flush();
+        if (this.out == null) {
+            this.writer.flush();
+            return;
+        }
+        this.flushBuffer();
+        this.out.flush();
+    }
+
+    private void write(char ch) throws IOException {
+        if (this.out == null) {
+            this.writer.write(ch);
+            return;
+        }
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) ch;
+    }
+
+    private void write(String str) throws IOException {
+        this.write(str, 0, str.length());
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > this.buffer.length) {
+            this.flushBuffer();
+            this.out.write(bytes);
+            return;
+        }
+        this.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    private void write(String str, int offset, int length) throws IOException {
+        if (this.out == null) {
+            this.writer.write(str, offset, length);
+            return;
+        }
+
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char ch = str.charAt(i);
+            if (ch < 0x80) {
+                if (this.position == this.buffer.length) {
+                    this.flushBuffer();
+                }
+                this.buffer[this.position++] = (byte) ch;
+                continue;
+            }
+
+            this.ensureCapacity(4);
+            if (ch < 0x800) {
+                this.buffer[this.position++] = (byte) (0xC0 | (ch >> 6));
+                this.buffer[this.position++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                this.buffer[this.position++] = (byte) (0xE0 | (ch >> 12));
+                this.buffer[this.position++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, str.charAt(++i));
+                this.buffer[this.position++] = (byte) (0xF0 | (codePoint >> 18));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates are replaced the same way the UTF-8 writer replaces them.
+                this.buffer[this.position++] = REPLACEMENT_BYTE;
+            }
+        }
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (this.position + length > this.buffer.length) {
+            this.flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.position > 0) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+
+    /**
+     * Returns the UTF-8 encoded field names of the given record type, each quoted and followed by the colon, so that
+     * the field names of records are escaped and encoded only once. The encoded names are cached on the record type,
+     * rather than in a map which would hold every record type created at runtime.
+     */
+    private static Map<String, byte[]> getEncodedFieldNames(BRecordType recordType) {
+        return recordType.getEncodedJsonFieldNames(JsonGenerator::encodeFieldName);
+    }
+
+    private static byte[] encodeFieldName(String fieldName) {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(byteOut, StandardCharsets.UTF_8);
+        try {
+            gen.writeStringValue(fieldName);
+            gen.write(':');
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("Error in encoding the JSON field name: " + e.getMessage(), e);
+        }
+        return byteOut.toByteArray();
     }
 
     @SuppressWarnings("unchecked")
@@ -279,7 +439,8 @@ public class JsonGenerator {
             return;
         }
 
-        switch (TypeChecker.getType(json).getTag()) {
+        Type type = TypeChecker.getType(json);
+        switch (type.getTag()) {
             case TypeTags.ARRAY_TAG:
                 if (json instanceof StreamingJsonValue) {
                     ((StreamingJsonValue) json).serialize(this);
@@ -307,11 +468,22 @@ public class JsonGenerator {
             case TypeTags.BYTE_TAG:
                 this.writeNumber(((Number) json).intValue());
                 break;
+            case TypeTags.RECORD_TYPE_TAG:
             case TypeTags.MAP_TAG:
             case TypeTags.JSON_TAG:
+                Map<String, byte[]> encodedFieldNames = null;
+                if (this.out != null && type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                    encodedFieldNames = getEncodedFieldNames((BRecordType) type);
+                }
                 this.startObject();
                 for (Entry<BString, RefValue> entry : ((MapValueImpl<BString, RefValue>) json).entrySet()) {
-                    this.writeFieldName(entry.getKey().getValue());
+                    String fieldName = entry.getKey().getValue();
+                    byte[] encodedFieldName = encodedFieldNames == null ? null : encodedFieldNames.get(fieldName);
+                    if (encodedFieldName != null) {
+                        this.writeFieldName(encodedFieldName);
+                    } else {
+                        this.writeFieldName(fieldName);
+                    }
                     serialize(entry.getValue());
                 }
                 this.endObject();
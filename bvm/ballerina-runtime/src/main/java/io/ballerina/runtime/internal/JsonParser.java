@@ -33,12 +33,13 @@ import io.ballerina.runtime.internal.values.MapValueImpl;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
@@ -50,6 +51,11 @@ import java.util.Deque;
 @SuppressWarnings("unchecked")
 public class JsonParser {
 
+    /**
+     * Largest input stream which is read into memory at once to be parsed as UTF-8 bytes.
+     */
+    private static final int MAX_BUFFERED_INPUT_SIZE = 8 * 1024 * 1024;
+
     private static ThreadLocal<StateMachine> tlStateMachine = new ThreadLocal<StateMachine>() {
         @Override
         public StateMachine initialValue() {
@@ -79,6 +85,11 @@ public class JsonParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BError {
         try {
+            if (isUtf8(charsetName) && hasBoundedSize(in)) {
+                byte[] bytes = in.readAllBytes();
+                return Utf8JsonParser.parse(bytes, 0, bytes.length,
+                                            JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+            }
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                                    JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
             return changeForBString(jsonObj);
@@ -96,7 +107,7 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr) throws BError {
-        return parse(new StringReader(jsonStr), JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        return Utf8JsonParser.parse(jsonStr, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
     }
 
     /**
@@ -108,7 +119,25 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr, JsonUtils.NonStringValueProcessingMode mode) throws BError {
-        return parse(new StringReader(jsonStr), mode);
+        return Utf8JsonParser.parse(jsonStr, mode);
+    }
+
+    /**
+     * Checks whether the remaining content of the given stream is known to fit into memory. Only byte array streams
+     * know the size of their remaining content, hence other streams are parsed as they are read.
+     */
+    private static boolean hasBoundedSize(InputStream in) {
+        return in instanceof ByteArrayInputStream &&
+                ((ByteArrayInputStream) in).available() <= MAX_BUFFERED_INPUT_SIZE;
+    }
+
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            // Unsupported charsets are reported by the input stream reader.
+            return false;
+        }
     }
 
     private static Object changeForBString(Object jsonObj) {
@@ -228,6 +257,8 @@ public class JsonParser {
             this.mode = JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING;
             this.nodesStack = new ArrayDeque<>();
             this.fieldNames = new ArrayDeque<>();
+            // a document which failed half way through a token leaves its characters in the buffer
+            this.charBuffIndex = 0;
         }
 
         private static boolean isWhitespace(char ch) {
@@ -848,6 +879,9 @@ public class JsonParser {
                 } catch (NumberFormatException ignore) {
                     throw new JsonParserException("unrecognized token '" + str + "'");
                 }
+            } else if (str.isEmpty()) {
+                // e.g. a trailing comma in an array
+                throw new JsonParserException("unrecognized token ''");
             } else {
                 char ch = str.charAt(0);
                 if (ch == 't' && TRUE.equals(str)) {
@@ -68,8 +68,9 @@ public class TableUtils {
             Type refType = refValue.getType();
             if (refType.getTag() == TypeTags.MAP_TAG || refType.getTag() == TypeTags.RECORD_TYPE_TAG) {
                 MapValue mapValue = (MapValue) refValue;
+                // Equal maps may have their entries in a different order, hence the entry hashes are summed.
                 for (Object entry : mapValue.entrySet()) {
-                    result = 31 * result + hash(((Map.Entry) entry).getKey(), node) +
+                    result += 31 * hash(((Map.Entry) entry).getKey(), node) +
                             (((Map.Entry) entry).getValue() == null ? 0 : hash(((Map.Entry) entry).getValue(),
                                     node));
                 }
@@ -0,0 +1,742 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A JSON parser which reads UTF-8 encoded bytes directly, without decoding them into characters first.
+ * <p>
+ * Apart from parsing a document into a json value, the parser can bind a document directly to a record, map, array
+ * or simple type in a single pass. The parser only handles documents which {@link JsonParser} parses into the same
+ * values, and hands any other document over to {@link JsonParser}, so that both parsers give the same values and the
+ * same error messages.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+public class Utf8JsonParser {
+
+    private static final int MAX_DEPTH = 512;
+    private static final String NULL = "null";
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final byte[] bytes;
+    private final int end;
+    private final JsonUtils.NonStringValueProcessingMode mode;
+    private BTypedesc typedesc;
+    private char[] chars;
+    private int pos;
+    private int depth;
+
+    private Utf8JsonParser(byte[] bytes, int offset, int length, JsonUtils.NonStringValueProcessingMode mode) {
+        this.bytes = bytes;
+        this.pos = offset;
+        this.end = offset + length;
+        this.mode = mode;
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the given byte range and returns a json.
+     *
+     * @param bytes  the bytes which contain the JSON content
+     * @param offset the index of the first byte of the JSON content
+     * @param length the number of bytes in the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes, int offset, int length, JsonUtils.NonStringValueProcessingMode mode)
+            throws BError {
+        try {
+            return new Utf8JsonParser(bytes, offset, length, mode).parseDocument();
+        } catch (FallbackException e) {
+            return parseWithJsonParser(bytes, offset, length, mode);
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the remaining bytes of the given buffer and returns a json. The position
+     * of the buffer is not changed.
+     *
+     * @param buffer the buffer which contains the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        if (buffer.hasArray()) {
+            return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), mode);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return parse(bytes, 0, bytes.length, mode);
+    }
+
+    /**
+     * Parses the contents in the given string and returns a json.
+     *
+     * @param jsonStr the string which contains the JSON content
+     * @param mode    the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(String jsonStr, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        // Unpaired surrogates cannot be encoded in UTF-8, so such strings are parsed as characters.
+        if (!hasUnpairedSurrogate(jsonStr)) {
+            byte[] bytes = jsonStr.getBytes(StandardCharsets.UTF_8);
+            try {
+                return new Utf8JsonParser(bytes, 0, bytes.length, mode).parseDocument();
+            } catch (FallbackException ignore) {
+                // Let the JSON parser give the same value or error as before.
+            }
+        }
+        return JsonParser.parse(new StringReader(jsonStr), mode);
+    }
+
+    /**
+     * Parses the contents in the given string and converts the parsed value to the type described by the given
+     * typedesc. Records, maps, arrays and simple types are populated while parsing. For any other type, and for any
+     * value which does not belong to the type, the string is parsed into a json and the json is given to the
+     * converter, so that the conversion result and the error messages are the same as those of the converter.
+     *
+     * @param jsonStr   the string which contains the JSON content
+     * @param typedesc  the typedesc of the target type
+     * @param converter the function which converts a json to the target type
+     * @return the value of the target type, or the result of the converter
+     * @throws BError for any parsing error
+     */
+    public static Object parse(String jsonStr, BTypedesc typedesc, Function<Object, Object> converter)
+            throws BError {
+        if (!hasUnpairedSurrogate(jsonStr)) {
+            byte[] bytes = jsonStr.getBytes(StandardCharsets.UTF_8);
+            Utf8JsonParser parser = new Utf8JsonParser(bytes, 0, bytes.length,
+                                                       JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+            parser.typedesc = typedesc;
+            try {
+                return parser.bindDocument(typedesc.getDescribingType());
+            } catch (FallbackException ignore) {
+                // Let the converter give the same value or error as before.
+            }
+        }
+        return converter.apply(parse(jsonStr, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING));
+    }
+
+    private static Object parseWithJsonParser(byte[] bytes, int offset, int length,
+                                              JsonUtils.NonStringValueProcessingMode mode) {
+        return JsonParser.parse(new InputStreamReader(new ByteArrayInputStream(bytes, offset, length),
+                                                      StandardCharsets.UTF_8), mode);
+    }
+
+    private static boolean hasUnpairedSurrogate(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            if (Character.isHighSurrogate(ch) && i + 1 < str.length() &&
+                    Character.isLowSurrogate(str.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(ch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object parseDocument() throws FallbackException {
+        skipWhitespace();
+        Object value = parseValue();
+        skipWhitespace();
+        if (pos != end) {
+            throw FallbackException.INSTANCE;
+        }
+        return value;
+    }
+
+    private Object bindDocument(Type type) throws FallbackException {
+        skipWhitespace();
+        Object value = bindValue(type, false);
+        skipWhitespace();
+        if (pos != end) {
+            throw FallbackException.INSTANCE;
+        }
+        return value;
+    }
+
+    private Object parseValue() throws FallbackException {
+        switch (peek()) {
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case '"':
+            case '\'':
+                return StringUtils.fromString(parseString());
+            default:
+                return parseToken();
+        }
+    }
+
+    private Object parseObject() throws FallbackException {
+        enter();
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_JSON));
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            do {
+                BString key = StringUtils.fromString(parseFieldName());
+                map.put(key, parseValue());
+                skipWhitespace();
+            } while (endOfMember('}'));
+        }
+        depth--;
+        return map;
+    }
+
+    private Object parseArray() throws FallbackException {
+        enter();
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_JSON));
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+        } else {
+            do {
+                skipWhitespace();
+                array.append(parseValue());
+                skipWhitespace();
+            } while (endOfMember(']'));
+        }
+        depth--;
+        return array;
+    }
+
+    /**
+     * Binds the next value to the given type.
+     *
+     * @param type   the type to bind the value to
+     * @param isLike whether the value is checked with the like-type rules, under which a record value has to contain
+     *               every field which is not optional. These rules apply to the members of maps and arrays.
+     * @return the value of the given type
+     * @throws FallbackException if the value cannot be bound to the type in a single pass
+     */
+    private Object bindValue(Type type, boolean isLike) throws FallbackException {
+        int ch = peek();
+        if (ch == 'n' && isNullToken()) {
+            if (!type.isNilable()) {
+                throw FallbackException.INSTANCE;
+            }
+            pos += NULL.length();
+            return null;
+        }
+
+        int tag = type.getTag();
+        switch (tag) {
+            case TypeTags.RECORD_TYPE_TAG:
+                return bindRecord((BRecordType) type, isLike);
+            case TypeTags.MAP_TAG:
+                return bindMap((BMapType) type);
+            case TypeTags.ARRAY_TAG:
+                return bindArray((ArrayType) type);
+            case TypeTags.JSON_TAG:
+                if (type.isReadOnly()) {
+                    throw FallbackException.INSTANCE;
+                }
+                return parseValue();
+            case TypeTags.ANYDATA_TAG:
+                if (ch == '{' || ch == '[' || type.isReadOnly()) {
+                    throw FallbackException.INSTANCE;
+                }
+                return parseValue();
+            case TypeTags.UNION_TAG:
+                return bindValue(getNonNilMemberType((BUnionType) type), isLike);
+            default:
+                if (tag <= TypeTags.BOOLEAN_TAG || TypeTags.isIntegerTypeTag(tag) || TypeTags.isStringTypeTag(tag)) {
+                    return bindSimpleValue(type, ch);
+                }
+                throw FallbackException.INSTANCE;
+        }
+    }
+
+    private Object bindSimpleValue(Type type, int ch) throws FallbackException {
+        Object value;
+        if (ch == '"' || ch == '\'') {
+            value = StringUtils.fromString(parseString());
+        } else if (ch == '{' || ch == '[') {
+            throw FallbackException.INSTANCE;
+        } else {
+            value = parseToken();
+        }
+
+        if (value == null) {
+            throw FallbackException.INSTANCE;
+        }
+        if (TypeChecker.checkIsType(value, type)) {
+            return value;
+        }
+        if (TypeChecker.checkIsLikeType(value, type, true)) {
+            return TypeConverter.convertValues(type, value);
+        }
+        throw FallbackException.INSTANCE;
+    }
+
+    private Object bindRecord(BRecordType recordType, boolean isLike) throws FallbackException {
+        if (peek() != '{' || recordType.isReadOnly()) {
+            throw FallbackException.INSTANCE;
+        }
+        enter();
+        BMap<BString, Object> record;
+        if (typedesc.getDescribingType() == recordType) {
+            record = (BMap<BString, Object>) typedesc.instantiate(Scheduler.getStrand());
+        } else {
+            record = ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName());
+        }
+
+        Map<String, Field> fields = recordType.getFields();
+        Set<String> mandatoryFields = null;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            do {
+                String key = parseFieldName();
+                Field field = fields.get(key);
+                Type fieldType;
+                if (field != null) {
+                    fieldType = field.getFieldType();
+                    if (isMandatory(field, isLike)) {
+                        if (mandatoryFields == null) {
+                            mandatoryFields = new HashSet<>();
+                        }
+                        mandatoryFields.add(key);
+                    }
+                } else if (!recordType.sealed) {
+                    fieldType = recordType.restFieldType;
+                } else {
+                    throw FallbackException.INSTANCE;
+                }
+                record.put(StringUtils.fromString(key), bindValue(fieldType, isLike));
+                skipWhitespace();
+            } while (endOfMember('}'));
+        }
+
+        int mandatoryFieldCount = 0;
+        for (Field field : fields.values()) {
+            if (isMandatory(field, isLike)) {
+                mandatoryFieldCount++;
+            }
+        }
+        if (mandatoryFieldCount != (mandatoryFields == null ? 0 : mandatoryFields.size())) {
+            throw FallbackException.INSTANCE;
+        }
+        depth--;
+        return record;
+    }
+
+    private static boolean isMandatory(Field field, boolean isLike) {
+        if (isLike) {
+            return !SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL);
+        }
+        return SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED);
+    }
+
+    private Object bindMap(BMapType mapType) throws FallbackException {
+        if (peek() != '{' || mapType.isReadOnly()) {
+            throw FallbackException.INSTANCE;
+        }
+        enter();
+        BMap<BString, Object> map = ValueCreator.createMapValue(mapType);
+        Type constraintType = mapType.getConstrainedType();
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            do {
+                BString key = StringUtils.fromString(parseFieldName());
+                map.put(key, bindValue(constraintType, true));
+                skipWhitespace();
+            } while (endOfMember('}'));
+        }
+        depth--;
+        return map;
+    }
+
+    private Object bindArray(ArrayType arrayType) throws FallbackException {
+        if (peek() != '[' || arrayType.isReadOnly() || arrayType.getState() == ArrayType.ArrayState.CLOSED) {
+            throw FallbackException.INSTANCE;
+        }
+        enter();
+        BArray array = ValueCreator.createArrayValue(arrayType);
+        Type elementType = arrayType.getElementType();
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+        } else {
+            int index = 0;
+            do {
+                skipWhitespace();
+                array.add(index++, bindValue(elementType, true));
+                skipWhitespace();
+            } while (endOfMember(']'));
+        }
+        depth--;
+        return array;
+    }
+
+    private static Type getNonNilMemberType(BUnionType unionType) throws FallbackException {
+        List<Type> memberTypes = unionType.getMemberTypes();
+        if (memberTypes.size() != 2 || unionType.isReadOnly()) {
+            throw FallbackException.INSTANCE;
+        }
+        Type memberType = memberTypes.get(0);
+        Type otherMemberType = memberTypes.get(1);
+        if (memberType.getTag() == TypeTags.NULL_TAG) {
+            memberType = otherMemberType;
+        } else if (otherMemberType.getTag() != TypeTags.NULL_TAG) {
+            throw FallbackException.INSTANCE;
+        }
+        if (memberType.getTag() == TypeTags.NULL_TAG || memberType.getTag() == TypeTags.UNION_TAG) {
+            throw FallbackException.INSTANCE;
+        }
+        return memberType;
+    }
+
+    private void enter() throws FallbackException {
+        if (++depth > MAX_DEPTH) {
+            throw FallbackException.INSTANCE;
+        }
+        pos++;
+    }
+
+    private boolean endOfMember(char endChar) throws FallbackException {
+        int ch = peek();
+        pos++;
+        if (ch == ',') {
+            return true;
+        }
+        if (ch == endChar) {
+            return false;
+        }
+        throw FallbackException.INSTANCE;
+    }
+
+    private String parseFieldName() throws FallbackException {
+        skipWhitespace();
+        int ch = peek();
+        if (ch != '"' && ch != '\'') {
+            throw FallbackException.INSTANCE;
+        }
+        String name = parseString();
+        skipWhitespace();
+        if (peek() != ':') {
+            throw FallbackException.INSTANCE;
+        }
+        pos++;
+        skipWhitespace();
+        return name;
+    }
+
+    private String parseString() throws FallbackException {
+        byte quote = bytes[pos++];
+        int start = pos;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == quote) {
+                pos++;
+                // The bytes are all ASCII, which ISO-8859-1 decodes without a lookup.
+                return new String(bytes, start, pos - start - 1, StandardCharsets.ISO_8859_1);
+            }
+            if (b == '\\' || b < 0) {
+                return parseEscapedString(quote, start);
+            }
+            pos++;
+        }
+        throw FallbackException.INSTANCE;
+    }
+
+    private String parseEscapedString(byte quote, int start) throws FallbackException {
+        int length = pos - start;
+        if (chars == null || chars.length < length + 16) {
+            chars = new char[Math.max(64, (length + 16) * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) bytes[start + i];
+        }
+
+        while (pos < end) {
+            if (length + 2 > chars.length) {
+                char[] newChars = new char[chars.length * 2];
+                System.arraycopy(chars, 0, newChars, 0, length);
+                chars = newChars;
+            }
+            int b = bytes[pos++];
+            if (b == quote) {
+                return new String(chars, 0, length);
+            }
+            if (b == '\\') {
+                chars[length++] = parseEscapedChar();
+            } else if (b >= 0) {
+                chars[length++] = (char) b;
+            } else {
+                int codePoint = parseMultiByteChar(b);
+                if (codePoint > Character.MAX_VALUE) {
+                    chars[length++] = Character.highSurrogate(codePoint);
+                    chars[length++] = Character.lowSurrogate(codePoint);
+                } else {
+                    chars[length++] = (char) codePoint;
+                }
+            }
+        }
+        throw FallbackException.INSTANCE;
+    }
+
+    private char parseEscapedChar() throws FallbackException {
+        int ch = peek();
+        pos++;
+        switch (ch) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) ch;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(peek(), 16);
+                    if (digit < 0) {
+                        throw FallbackException.INSTANCE;
+                    }
+                    pos++;
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw FallbackException.INSTANCE;
+        }
+    }
+
+    /**
+     * Decodes a UTF-8 sequence of two to four bytes. Malformed and overlong sequences, and encoded surrogates, are
+     * left to the JSON parser, which decodes them with the replacement character.
+     */
+    private int parseMultiByteChar(int firstByte) throws FallbackException {
+        int continuationBytes;
+        int codePoint;
+        int minCodePoint;
+        if ((firstByte & 0xE0) == 0xC0) {
+            continuationBytes = 1;
+            codePoint = firstByte & 0x1F;
+            minCodePoint = 0x80;
+        } else if ((firstByte & 0xF0) == 0xE0) {
+            continuationBytes = 2;
+            codePoint = firstByte & 0x0F;
+            minCodePoint = 0x800;
+        } else if ((firstByte & 0xF8) == 0xF0) {
+            continuationBytes = 3;
+            codePoint = firstByte & 0x07;
+            minCodePoint = 0x10000;
+        } else {
+            throw FallbackException.INSTANCE;
+        }
+
+        for (int i = 0; i < continuationBytes; i++) {
+            if (pos == end || (bytes[pos] & 0xC0) != 0x80) {
+                throw FallbackException.INSTANCE;
+            }
+            codePoint = (codePoint << 6) | (bytes[pos++] & 0x3F);
+        }
+        if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT ||
+                (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            throw FallbackException.INSTANCE;
+        }
+        return codePoint;
+    }
+
+    private boolean isNullToken() {
+        if (end - pos < NULL.length() || bytes[pos + 1] != 'u' || bytes[pos + 2] != 'l' || bytes[pos + 3] != 'l') {
+            return false;
+        }
+        return pos + NULL.length() == end || isTokenEnd(bytes[pos + NULL.length()]);
+    }
+
+    private Object parseToken() throws FallbackException {
+        int start = pos;
+        boolean hasDot = false;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (isTokenEnd(b)) {
+                break;
+            }
+            if (b < 0) {
+                throw FallbackException.INSTANCE;
+            }
+            if (b == '.') {
+                hasDot = true;
+            }
+            pos++;
+        }
+        int length = pos - start;
+        if (length == 0) {
+            throw FallbackException.INSTANCE;
+        }
+        if (!hasDot && mode == JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING && length < 19) {
+            Object value = parseInt(start, length);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        String str = new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        try {
+            if (hasDot) {
+                switch (mode) {
+                    case FROM_JSON_FLOAT_STRING:
+                        return Double.parseDouble(str);
+                    case FROM_JSON_DECIMAL_STRING:
+                        return new DecimalValue(str);
+                    default:
+                        return isNegativeZero(str) ? (Object) Double.parseDouble(str) : new DecimalValue(str);
+                }
+            }
+            char ch = str.charAt(0);
+            if (ch == 't' && TRUE.equals(str)) {
+                return Boolean.TRUE;
+            } else if (ch == 'f' && FALSE.equals(str)) {
+                return Boolean.FALSE;
+            } else if (ch == 'n' && NULL.equals(str)) {
+                return null;
+            }
+            switch (mode) {
+                case FROM_JSON_FLOAT_STRING:
+                    return Double.parseDouble(str);
+                case FROM_JSON_DECIMAL_STRING:
+                    return new DecimalValue(str);
+                default:
+                    return isNegativeZero(str) ? (Object) Double.parseDouble(str) : (Object) Long.parseLong(str);
+            }
+        } catch (NumberFormatException e) {
+            throw FallbackException.INSTANCE;
+        }
+    }
+
+    /**
+     * Parses a token of at most eighteen digits, with an optional minus sign, without creating a string. Returns null
+     * for any other token.
+     */
+    private Object parseInt(int start, int length) {
+        int i = start;
+        boolean negative = bytes[i] == '-';
+        if (negative) {
+            if (length == 1) {
+                return null;
+            }
+            i++;
+        }
+        long value = 0;
+        for (int tokenEnd = start + length; i < tokenEnd; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (negative) {
+            return value == 0 ? (Object) (-0.0) : (Object) (-value);
+        }
+        return value;
+    }
+
+    private static boolean isNegativeZero(String str) {
+        return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
+    }
+
+    private static boolean isTokenEnd(byte b) {
+        return isWhitespace(b) || b == ',' || b == '}' || b == ']';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(bytes[pos])) {
+            pos++;
+        }
+    }
+
+    private int peek() throws FallbackException {
+        if (pos == end) {
+            throw FallbackException.INSTANCE;
+        }
+        return bytes[pos];
+    }
+
+    /**
+     * Thrown when a document has to be parsed by the {@link JsonParser}, or when a value cannot be bound to the target
+     * type in a single pass.
+     */
+    private static class FallbackException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+        private static final FallbackException INSTANCE = new FallbackException();
+
+        private FallbackException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be executed by the {@link Scheduler} threads.
+ *
+ * @since 2.0.0
+ */
+interface RunQueue {
+
+    /**
+     * Binds the calling thread to the given worker slot. Called once by each scheduler thread before it starts
+     * taking groups.
+     *
+     * @param workerId index of the scheduler thread
+     */
+    void registerWorker(int workerId);
+
+    /**
+     * Adds a runnable group. Implementations may keep groups added from a scheduler thread local to that thread.
+     *
+     * @param group group to be executed
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Waits until a group is available and returns it.
+     *
+     * @return next group to be executed, or {@link ItemGroup#POISON_PILL} once the queue is poisoned
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take() throws InterruptedException;
+
+    /**
+     * Releases all the scheduler threads once the queued groups are drained.
+     *
+     * @param numThreads number of scheduler threads
+     */
+    void poison(int numThreads);
+
+    int size();
+}
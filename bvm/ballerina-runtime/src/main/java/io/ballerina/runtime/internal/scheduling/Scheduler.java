@@ -35,9 +35,10 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -61,7 +62,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -69,6 +70,19 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    /**
+     * This can be changed by setting the BALLERINA_SCHEDULER_MODE system variable to `work-stealing`.
+     * Default is a single run queue shared by all the scheduler threads.
+     */
+    private static String schedulerModeConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
+    /**
+     * When the BALLERINA_VIRTUAL_THREADS system variable is set to `true`, scheduler threads only dispatch strand
+     * groups and each group runs on its own virtual thread, so a strand blocked in a Java call does not hold one of
+     * the scheduler threads. Requires a Java runtime with virtual thread support.
+     */
+    private static String virtualThreadsConf = System.getenv(RuntimeConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
@@ -80,6 +94,12 @@ public class Scheduler {
     private Semaphore mainBlockSem;
     private ListenerRegistry listenerRegistry;
 
+    /**
+     * Executor that runs strand groups on virtual threads, or null if groups run on the scheduler threads.
+     */
+    private final ExecutorService strandExecutor;
+    private final AtomicBoolean strandExecutorShutdown = new AtomicBoolean(false);
+
     public Scheduler(boolean immortal) {
         try {
             if (poolSizeConf != null) {
@@ -92,15 +112,68 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.runnableList = createRunQueue(numThreads);
+        this.strandExecutor = createStrandExecutor(virtualThreadsConf);
         listenerRegistry = new ListenerRegistry();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.runnableList = createRunQueue(numThreads);
+        this.strandExecutor = createStrandExecutor(virtualThreadsConf);
         listenerRegistry = new ListenerRegistry();
     }
 
+    /**
+     * Creates a scheduler whose threads only dispatch strand groups to the given executor.
+     *
+     * @param numThreads     number of scheduler threads
+     * @param immortal       whether the scheduler keeps running once there are no strands left
+     * @param strandExecutor executor that runs the strand groups
+     */
+    Scheduler(int numThreads, boolean immortal, ExecutorService strandExecutor) {
+        this.numThreads = numThreads;
+        this.immortal = immortal;
+        this.runnableList = createRunQueue(numThreads);
+        this.strandExecutor = strandExecutor;
+        listenerRegistry = new ListenerRegistry();
+    }
+
+    private RunQueue createRunQueue(int numThreads) {
+        if (schedulerModeConf == null || RuntimeConstants.SCHEDULER_MODE_SHARED.equals(schedulerModeConf)) {
+            return new SharedRunQueue();
+        }
+        if (RuntimeConstants.SCHEDULER_MODE_WORK_STEALING.equals(schedulerModeConf)) {
+            return new WorkStealingRunQueue(numThreads);
+        }
+        // Log and continue with default
+        err.println("ballerina: invalid value '" + schedulerModeConf + "' for system variable:" +
+                            RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", using the default scheduler");
+        return new SharedRunQueue();
+    }
+
+    /**
+     * Creates the executor that runs strand groups on virtual threads.
+     *
+     * @param conf value of the BALLERINA_VIRTUAL_THREADS system variable
+     * @return the executor, or null if virtual threads are not enabled or not supported by the Java runtime
+     */
+    ExecutorService createStrandExecutor(String conf) {
+        if (!Boolean.parseBoolean(conf)) {
+            return null;
+        }
+        try {
+            // Looked up reflectively since virtual threads are not available in the Java version we compile against
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Log and continue with default
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, ignoring " +
+                                "system variable:" + RuntimeConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+            return null;
+        }
+    }
+
     public static Strand getStrand() {
         Strand strand = strandHolder.get().strand;
         if (strand == null) {
@@ -151,11 +224,11 @@ public class Scheduler {
         params[0] = future.strand;
         SchedulerItem item = new SchedulerItem(fp.getFunction(), params, future);
         future.strand.schedulerItem = item;
-        totalStrands.incrementAndGet();
+        addStrand();
         future.strand.strandGroup = parent.strandGroup;
         parent.strandGroup.add(item);
         if (parent.strandGroup.scheduled.compareAndSet(false, true)) {
-            runnableList.add(future.strand.strandGroup);
+            enqueue(future.strand.strandGroup);
         }
         return future;
     }
@@ -214,11 +287,11 @@ public class Scheduler {
         params[0] = future.strand;
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
-        totalStrands.incrementAndGet();
+        addStrand();
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        enqueue(group);
         return future;
     }
 
@@ -240,32 +313,58 @@ public class Scheduler {
         params[0] = future.strand;
         SchedulerItem item = new SchedulerItem(consumer, params, future);
         future.strand.schedulerItem = item;
-        totalStrands.incrementAndGet();
+        addStrand();
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        enqueue(group);
         return future;
     }
 
+    private void addStrand() {
+        totalStrands.incrementAndGet();
+        if (SchedulerMetrics.enabled) {
+            SchedulerMetrics.strandStarted();
+        }
+    }
+
+    private void enqueue(ItemGroup group) {
+        if (SchedulerMetrics.enabled) {
+            group.enqueuedTime = System.nanoTime();
+        }
+        runnableList.add(group);
+    }
+
+    int getRunnableGroupCount() {
+        return runnableList.size();
+    }
+
+    int getActiveStrandCount() {
+        return totalStrands.get();
+    }
+
     public void start() {
+        SchedulerMetrics.addScheduler(this);
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            int workerId = i;
+            new Thread(() -> runSafely(workerId), "jbal-strand-exec-" + i).start();
         }
-        this.runSafely();
+        this.runSafely(numThreads - 1);
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
             RuntimeUtils.printCrashLog(e);
         }
+        SchedulerMetrics.removeScheduler(this);
     }
 
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int workerId) {
         try {
+            runnableList.registerWorker(workerId);
             run();
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
@@ -277,7 +376,6 @@ public class Scheduler {
      */
     private void run() {
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
                 group = runnableList.take();
@@ -286,39 +384,84 @@ public class Scheduler {
             }
 
             if (group == POISON_PILL) {
+                if (strandExecutor != null) {
+                    awaitStrandExecutor();
+                }
                 this.mainBlockSem.release();
                 break;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
+            if (SchedulerMetrics.enabled) {
+                SchedulerMetrics.recordQueueWait(group.enqueuedTime);
+            }
+            if (strandExecutor != null) {
+                strandExecutor.execute(() -> runGroupSafely(group));
+            } else {
+                runGroup(group);
+            }
+        }
+    }
 
-                item = group.get();
+    /**
+     * Shuts the strand executor down once and waits for the groups still running on it, so that the scheduler only
+     * stops once every group is done.
+     */
+    private void awaitStrandExecutor() {
+        if (strandExecutorShutdown.compareAndSet(false, true)) {
+            strandExecutor.shutdown();
+        }
+        try {
+            strandExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            RuntimeUtils.printCrashLog(e);
+        }
+    }
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
+    /**
+     * Executes the items of a group until there is nothing left to run in it.
+     */
+    private void runGroup(ItemGroup group) {
+        long startTime = SchedulerMetrics.enabled ? System.nanoTime() : 0;
+        SchedulerItem item;
+        while (!group.items.empty()) {
+            Object result = null;
+            Throwable panic = null;
+
+            item = group.get();
+
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
+            } finally {
+                strandHolder.get().strand = null;
             }
+            postProcess(item, result, panic);
+            if (group.items.empty()) {
+                group.scheduled.set(false);
+            }
+        }
+        if (startTime != 0) {
+            SchedulerMetrics.recordGroupRun(startTime);
         }
     }
 
@@ -326,8 +469,12 @@ public class Scheduler {
      * Processes the item after executing for notifying blocked items etc.
      */
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
+        boolean metricsEnabled = SchedulerMetrics.enabled;
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
+                if (metricsEnabled) {
+                    SchedulerMetrics.strandYielded();
+                }
                 item.future.strand.lock();
                 // need to recheck due to concurrency, unblockStrand() may have changed state
                 if (item.getState().getStatus() == State.YIELD.getStatus()) {
@@ -337,21 +484,35 @@ public class Scheduler {
                 }
                 item.parked = true;
                 item.future.strand.unlock();
+                if (metricsEnabled) {
+                    SchedulerMetrics.strandParked();
+                }
                 break;
             case BLOCK_ON_AND_YIELD:
+                if (metricsEnabled) {
+                    SchedulerMetrics.strandYielded();
+                }
                 WaitContext waitContext = item.future.strand.waitContext;
                 waitContext.lock();
                 waitContext.intermediate = false;
                 if (waitContext.runnable) {
                     waitContext.completed = true;
                     reschedule(item);
+                } else if (metricsEnabled) {
+                    item.blockedTime = System.nanoTime();
                 }
                 waitContext.unLock();
                 break;
             case YIELD:
+                if (metricsEnabled) {
+                    SchedulerMetrics.strandYielded();
+                }
                 reschedule(item);
                 break;
             case RUNNABLE:
+                if (metricsEnabled) {
+                    SchedulerMetrics.strandCompleted();
+                }
                 item.future.result = result;
                 item.future.isDone = true;
                 item.future.panic = panic;
@@ -373,19 +534,21 @@ public class Scheduler {
                 justCompleted.setState(State.DONE);
 
 
-                for (WaitContext ctx : justCompleted.waitingContexts) {
-                    ctx.lock();
-                    if (!ctx.completed) {
-                        if ((item.future.panic != null && ctx.handlePanic()) || ctx.waitCompleted(result)) {
-                            if (ctx.intermediate) {
-                                ctx.runnable = true;
-                            } else {
-                                ctx.completed = true;
-                                reschedule(ctx.schedulerItem);
+                if (justCompleted.waitingContexts != null) {
+                    for (WaitContext ctx : justCompleted.waitingContexts) {
+                        ctx.lock();
+                        if (!ctx.completed) {
+                            if ((item.future.panic != null && ctx.handlePanic()) || ctx.waitCompleted(result)) {
+                                if (ctx.intermediate) {
+                                    ctx.runnable = true;
+                                } else {
+                                    ctx.completed = true;
+                                    reschedule(ctx.schedulerItem);
+                                }
                             }
                         }
+                        ctx.unLock();
                     }
-                    ctx.unLock();
                 }
 
                 cleanUp(justCompleted);
@@ -440,6 +603,9 @@ public class Scheduler {
 
     private void notifyChannels(SchedulerItem item, Throwable panic) {
         Set<ChannelDetails> channels = item.future.strand.channelDetails;
+        if (channels == null) {
+            return;
+        }
 
         for (ChannelDetails details: channels) {
             WorkerDataChannel wdChannel;
@@ -459,6 +625,10 @@ public class Scheduler {
     }
 
     private void reschedule(SchedulerItem item) {
+        if (item.blockedTime != 0) {
+            SchedulerMetrics.recordBlockedOnWait(item.blockedTime);
+            item.blockedTime = 0;
+        }
         if (!item.getState().equals(State.RUNNABLE)) {
             ItemGroup group = item.future.strand.strandGroup;
             item.setState(State.RUNNABLE);
@@ -469,7 +639,7 @@ public class Scheduler {
             //  2) All others have finished
             // In this case we need to put it back in the runnable list.
             if (group.scheduled.compareAndSet(false, true)) {
-                runnableList.add(group);
+                enqueue(group);
             }
         }
     }
@@ -488,15 +658,11 @@ public class Scheduler {
     }
 
     private FutureValue createFuture(Strand parent, Callback callback, Type constraint, Strand newStrand) {
-        FutureValue future = new FutureValue(newStrand, callback, constraint);
-        future.strand.frames = new Object[100];
-        return future;
+        return new FutureValue(newStrand, callback, constraint);
     }
 
     public void poison() {
-        for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
-        }
+        runnableList.poison(numThreads);
     }
 
     public void setListenerDeclarationFound(boolean listenerDeclarationFound) {
@@ -550,6 +716,10 @@ class SchedulerItem {
     private Object[] params;
     final FutureValue future;
     boolean parked;
+    /**
+     * Time at which the item got blocked waiting on other strands, only set when scheduler metrics are enabled.
+     */
+    long blockedTime;
 
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
@@ -605,6 +775,11 @@ class ItemGroup {
      */
     AtomicBoolean scheduled = new AtomicBoolean(false);
 
+    /**
+     * Time at which the group was last added to the run queue, only set when scheduler metrics are enabled.
+     */
+    long enqueuedTime;
+
     public static final ItemGroup POISON_PILL = new ItemGroup();
 
     public ItemGroup(SchedulerItem item) {
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scheduler and strand lifecycle metrics. Nothing is recorded until {@link #enable(MetricRegistry)} is called when
+ * metrics are enabled, and until then the scheduler only pays for reading {@link #enabled}.
+ *
+ * @since 2.0.0
+ */
+public final class SchedulerMetrics {
+
+    static volatile boolean enabled;
+
+    private static final Set<Scheduler> schedulers = ConcurrentHashMap.newKeySet();
+
+    private static final StatisticConfig[] timeStatisticConfigs = new StatisticConfig[]{
+            StatisticConfig.builder()
+                    .expiry(Duration.ofMinutes(1))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build()
+    };
+
+    private static Counter strandsStarted;
+    private static Counter strandsCompleted;
+    private static Counter yields;
+    private static Counter parks;
+    private static Gauge queueWaitTime;
+    private static Gauge groupRunTime;
+    private static Gauge blockedOnWaitTime;
+
+    private SchedulerMetrics() {
+    }
+
+    /**
+     * Registers the scheduler metrics in the given registry and starts recording them.
+     *
+     * @param registry metric registry to which the metrics are exported
+     */
+    public static synchronized void enable(MetricRegistry registry) {
+        if (enabled) {
+            return;
+        }
+        strandsStarted = Counter.builder("scheduler_strands_started_total")
+                .description("Total number of strands started").register(registry);
+        strandsCompleted = Counter.builder("scheduler_strands_completed_total")
+                .description("Total number of strands completed").register(registry);
+        yields = Counter.builder("scheduler_strand_yields_total")
+                .description("Total number of times strands yielded to the scheduler").register(registry);
+        parks = Counter.builder("scheduler_strand_parks_total")
+                .description("Total number of times strands were parked until unblocked").register(registry);
+        queueWaitTime = gauge(registry, "scheduler_queue_wait_seconds",
+                              "Time strand groups waited in the run queue before being picked");
+        groupRunTime = gauge(registry, "scheduler_group_run_seconds",
+                             "Time a scheduler thread spent running a strand group");
+        blockedOnWaitTime = gauge(registry, "scheduler_strand_wait_seconds",
+                                  "Time strands spent blocked on waiting for other strands");
+        PolledGauge.builder("scheduler_runnable_groups", schedulers, SchedulerMetrics::getRunnableGroupCount)
+                .description("Number of strand groups waiting in the run queues").register(registry);
+        PolledGauge.builder("scheduler_active_strands", schedulers, SchedulerMetrics::getActiveStrandCount)
+                .description("Number of strands that are started and not completed yet").register(registry);
+        enabled = true;
+    }
+
+    private static Gauge gauge(MetricRegistry registry, String name, String description) {
+        Gauge.Builder builder = Gauge.builder(name).description(description);
+        for (StatisticConfig config : timeStatisticConfigs) {
+            builder.summarize(config);
+        }
+        return builder.register(registry);
+    }
+
+    static void addScheduler(Scheduler scheduler) {
+        schedulers.add(scheduler);
+    }
+
+    static void removeScheduler(Scheduler scheduler) {
+        schedulers.remove(scheduler);
+    }
+
+    static void strandStarted() {
+        strandsStarted.increment();
+    }
+
+    static void strandCompleted() {
+        strandsCompleted.increment();
+    }
+
+    static void strandYielded() {
+        yields.increment();
+    }
+
+    static void strandParked() {
+        parks.increment();
+    }
+
+    static void recordQueueWait(long enqueuedTime) {
+        if (enqueuedTime != 0) {
+            queueWaitTime.setValue((System.nanoTime() - enqueuedTime) / 1E9);
+        }
+    }
+
+    static void recordGroupRun(long startTime) {
+        groupRunTime.setValue((System.nanoTime() - startTime) / 1E9);
+    }
+
+    static void recordBlockedOnWait(long blockedTime) {
+        if (blockedTime != 0) {
+            blockedOnWaitTime.setValue((System.nanoTime() - blockedTime) / 1E9);
+        }
+    }
+
+    private static double getRunnableGroupCount(Set<Scheduler> schedulers) {
+        int count = 0;
+        for (Scheduler scheduler : schedulers) {
+            count += scheduler.getRunnableGroupCount();
+        }
+        return count;
+    }
+
+    private static double getActiveStrandCount(Set<Scheduler> schedulers) {
+        int count = 0;
+        for (Scheduler scheduler : schedulers) {
+            count += scheduler.getActiveStrandCount();
+        }
+        return count;
+    }
+}
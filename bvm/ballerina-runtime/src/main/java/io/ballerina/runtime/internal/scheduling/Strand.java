@@ -29,6 +29,7 @@ import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.transactions.TransactionLocalContext;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -55,6 +56,11 @@ public class Strand {
 
     private static AtomicInteger nextStrandId = new AtomicInteger(0);
 
+    /**
+     * Initial size of the frame stack, which is only allocated once the strand yields for the first time.
+     */
+    private static final int INITIAL_FRAME_STACK_SIZE = 8;
+
     private int id;
     private String name;
     private StrandMetadata metadata;
@@ -88,23 +94,19 @@ public class Strand {
         this.id = nextStrandId.incrementAndGet();
         this.scheduler = scheduler;
         this.wdChannels = new WDChannels();
-        this.channelDetails = new HashSet<>();
         this.state = RUNNABLE;
         this.dependants = new HashSet<>();
         this.strandLock = new ReentrantLock();
-        this.waitingContexts = new ArrayList<>();
         this.name = name;
         this.metadata = metadata;
-        this.trxContexts = new Stack<>();
         this.parent = parent;
 
+        // channel details, waiting contexts, transaction contexts and properties are created on first use
         //TODO: improve by using a copy on write map #26710
         if (properties != null) {
             this.globalProps = properties;
-        } else if (parent != null) {
+        } else if (parent != null && parent.globalProps != null && !parent.globalProps.isEmpty()) {
             this.globalProps = new HashMap<>(parent.globalProps);
-        } else {
-            this.globalProps = new HashMap<>();
         }
     }
 
@@ -112,6 +114,9 @@ public class Strand {
                   Map<String, Object> properties, TransactionLocalContext currentTrxContext) {
         this(name, metadata, scheduler, parent, properties);
         if (currentTrxContext != null) {
+            if (parent.trxContexts == null) {
+                parent.trxContexts = new Stack<>();
+            }
             this.trxContexts = parent.trxContexts;
             this.trxContexts.push(currentTrxContext);
             this.currentTrxContext = createTrxContextBranch(currentTrxContext, name);
@@ -146,6 +151,9 @@ public class Strand {
      */
     @Deprecated
     public Object getProperty(String key) {
+        if (this.globalProps == null) {
+            return null;
+        }
         return this.globalProps.get(key);
     }
 
@@ -155,6 +163,9 @@ public class Strand {
      */
     @Deprecated
     public void setProperty(String key, Object value) {
+        if (this.globalProps == null) {
+            this.globalProps = new HashMap<>();
+        }
         this.globalProps.put(key, value);
     }
 
@@ -168,7 +179,7 @@ public class Strand {
     }
 
     public void removeCurrentTrxContext() {
-        if (!this.trxContexts.isEmpty()) {
+        if (this.trxContexts != null && !this.trxContexts.isEmpty()) {
             this.currentTrxContext = this.trxContexts.pop();
             return;
         }
@@ -177,6 +188,9 @@ public class Strand {
 
     public void setCurrentTransactionContext(TransactionLocalContext ctx) {
         if (this.currentTrxContext != null) {
+            if (this.trxContexts == null) {
+                this.trxContexts = new Stack<>();
+            }
             this.trxContexts.push(this.currentTrxContext);
         }
         this.currentTrxContext = ctx;
@@ -252,7 +266,7 @@ public class Strand {
                 target.put(StringUtils.fromString(entry.getKey()), future.result);
             } else {
                 this.setState(BLOCK_ON_AND_YIELD);
-                entry.getValue().strand.waitingContexts.add(ctx);
+                entry.getValue().strand.addWaitingContext(ctx);
             }
             future.strand.unlock();
         }
@@ -292,7 +306,7 @@ public class Strand {
                     waitResult = new WaitResult(true, future.result);
                     break;
                 } else {
-                    future.strand.waitingContexts.add(ctx);
+                    future.strand.addWaitingContext(ctx);
                 }
             } finally {
                 future.strand.unlock();
@@ -314,7 +328,45 @@ public class Strand {
         return waitResult;
     }
 
+    /**
+     * Registers a context waiting on this strand. Should be called while holding the strand lock.
+     */
+    private void addWaitingContext(WaitContext ctx) {
+        if (this.waitingContexts == null) {
+            this.waitingContexts = new ArrayList<>();
+        }
+        this.waitingContexts.add(ctx);
+    }
+
+    /**
+     * Saves the frame of a yielding function. Called from generated code.
+     *
+     * @param frame frame of the yielding function
+     */
+    public void pushFrame(Object frame) {
+        if (this.frames == null) {
+            this.frames = new Object[INITIAL_FRAME_STACK_SIZE];
+        } else if (this.resumeIndex == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.frames.length * 2);
+        }
+        this.frames[this.resumeIndex++] = frame;
+    }
+
+    /**
+     * Restores the frame of a resuming function. Called from generated code.
+     *
+     * @return frame of the resuming function
+     */
+    public Object popFrame() {
+        Object frame = this.frames[--this.resumeIndex];
+        this.frames[this.resumeIndex] = null;
+        return frame;
+    }
+
     public void updateChannelDetails(ChannelDetails[] channels) {
+        if (this.channelDetails == null) {
+            this.channelDetails = new HashSet<>();
+        }
         for (ChannelDetails channel: channels) {
             this.channelDetails.add(channel);
         }
@@ -352,8 +404,16 @@ public class Strand {
         return (this.state.getStatus() & YIELD.getStatus()) == YIELD.getStatus();
     }
 
+    /**
+     * Checks whether the external function being resumed is the one which blocked the strand. The external function
+     * which blocked the strand saved the innermost frame, hence it is the one resumed once all the frames are popped.
+     * An external function resumed while frames remain called back into Ballerina code which yielded, and has to be
+     * called again to resume that code.
+     *
+     * @return true if the result of the external function is the return value of the strand
+     */
     public boolean isBlockedOnExtern() {
-        return blockedOnExtern;
+        return blockedOnExtern && resumeIndex == 0;
     }
 
     public void lock() {
@@ -17,8 +17,8 @@
 */
 package io.ballerina.runtime.internal.scheduling;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This represents a worker data channel holder that is created for each strand to hold channels required.
@@ -27,20 +27,26 @@ import java.util.Map;
  */
 public class WDChannels {
 
-    private Map<String, WorkerDataChannel> wDChannels;
+    private volatile Map<String, WorkerDataChannel> wDChannels;
 
     //TODO try to generalize this to a normal data channel, in that case we won't need these classes.
     public WDChannels() {
     }
 
-    public synchronized WorkerDataChannel getWorkerDataChannel(String name) {
-        if (this.wDChannels == null) {
-            this.wDChannels = new HashMap<>();
+    public WorkerDataChannel getWorkerDataChannel(String name) {
+        Map<String, WorkerDataChannel> channels = this.wDChannels;
+        if (channels == null) {
+            synchronized (this) {
+                channels = this.wDChannels;
+                if (channels == null) {
+                    channels = new ConcurrentHashMap<>();
+                    this.wDChannels = channels;
+                }
+            }
         }
-        WorkerDataChannel channel = this.wDChannels.get(name);
+        WorkerDataChannel channel = channels.get(name);
         if (channel == null) {
-            channel = new WorkerDataChannel(name);
-            this.wDChannels.put(name, channel);
+            channel = channels.computeIfAbsent(name, WorkerDataChannel::new);
         }
         return channel;
     }
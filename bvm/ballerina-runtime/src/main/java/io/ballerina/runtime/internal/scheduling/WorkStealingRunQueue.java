@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} which keeps a deque per scheduler thread. Groups added from a scheduler thread stay in that
+ * thread's deque, groups added from other threads go to a shared injection queue, and a thread that runs out of
+ * work steals from the other deques before parking itself.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    /**
+     * Number of local polls after which the injection queue is checked first, so that groups submitted from
+     * non-scheduler threads are not starved by a busy local deque.
+     */
+    private static final int INJECTION_CHECK_INTERVAL = 61;
+
+    private final ConcurrentLinkedDeque<ItemGroup>[] localQueues;
+    private final ConcurrentLinkedQueue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Thread> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+    private volatile boolean poisoned;
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunQueue(int numThreads) {
+        this.localQueues = new ConcurrentLinkedDeque[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            this.localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void registerWorker(int workerId) {
+        currentWorker.set(new Worker(workerId));
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Worker worker = currentWorker.get();
+        if (worker != null) {
+            localQueues[worker.id].offerLast(group);
+        } else {
+            injectionQueue.offer(group);
+        }
+        signalIdleWorker();
+    }
+
+    @Override
+    public ItemGroup take() {
+        Worker worker = currentWorker.get();
+        Thread thread = Thread.currentThread();
+        while (true) {
+            ItemGroup group = poll(worker);
+            if (group != null) {
+                return group;
+            }
+            if (poisoned) {
+                return POISON_PILL;
+            }
+
+            // Register as idle before the final check, so that an add() which happens after the check is
+            // guaranteed to see this thread and unpark it.
+            idleCount.incrementAndGet();
+            idleWorkers.offer(thread);
+            group = poll(worker);
+            if (group != null || poisoned) {
+                leaveIdle(thread);
+                return group != null ? group : POISON_PILL;
+            }
+            LockSupport.park(this);
+            leaveIdle(thread);
+        }
+    }
+
+    @Override
+    public void poison(int numThreads) {
+        poisoned = true;
+        Thread thread;
+        while ((thread = idleWorkers.poll()) != null) {
+            idleCount.decrementAndGet();
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = injectionQueue.size();
+        for (ConcurrentLinkedDeque<ItemGroup> queue : localQueues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private ItemGroup poll(Worker worker) {
+        if (worker == null) {
+            // not a scheduler thread, only the shared queue is visible
+            return injectionQueue.poll();
+        }
+
+        ItemGroup group;
+        if (++worker.ticks % INJECTION_CHECK_INTERVAL == 0 && (group = injectionQueue.poll()) != null) {
+            return group;
+        }
+        // The owner takes its oldest group, so groups run in the order they became runnable as they do with the
+        // shared queue. Taking the newest one instead would let two strands that keep unblocking each other, such as
+        // the two ends of a worker channel, run ahead of every group queued behind them.
+        group = localQueues[worker.id].pollFirst();
+        if (group != null) {
+            return group;
+        }
+        group = injectionQueue.poll();
+        if (group != null) {
+            return group;
+        }
+        return steal(worker.id);
+    }
+
+    private ItemGroup steal(int thiefId) {
+        int numQueues = localQueues.length;
+        int start = ThreadLocalRandom.current().nextInt(numQueues);
+        for (int i = 0; i < numQueues; i++) {
+            int victim = (start + i) % numQueues;
+            if (victim == thiefId) {
+                continue;
+            }
+            // Thieves take from the other end of the deque, which keeps them off the end the owner polls and takes
+            // the group that would otherwise wait the longest for the owner.
+            ItemGroup group = localQueues[victim].pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void signalIdleWorker() {
+        if (idleCount.get() == 0) {
+            return;
+        }
+        Thread thread = idleWorkers.poll();
+        if (thread != null) {
+            idleCount.decrementAndGet();
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void leaveIdle(Thread thread) {
+        // the thread is no longer in the idle list if a producer already picked it for unparking
+        if (idleWorkers.remove(thread)) {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Per thread state of a scheduler thread.
+     */
+    private static class Worker {
+        final int id;
+        int ticks;
+
+        Worker(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -19,8 +19,9 @@ package io.ballerina.runtime.internal.scheduling;
 
 import io.ballerina.runtime.internal.values.ErrorValue;
 
-import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -29,17 +30,22 @@ import static io.ballerina.runtime.internal.scheduling.State.BLOCK_AND_YIELD;
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * Asynchronous sends do not take the channel lock unless the receiver is waiting. The message queue is lock-free and
+ * the receiver publishes that it is about to block through {@link #receiverWaiting} before checking the queue again,
+ * so that a concurrent send either is seen by that check or sees the flag and unblocks the receiver.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
     private Strand receiver;
+    private volatile boolean receiverWaiting;
     private WaitingSender waitingSender;
     private WaitingSender flushSender;
     private ErrorValue error;
     private Throwable panic;
-    private int senderCounter;
+    private final AtomicInteger senderCounter = new AtomicInteger();
     private int receiverCounter;
     private boolean reschedule;
 
@@ -48,16 +54,14 @@ public class WorkerDataChannel {
     public String chnlName;
 
     @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    private Queue<WorkerResult> channel = new ConcurrentLinkedQueue<>();
 
     public WorkerDataChannel() {
         this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
         this.receiverCounter = 0;
     }
     public WorkerDataChannel(String channelName) {
         this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
         this.receiverCounter = 0;
         this.chnlName = channelName;
     }
@@ -72,19 +76,30 @@ public class WorkerDataChannel {
 
     @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
+        this.channel.add(new WorkerResult(data));
+        this.senderCounter.incrementAndGet();
+        if (!this.receiverWaiting) {
+            return;
+        }
         try {
             acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
+            unblockReceiver();
         } finally {
             releaseChannelLock();
         }
     }
 
+    /**
+     * Reschedules the receiver if it is waiting for data. Should be called while holding the channel lock.
+     */
+    private void unblockReceiver() {
+        this.receiverWaiting = false;
+        if (this.receiver != null) {
+            this.receiver.scheduler.unblockStrand(this.receiver);
+            this.receiver = null;
+        }
+    }
+
     /**
      * Put data for sync send.
      * @param data - data to be sent over the channel
@@ -97,14 +112,13 @@ public class WorkerDataChannel {
             acquireChannelLock();
             if (!reschedule) {
                 // this is a new message, not a reschedule
-                this.channel.add(new WorkerResult(data, true));
-                this.senderCounter++;
                 this.waitingSender = new WaitingSender(strand, -1);
+                this.channel.add(new WorkerResult(data, true));
+                this.senderCounter.incrementAndGet();
 
                 if (this.receiver != null) {
                     // multiple checks are added to make sure this is
-                    this.receiver.scheduler.unblockStrand(this.receiver);
-                    this.receiver = null;
+                    unblockReceiver();
                 } else if (this.panic != null) {
                     Throwable panic = this.panic;
                     this.panic = null;
@@ -139,10 +153,18 @@ public class WorkerDataChannel {
     public Object tryTakeData(Strand strand) throws Throwable {
         try {
             acquireChannelLock();
-            WorkerResult result = this.channel.peek();
+            WorkerResult result = this.channel.poll();
+            if (result == null) {
+                // announce that the receiver is about to block and check again, since async senders add to the
+                // queue without taking the lock
+                this.receiverWaiting = true;
+                result = this.channel.poll();
+                if (result != null) {
+                    this.receiverWaiting = false;
+                }
+            }
             if (result != null) {
                 this.receiverCounter++;
-                this.channel.remove();
 
                 if (result.isSync) {
                     // sync sender will pick the this.error as result, which is null
@@ -163,14 +185,15 @@ public class WorkerDataChannel {
                     this.flushSender = null;
                 }
                 return result.value;
-            } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
+            } else if (this.panic != null && this.senderCounter.get() == this.receiverCounter + 1) {
                 this.receiverCounter++;
                 throw this.panic;
-            } else if (this.error != null && this.senderCounter == this.receiverCounter + 1) {
+            } else if (this.error != null && this.senderCounter.get() == this.receiverCounter + 1) {
                 this.receiverCounter++;
                 return error;
             } else {
                 this.receiver = strand;
+                this.receiverWaiting = true;
                 strand.setState(BLOCK_AND_YIELD);
                 return null;
             }
@@ -186,11 +209,8 @@ public class WorkerDataChannel {
     public void setSendError(ErrorValue error) {
         acquireChannelLock();
         this.error = error;
-        this.senderCounter++;
-        if (this.receiver != null) {
-            this.receiver.scheduler.unblockStrand(this.receiver);
-            this.receiver = null;
-        }
+        this.senderCounter.incrementAndGet();
+        unblockReceiver();
         releaseChannelLock();
     }
 
@@ -234,13 +254,13 @@ public class WorkerDataChannel {
                 throw this.panic;
             } else if (this.error != null) {
                 return this.error;
-            } else if (this.receiverCounter == this.senderCounter) {
+            } else if (this.receiverCounter == this.senderCounter.get()) {
                 strand.flushDetail.flushLock.lock();
                 strand.flushDetail.flushedCount++;
                 strand.flushDetail.flushLock.unlock();
                 return null;
             }
-            this.flushSender = new WaitingSender(strand, this.senderCounter);
+            this.flushSender = new WaitingSender(strand, this.senderCounter.get());
             return null;
         } finally {
             releaseChannelLock();
@@ -262,11 +282,8 @@ public class WorkerDataChannel {
         try {
             acquireChannelLock();
             this.panic  = panic;
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
+            this.senderCounter.incrementAndGet();
+            unblockReceiver();
         } finally {
             releaseChannelLock();
         }
@@ -34,8 +34,10 @@ import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * {@code BRecordType} represents a user defined record type in Ballerina.
@@ -49,6 +51,7 @@ public class BRecordType extends BStructureType implements RecordType {
     public int typeFlags;
     private final boolean readonly;
     private IntersectionType immutableType;
+    private volatile Map<String, byte[]> encodedJsonFieldNames;
 
     /**
      * Create a {@code BRecordType} which represents the user defined record type.
@@ -171,4 +174,25 @@ public class BRecordType extends BStructureType implements RecordType {
     public int getTypeFlags() {
         return typeFlags;
     }
+
+    /**
+     * Returns the field names of this record type as encoded by the JSON generator. The names are encoded with the
+     * given encoder on first use, and cached on the type so that they are released along with it. Threads which
+     * encode them at the same time encode equal names, hence whichever is cached last is kept.
+     *
+     * @param encoder encoder of a field name
+     * @return the encoded field names by field name
+     */
+    public Map<String, byte[]> getEncodedJsonFieldNames(Function<String, byte[]> encoder) {
+        Map<String, byte[]> fieldNames = this.encodedJsonFieldNames;
+        if (fieldNames == null) {
+            Map<String, byte[]> encodedFieldNames = new HashMap<>();
+            for (String fieldName : this.getFields().keySet()) {
+                encodedFieldNames.put(fieldName, encoder.apply(fieldName));
+            }
+            fieldNames = Collections.unmodifiableMap(encodedFieldNames);
+            this.encodedJsonFieldNames = fieldNames;
+        }
+        return fieldNames;
+    }
 }
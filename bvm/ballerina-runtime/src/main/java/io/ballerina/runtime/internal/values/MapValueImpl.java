@@ -90,7 +90,10 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     private static final long serialVersionUID = 1L;
     private TypedescValue typedesc;
     private Type type;
-    private final Map<String, Object> nativeData = new HashMap<>();
+    /**
+     * Native data is only attached to a few values, hence it is created on first use.
+     */
+    private Map<String, Object> nativeData;
     private Type iteratorNextReturnType;
 
     public MapValueImpl(TypedescValue typedesc) {
@@ -104,7 +107,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     }
 
     public MapValueImpl(Type type, BMapInitialValueEntry[] initialValues) {
-        super();
+        super(getInitialCapacity(initialValues.length));
         this.type = type;
         populateInitialValues(initialValues);
     }
@@ -114,6 +117,13 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         type = PredefinedTypes.TYPE_MAP;
     }
 
+    /**
+     * Returns a capacity that holds the given number of entries without rehashing at the default load factor.
+     */
+    private static int getInitialCapacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
     public Long getIntValue(BString key) {
         return (Long) get(key);
     }
@@ -569,7 +579,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @param data value to be added.
      */
     public void addNativeData(String key, Object data) {
-        nativeData.put(key, data);
+        getNativeDataMap().put(key, data);
     }
 
     /**
@@ -578,6 +588,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return value for the given key.
      */
     public Object getNativeData(String key) {
+        if (nativeData == null) {
+            return null;
+        }
         return nativeData.get(key);
     }
 
@@ -592,6 +605,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return nativeData map
      */
     public Map<String, Object> getNativeDataMap() {
+        if (this.nativeData == null) {
+            this.nativeData = new HashMap<>();
+        }
         return this.nativeData;
     }
 
@@ -17,7 +17,6 @@
   */
  package io.ballerina.runtime.internal.values;
 
- import io.ballerina.runtime.api.utils.StringUtils;
  import io.ballerina.runtime.api.values.BLink;
  import io.ballerina.runtime.api.values.BString;
 
@@ -50,17 +49,12 @@
             throw new StringIndexOutOfBoundsException(index);
         }
 
-        int offset = index;
-        for (int surrogate : surrogates) {
-            if (surrogate < index) {
-                offset++;
-            } else if (surrogate > index) {
-                break;
-            } else {
-                return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
-            }
+        int position = Arrays.binarySearch(surrogates, index);
+        if (position >= 0) {
+            int offset = index + position;
+            return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
         }
-        return value.charAt(offset);
+        return value.charAt(index - position - 1);
     }
 
     @Override
@@ -70,17 +64,7 @@
 
     @Override
     public BString concat(BString str) {
-        if (str instanceof NonBmpStringValue) {
-            NonBmpStringValue other = (NonBmpStringValue) str;
-            int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
-            System.arraycopy(other.surrogates, 0, both, surrogates.length, other.surrogates.length);
-            return new NonBmpStringValue(this.value + other.value, both);
-        } else if (str instanceof BmpStringValue) {
-            BmpStringValue other = (BmpStringValue) str;
-            return new NonBmpStringValue(this.value + other.getValue(), surrogates);
-        } else {
-            throw new RuntimeException("not impl yet");
-        }
+        return RopeStringValue.concat(this, str);
     }
 
      @Override
@@ -126,50 +110,64 @@
      @Override
      public Long indexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.indexOf(str.getValue(), offset);
+         int index = value.indexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getIndex(index);
      }
 
      @Override
      public Long lastIndexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.lastIndexOf(str.getValue(), offset);
+         int index = value.lastIndexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getIndex(index);
      }
      @Override
      public BString substring(int beginIndex, int endIndex) {
          int beginOffset = getOffset(beginIndex);
          int endOffset = getOffset(endIndex);
-         return StringUtils.fromString(value.substring(beginOffset, endOffset));
+         String substring = value.substring(beginOffset, endOffset);
+
+         // The surrogates within the substring are copied from this string instead of searching the substring.
+         int first = beginOffset - beginIndex;
+         int last = endOffset - endIndex;
+         if (first == last) {
+             return new BmpStringValue(substring);
+         }
+         int[] substringSurrogates = new int[last - first];
+         for (int i = 0; i < substringSurrogates.length; i++) {
+             substringSurrogates[i] = surrogates[first + i] - beginIndex;
+         }
+         return new NonBmpStringValue(substring, substringSurrogates);
+     }
+
+     /**
+      * Returns the char index of the code point at the given index. As the surrogate pair locations are sorted, the
+      * number of surrogate pairs before the code point is found with a binary search.
+      */
+     private int getOffset(int index) {
+         int position = Arrays.binarySearch(surrogates, index);
+         return index + (position >= 0 ? position : -position - 1);
      }
 
-     private int getOffset(int fromIndex) {
-         int offset = fromIndex;
-         for (int surrogate : surrogates) {
-             if (surrogate < fromIndex) {
-                 offset++;
+     /**
+      * Returns the code point index of the char at the given index, which is not a low surrogate.
+      */
+     private int getIndex(int offset) {
+         int low = 0;
+         int high = surrogates.length;
+         while (low < high) {
+             int mid = (low + high) >>> 1;
+             if (surrogates[mid] + mid < offset) {
+                 low = mid + 1;
              } else {
-                 break;
+                 high = mid;
              }
          }
-         return offset;
+         return offset - low;
      }
  }
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represent ballerina strings created by concatenating two strings, without copying the characters of either.
+ * <p>
+ * Strings built by repeated concatenation, such as in loops, form a tree of these values. The characters are copied
+ * only once, when the value of the string is first needed, after which the string behaves like a
+ * {@link BmpStringValue} or a {@link NonBmpStringValue}.
+ *
+ * @since 2.0.0
+ */
+public class RopeStringValue implements StringValue {
+
+    // Shorter strings are concatenated directly, since copying them costs less than building a tree.
+    private static final int MIN_ROPE_LENGTH = 256;
+
+    private BString left;
+    private BString right;
+    private final int length;
+    private final int charLength;
+    private volatile BString flattened;
+
+    private RopeStringValue(BString left, BString right) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.charLength = charLength(left) + charLength(right);
+    }
+
+    /**
+     * Concatenates the given strings.
+     *
+     * @param left  the string at the start
+     * @param right the string at the end
+     * @return the concatenated string
+     */
+    public static BString concat(BString left, BString right) {
+        if (left.length() == 0) {
+            return right;
+        }
+        if (right.length() == 0) {
+            return left;
+        }
+        if (charLength(left) + charLength(right) >= MIN_ROPE_LENGTH) {
+            return new RopeStringValue(left, right);
+        }
+        if (left instanceof BmpStringValue && right instanceof BmpStringValue) {
+            return new BmpStringValue(left.getValue() + right.getValue());
+        }
+        return StringUtils.fromString(left.getValue() + right.getValue());
+    }
+
+    private static int charLength(BString str) {
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+
+    private BString getFlattened() {
+        BString value = this.flattened;
+        if (value == null) {
+            value = flatten();
+        }
+        return value;
+    }
+
+    /**
+     * Copies the characters of the tree into a single string. The strings in the tree are visited in order using a
+     * stack, as the trees built in loops are too deep to visit recursively. Once flattened, the tree is released.
+     */
+    private synchronized BString flatten() {
+        if (this.flattened != null) {
+            return this.flattened;
+        }
+
+        StringBuilder builder = new StringBuilder(this.charLength);
+        boolean bmp = true;
+        Deque<BString> stack = new ArrayDeque<>();
+        stack.push(this.right);
+        stack.push(this.left);
+        while (!stack.isEmpty()) {
+            BString str = stack.pop();
+            if (str instanceof RopeStringValue) {
+                RopeStringValue rope = (RopeStringValue) str;
+                BString ropeLeft;
+                BString ropeRight;
+                synchronized (rope) {
+                    str = rope.flattened;
+                    ropeLeft = rope.left;
+                    ropeRight = rope.right;
+                }
+                if (str == null) {
+                    stack.push(ropeRight);
+                    stack.push(ropeLeft);
+                    continue;
+                }
+            }
+            bmp &= str instanceof BmpStringValue;
+            builder.append(str.getValue());
+        }
+
+        String value = builder.toString();
+        BString result = bmp ? new BmpStringValue(value) : StringUtils.fromString(value);
+        this.flattened = result;
+        this.left = null;
+        this.right = null;
+        return result;
+    }
+
+    @Override
+    public String getValue() {
+        return getFlattened().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return getFlattened().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return concat(this, str);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return getFlattened().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return getFlattened().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return getFlattened().substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String informalStringValue(BLink parent) {
+        return "\"" + toString() + "\"";
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        return informalStringValue(parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Entry store of a table value. Entries are kept in a single insertion ordered linked list and, for tables with a
+ * key sequence, are also chained into a hash index which compares the keys for equality, so that distinct keys with
+ * the same hash do not replace each other.
+ * <p>
+ * Removed entries keep their link to the previous entry, which allows an iterator positioned on a removed entry to
+ * find the next entry that is still in the table.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ *
+ * @since 2.0.0
+ */
+class TableEntryMap<K, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private TableEntry<K, V>[] buckets;
+    private TableEntry<K, V> head;
+    private TableEntry<K, V> tail;
+    private int size;
+    private int threshold;
+    private long nextSequence;
+
+    /**
+     * Returns the entry for the given key, or null if there is no such entry.
+     */
+    TableEntry<K, V> getEntry(Object key, long keyHash) {
+        if (buckets == null) {
+            return null;
+        }
+        int hash = spread(keyHash);
+        for (TableEntry<K, V> e = buckets[hash & (buckets.length - 1)]; e != null; e = e.bucketNext) {
+            if (e.hash == hash && (e.key == key || TypeChecker.isEqual(e.key, key))) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets the value of the given key, appending a new entry if the key is not in the table.
+     *
+     * @return the previous value, or null if the key was not in the table
+     */
+    V put(K key, long keyHash, V value) {
+        TableEntry<K, V> existing = getEntry(key, keyHash);
+        if (existing != null) {
+            V previous = existing.value;
+            existing.key = key;
+            existing.value = value;
+            return previous;
+        }
+        if (buckets == null) {
+            resize(INITIAL_CAPACITY);
+        } else if (size >= threshold) {
+            resize(buckets.length << 1);
+        }
+        TableEntry<K, V> entry = new TableEntry<>(key, value, spread(keyHash), true);
+        int index = entry.hash & (buckets.length - 1);
+        entry.bucketNext = buckets[index];
+        buckets[index] = entry;
+        link(entry);
+        return null;
+    }
+
+    /**
+     * Appends an entry which is not indexed, used by tables without a key sequence.
+     */
+    TableEntry<K, V> append(K key, V value) {
+        TableEntry<K, V> entry = new TableEntry<>(key, value, 0, false);
+        link(entry);
+        return entry;
+    }
+
+    /**
+     * Removes the entry of the given key.
+     *
+     * @return the removed value, or null if the key was not in the table
+     */
+    V remove(Object key, long keyHash) {
+        if (buckets == null) {
+            return null;
+        }
+        int hash = spread(keyHash);
+        int index = hash & (buckets.length - 1);
+        TableEntry<K, V> previous = null;
+        for (TableEntry<K, V> e = buckets[index]; e != null; previous = e, e = e.bucketNext) {
+            if (e.hash == hash && (e.key == key || TypeChecker.isEqual(e.key, key))) {
+                if (previous == null) {
+                    buckets[index] = e.bucketNext;
+                } else {
+                    previous.bucketNext = e.bucketNext;
+                }
+                unlink(e);
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    void clear() {
+        for (TableEntry<K, V> e = head; e != null; e = e.next) {
+            e.removed = true;
+            e.prev = null;
+        }
+        buckets = null;
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the keys of the indexed entries in insertion order.
+     */
+    Object[] keys() {
+        Object[] keys = new Object[buckets == null ? 0 : size];
+        int i = 0;
+        for (TableEntry<K, V> e = head; e != null && i < keys.length; e = e.next) {
+            if (e.indexed) {
+                keys[i++] = e.key;
+            }
+        }
+        return keys;
+    }
+
+    int size() {
+        return size;
+    }
+
+    TableEntry<K, V> first() {
+        return head;
+    }
+
+    /**
+     * Returns the entry that follows the given entry in insertion order, or the first entry if the given entry is
+     * null. The given entry may have been removed from the table after it was returned.
+     */
+    TableEntry<K, V> next(TableEntry<K, V> entry) {
+        if (entry == null) {
+            return head;
+        }
+        TableEntry<K, V> current = entry;
+        while (current.removed) {
+            // every entry between a removed entry and its previous live entry has been removed too
+            current = current.prev;
+            if (current == null) {
+                return head;
+            }
+        }
+        return current.next;
+    }
+
+    private void link(TableEntry<K, V> entry) {
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.next = entry;
+            entry.prev = tail;
+        }
+        entry.sequence = nextSequence++;
+        tail = entry;
+        size++;
+    }
+
+    private void unlink(TableEntry<K, V> entry) {
+        TableEntry<K, V> prev = entry.prev;
+        TableEntry<K, V> next = entry.next;
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.prev = prev;
+        }
+        entry.removed = true;
+        entry.next = null;
+        entry.bucketNext = null;
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        TableEntry<K, V>[] newBuckets = new TableEntry[capacity];
+        if (buckets != null) {
+            for (TableEntry<K, V> e = head; e != null; e = e.next) {
+                if (!e.indexed) {
+                    continue;
+                }
+                int index = e.hash & (capacity - 1);
+                e.bucketNext = newBuckets[index];
+                newBuckets[index] = e;
+            }
+        }
+        buckets = newBuckets;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int spread(long keyHash) {
+        int hash = (int) (keyHash ^ (keyHash >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * An entry of the table.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    static class TableEntry<K, V> implements Map.Entry<K, V> {
+
+        private K key;
+        private V value;
+        private final int hash;
+        private final boolean indexed;
+        private boolean removed;
+        private long sequence;
+        private TableEntry<K, V> prev;
+        private TableEntry<K, V> next;
+        private TableEntry<K, V> bucketNext;
+
+        private TableEntry(K key, V value, int hash, boolean indexed) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.indexed = indexed;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+    }
+}
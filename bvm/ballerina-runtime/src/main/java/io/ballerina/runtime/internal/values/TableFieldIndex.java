@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.TableEntryMap.TableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of a table on a field which is not part of the key sequence. Members are ordered by the value of
+ * the field, so that both equality and range lookups do not need to scan the table. The members with the same value
+ * are kept in the iteration order of the table, so lookups do not need to sort them.
+ * <p>
+ * Only fields of type int, float, string or boolean which cannot be updated after the member is added are indexed,
+ * since updating a field of a member directly would not update the index.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of members
+ *
+ * @since 2.0.0
+ */
+class TableFieldIndex<K, V> {
+
+    /**
+     * Least number of updates after which an index which is not looked up is considered unused, so that indexes on
+     * small tables are not dropped and created again all the time.
+     */
+    private static final int MIN_UNUSED_UPDATES = 64;
+
+    private final BString fieldName;
+    private final TreeMap<Object, List<TableEntry<K, V>>> index = new TreeMap<>(TableFieldIndex::compareValues);
+    private int size;
+    private int updatesSinceLookup;
+
+    TableFieldIndex(String fieldName) {
+        this.fieldName = StringUtils.fromString(fieldName);
+    }
+
+    void add(TableEntry<K, V> entry) {
+        updatesSinceLookup++;
+        Object value = getFieldValue(entry.getValue());
+        if (value == null) {
+            return;
+        }
+        List<TableEntry<K, V>> entries = index.computeIfAbsent(value, v -> new ArrayList<>(1));
+        int position = entries.size();
+        if (position > 0 && entries.get(position - 1).getSequence() > entry.getSequence()) {
+            // an entry whose value is replaced by put keeps its place in the table
+            position = -indexOf(entries, entry) - 1;
+        }
+        entries.add(position, entry);
+        size++;
+    }
+
+    void remove(TableEntry<K, V> entry, V member) {
+        updatesSinceLookup++;
+        Object value = getFieldValue(member);
+        if (value == null) {
+            return;
+        }
+        List<TableEntry<K, V>> entries = index.get(value);
+        if (entries == null) {
+            return;
+        }
+        int position = indexOf(entries, entry);
+        if (position < 0) {
+            return;
+        }
+        entries.remove(position);
+        size--;
+        if (entries.isEmpty()) {
+            index.remove(value);
+        }
+    }
+
+    /**
+     * Returns whether the table has changed more than its size since the index was last looked up, in which case
+     * keeping the index up to date costs more than creating it again on the next lookup.
+     *
+     * @return true if the index is no longer used
+     */
+    boolean isUnused() {
+        return updatesSinceLookup > Math.max(size, MIN_UNUSED_UPDATES);
+    }
+
+    /**
+     * Returns the members whose field value compares to the given value with the given operator, in the insertion
+     * order of the table. Returns null for a range which matches more than half of the members, since scanning the
+     * table is cheaper than collecting and merging that many members.
+     *
+     * @param operator one of ==, &lt;, &lt;=, &gt; or &gt;=
+     * @param value    the value to compare with
+     * @return the matching members, or null if most of the members match
+     */
+    List<V> find(String operator, Object value) {
+        if (updatesSinceLookup != 0) {
+            // readonly tables, which are looked up from many threads, are never updated and skip this write
+            updatesSinceLookup = 0;
+        }
+        Object key = normalize(value);
+        switch (operator) {
+            case "==":
+                List<TableEntry<K, V>> entries = index.get(key);
+                return entries == null ? new ArrayList<>(0) : getMembers(entries);
+            case "<":
+                return find(index.headMap(key, false).values());
+            case "<=":
+                return find(index.headMap(key, true).values());
+            case ">":
+                return find(index.tailMap(key, false).values());
+            case ">=":
+                return find(index.tailMap(key, true).values());
+            default:
+                throw new IllegalArgumentException("unsupported operator '" + operator + "'");
+        }
+    }
+
+    private List<V> find(Iterable<List<TableEntry<K, V>>> range) {
+        int maxMatches = size / 2;
+        int matches = 0;
+        List<List<TableEntry<K, V>>> buckets = new ArrayList<>();
+        for (List<TableEntry<K, V>> entries : range) {
+            matches += entries.size();
+            if (matches > maxMatches) {
+                return null;
+            }
+            buckets.add(entries);
+        }
+        if (buckets.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        if (buckets.size() == 1) {
+            return getMembers(buckets.get(0));
+        }
+
+        // each bucket is in the iteration order of the table, hence the buckets are merged by sequence
+        List<V> members = new ArrayList<>(matches);
+        PriorityQueue<BucketCursor<K, V>> cursors = new PriorityQueue<>(buckets.size());
+        for (List<TableEntry<K, V>> entries : buckets) {
+            cursors.add(new BucketCursor<>(entries));
+        }
+        while (!cursors.isEmpty()) {
+            BucketCursor<K, V> cursor = cursors.poll();
+            members.add(cursor.current().getValue());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return members;
+    }
+
+    private List<V> getMembers(List<TableEntry<K, V>> entries) {
+        List<V> members = new ArrayList<>(entries.size());
+        for (TableEntry<K, V> entry : entries) {
+            members.add(entry.getValue());
+        }
+        return members;
+    }
+
+    /**
+     * Binary searches the entries, which are in the iteration order of the table, for the given entry.
+     *
+     * @return the position of the entry, or (-(insertion point) - 1) if the entry is not found
+     */
+    private static int indexOf(List<? extends TableEntry<?, ?>> entries, TableEntry<?, ?> entry) {
+        long sequence = entry.getSequence();
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midSequence = entries.get(mid).getSequence();
+            if (midSequence < sequence) {
+                low = mid + 1;
+            } else if (midSequence > sequence) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private Object getFieldValue(V member) {
+        return normalize(((MapValue<?, ?>) member).get(fieldName));
+    }
+
+    private static Object normalize(Object value) {
+        // -0.0 and 0.0 are equal in Ballerina but not according to Double.compare
+        if (value instanceof Double && (Double) value == 0.0) {
+            return 0.0;
+        }
+        return value;
+    }
+
+    private static int compareValues(Object lhs, Object rhs) {
+        if (lhs instanceof Long) {
+            return Long.compare((Long) lhs, (Long) rhs);
+        }
+        if (lhs instanceof Double) {
+            return Double.compare((Double) lhs, (Double) rhs);
+        }
+        if (lhs instanceof Boolean) {
+            return Boolean.compare((Boolean) lhs, (Boolean) rhs);
+        }
+        return compareCodePoints(((BString) lhs).getValue(), ((BString) rhs).getValue());
+    }
+
+    private static int compareCodePoints(String lhs, String rhs) {
+        int i = 0;
+        int j = 0;
+        while (i < lhs.length() && j < rhs.length()) {
+            int lhsCodePoint = lhs.codePointAt(i);
+            int rhsCodePoint = rhs.codePointAt(j);
+            if (lhsCodePoint != rhsCodePoint) {
+                return Integer.compare(lhsCodePoint, rhsCodePoint);
+            }
+            i += Character.charCount(lhsCodePoint);
+            j += Character.charCount(rhsCodePoint);
+        }
+        return Integer.compare(lhs.length() - i, rhs.length() - j);
+    }
+
+    /**
+     * Position in a bucket of entries, ordered by the sequence of its current entry.
+     */
+    private static class BucketCursor<K, V> implements Comparable<BucketCursor<K, V>> {
+
+        private final List<TableEntry<K, V>> entries;
+        private int position;
+
+        BucketCursor(List<TableEntry<K, V>> entries) {
+            this.entries = entries;
+        }
+
+        TableEntry<K, V> current() {
+            return entries.get(position);
+        }
+
+        boolean advance() {
+            return ++position < entries.size();
+        }
+
+        @Override
+        public int compareTo(BucketCursor<K, V> other) {
+            return Long.compare(current().getSequence(), other.current().getSequence());
+        }
+    }
+}
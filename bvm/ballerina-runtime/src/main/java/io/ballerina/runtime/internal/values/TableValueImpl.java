@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
@@ -34,25 +35,24 @@ import io.ballerina.runtime.internal.CycleUtils;
 import io.ballerina.runtime.internal.IteratorUtils;
 import io.ballerina.runtime.internal.TableUtils;
 import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BIntersectionType;
 import io.ballerina.runtime.internal.types.BMapType;
 import io.ballerina.runtime.internal.types.BRecordType;
 import io.ballerina.runtime.internal.types.BTableType;
 import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.util.exceptions.BLangFreezeException;
+import io.ballerina.runtime.internal.values.TableEntryMap.TableEntry;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
@@ -74,30 +74,24 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
+    private TableEntryMap<K, V> entries;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
-
     private boolean nextKeySupported;
 
+    // Secondary indexes on non-key fields, created on first use by getMembersByField and dropped once unused.
+    // Readonly tables are shared between strands running on different threads, hence the indexes are published
+    // through a concurrent map.
+    private volatile Map<String, TableFieldIndex<K, V>> fieldIndexes;
+
     private final Map<String, Object> nativeData = new HashMap<>();
 
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
+        this.entries = new TableEntryMap<>();
         this.fieldNames = type.getFieldNames();
         if (type.getFieldNames() != null) {
             this.valueHolder = new KeyHashValueHolder();
@@ -212,23 +206,27 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entrySet = new LinkedHashSet<>();
+        for (TableEntry<K, V> entry = entries.first(); entry != null; entry = entries.next(entry)) {
+            entrySet.add(entry);
+        }
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        List<V> valueList = new ArrayList<>(entries.size());
+        for (TableEntry<K, V> entry = entries.first(); entry != null; entry = entries.next(entry)) {
+            valueList.add(entry.getValue());
+        }
+        return valueList;
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
         entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        fieldIndexes = null;
     }
 
     @Override
@@ -257,13 +255,105 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return entries.size() == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
         return this.valueHolder.getKeyType();
     }
 
+    /**
+     * Returns the members whose value for the given field compares to the given value with the given operator, in
+     * the iteration order of the table.
+     * <p>
+     * Tables have no syntax to declare secondary indexes, hence indexes are managed by the table instead. An index
+     * is created on a field the first time it is looked up, and is kept up to date on add, put and remove
+     * afterwards. An index which is not looked up while the table changes more than its size is dropped, and is
+     * created again by the next lookup. All indexes are dropped when the table is cleared.
+     *
+     * @param fieldName the name of the field
+     * @param operator  one of ==, &lt;, &lt;=, &gt; or &gt;=
+     * @param value     the value to compare the field with
+     * @return the matching members, or null if the field cannot be indexed or the range matches most of the members,
+     * in which case scanning the table is cheaper
+     */
+    public List<V> getMembersByField(String fieldName, String operator, Object value) {
+        Map<String, TableFieldIndex<K, V>> indexes = fieldIndexes;
+        if (indexes == null) {
+            synchronized (this) {
+                indexes = fieldIndexes;
+                if (indexes == null) {
+                    indexes = new ConcurrentHashMap<>();
+                    fieldIndexes = indexes;
+                }
+            }
+        }
+        // the index is fully built before the map makes it visible to other threads
+        TableFieldIndex<K, V> index = indexes.computeIfAbsent(fieldName, this::createFieldIndex);
+        return index == null ? null : index.find(operator, value);
+    }
+
+    private TableFieldIndex<K, V> createFieldIndex(String fieldName) {
+        if (!isIndexableField(fieldName)) {
+            return null;
+        }
+        TableFieldIndex<K, V> index = new TableFieldIndex<>(fieldName);
+        for (TableEntry<K, V> entry = entries.first(); entry != null; entry = entries.next(entry)) {
+            index.add(entry);
+        }
+        return index;
+    }
+
+    private boolean isIndexableField(String fieldName) {
+        Type constraintType = type.getConstrainedType();
+        if (constraintType.getTag() == TypeTags.INTERSECTION_TAG) {
+            // the constraint of a readonly table is the intersection of the record type with readonly
+            constraintType = ((BIntersectionType) constraintType).getEffectiveType();
+        }
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return false;
+        }
+        Field field = ((BRecordType) constraintType).getFields().get(fieldName);
+        if (field == null) {
+            return false;
+        }
+        // the index is not updated when a field of a member is updated, hence only immutable fields are indexed
+        if (!constraintType.isReadOnly() && !SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY)) {
+            return false;
+        }
+        switch (field.getFieldType().getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void addToFieldIndexes(TableEntry<K, V> entry) {
+        Iterator<TableFieldIndex<K, V>> iterator = fieldIndexes.values().iterator();
+        while (iterator.hasNext()) {
+            TableFieldIndex<K, V> index = iterator.next();
+            index.add(entry);
+            if (index.isUnused()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void removeFromFieldIndexes(TableEntry<K, V> entry, V member) {
+        Iterator<TableFieldIndex<K, V>> iterator = fieldIndexes.values().iterator();
+        while (iterator.hasNext()) {
+            TableFieldIndex<K, V> index = iterator.next();
+            index.remove(entry, member);
+            if (index.isUnused()) {
+                iterator.remove();
+            }
+        }
+    }
+
     @Override
     public V fillAndGet(Object key) {
         if (containsKey(key)) {
@@ -285,7 +375,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        return (K[]) entries.keys();
     }
 
     @Override
@@ -295,7 +385,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return entries.size() == 0;
     }
 
     @Override
@@ -320,8 +410,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
-        return createStringValueDataEntry(itr, parent);
+        return createStringValueDataEntry(parent);
     }
 
     @Override
@@ -331,21 +420,19 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
-        return createExpressionStringValueDataEntry(itr, parent);
+        return createExpressionStringValueDataEntry(parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createStringValueDataEntry(BLink parent) {
         StringJoiner sj = new StringJoiner(",");
-        while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
+        for (TableEntry<K, V> struct = entries.first(); struct != null; struct = entries.next(struct)) {
             sj.add(StringUtils.getStringValue(struct.getValue(),
                                               new CycleUtils.Node(this, parent)));
         }
         return "[" + sj.toString() + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         if (type.getFieldNames() != null) {
@@ -354,8 +441,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                 keyJoiner.add(keysList[i]);
             }
         }
-        while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
+        for (TableEntry<K, V> struct = entries.first(); struct != null; struct = entries.next(struct)) {
             sj.add(StringUtils.getExpressionStringValue(struct.getValue(),
                                                         new CycleUtils.Node(this, parent)));
         }
@@ -386,39 +472,33 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
-
-        TableIterator() {
-            this.cursor = 0;
-        }
+        // null until the first entry is returned
+        private TableEntry<K, V> current;
 
         @Override
         public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
+            TableEntry<K, V> next = ((TableEntryMap<K, V>) entries).next(current);
+            if (next == null) {
+                return null;
             }
+            current = next;
+            V value = next.getValue();
+            K key = next.getKey();
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+            return ((TableEntryMap<K, V>) entries).next(current) != null;
         }
     }
 
@@ -440,11 +520,12 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            // tables without a key sequence are not indexed, the value is used as the key of its entry
+            TableEntry<K, V> entry = entries.append((K) data, data);
+            if (fieldIndexes != null) {
+                addToFieldIndexes(entry);
+            }
+            return null;
         }
 
         public V remove(K key) {
@@ -485,63 +566,63 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                StringUtils.fromString("A value " + "found for key '" + key + "'"));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (entries.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            putEntry(key, data);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            TableEntry<K, V> entry = entries.getEntry(key, TableUtils.hash(key, null));
+            return entry == null ? null : entry.getValue();
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
-
-            if (!hash.equals(actualHash)) {
+            if (!TypeChecker.isEqual(key, actualKey)) {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR, StringUtils.fromString("The key '" +
                         key + "' not found in value " + data.toString()));
             }
 
-            return putData(key, data, entry, hash);
-        }
-
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+            return putEntry(key, data);
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            return putEntry(key, data);
+        }
+
+        private V putEntry(K key, V data) {
+            long hash = TableUtils.hash(key, null);
+            if (fieldIndexes == null) {
+                return entries.put(key, hash, data);
+            }
+
+            TableEntry<K, V> entry = entries.getEntry(key, hash);
+            if (entry != null) {
+                removeFromFieldIndexes(entry, entry.getValue());
+            }
+            V previous = entries.put(key, hash, data);
+            addToFieldIndexes(entries.getEntry(key, hash));
+            return previous;
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
+            long hash = TableUtils.hash(key, null);
+            if (fieldIndexes != null) {
+                TableEntry<K, V> entry = entries.getEntry(key, hash);
+                if (entry != null) {
+                    removeFromFieldIndexes(entry, entry.getValue());
+                }
             }
-            return values.remove(hash);
+            return entries.remove(key, hash);
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return entries.getEntry(key, TableUtils.hash(key, null)) != null;
         }
 
         public Type getKeyType() {
@@ -592,15 +673,6 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
-        }
-    }
-
     // This method checks for inherent table type violation
     private void checkInherentTypeViolation(MapValue dataMap, TableType type) {
         if (!TypeChecker.checkIsType(dataMap.getType(), type.getConstrainedType())) {
@@ -20,6 +20,7 @@ package io.ballerina.runtime.observability;
 import io.ballerina.runtime.observability.metrics.Tag;
 import io.ballerina.runtime.observability.tracer.BSpan;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -48,6 +49,16 @@ public class ObserverContext {
      */
     public Map<String, Tag> customMetricTags;
 
+    /**
+     * Number of times a tag was added, which lets observers detect tags added after the observation started.
+     */
+    private int tagModificationCount;
+
+    /**
+     * Sum of the hash codes of the tags, which is the hash code of the set returned by {@link #getAllTags()}.
+     */
+    private int tagsHashCode;
+
     private BSpan span;
 
     private String entrypointFunctionModule;
@@ -84,7 +95,12 @@ public class ObserverContext {
     public void addTag(String key, String value) {
         String sanitizedValue = value != null ? value : "";
         Tag tag = Tag.of(key, sanitizedValue);
-        tags.put(key, tag);
+        Tag previousTag = tags.put(key, tag);
+        if (previousTag != null) {
+            tagsHashCode -= previousTag.hashCode();
+        }
+        tagsHashCode += tag.hashCode();
+        tagModificationCount++;
     }
 
     public Tag getTag(String key) {
@@ -95,6 +111,23 @@ public class ObserverContext {
         return new HashSet<>(tags.values());
     }
 
+    /**
+     * Returns the tags by their keys without copying them.
+     *
+     * @return unmodifiable view of the tags
+     */
+    public Map<String, Tag> getTagMap() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public int getTagsHashCode() {
+        return tagsHashCode;
+    }
+
+    public int getTagModificationCount() {
+        return tagModificationCount;
+    }
+
     public BSpan getSpan() {
         return span;
     }
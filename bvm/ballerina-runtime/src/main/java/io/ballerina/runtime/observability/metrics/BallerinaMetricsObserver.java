@@ -22,9 +22,13 @@ import io.ballerina.runtime.observability.ObserverContext;
 
 import java.io.PrintStream;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
 import static io.ballerina.runtime.observability.ObservabilityConstants.STATUS_CODE_GROUP_SUFFIX;
@@ -35,8 +39,11 @@ import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_
  */
 public class BallerinaMetricsObserver implements BallerinaObserver {
 
-    private static final String PROPERTY_START_TIME = "_observation_start_time_";
-    private static final String PROPERTY_IN_PROGRESS_COUNTER = "_observation_in_progress_counter_";
+    private static final String PROPERTY_OBSERVATION = "_observation_metrics_";
+    // Response metrics are cached for status codes up to 999, by status code group
+    private static final int STATUS_CODE_GROUP_COUNT = 10;
+    // Tags with unbounded values, such as request ids, would otherwise grow the cache of metric ids without limit
+    private static final int MAX_CACHED_TAG_SETS = 1024;
 
     private static final PrintStream consoleError = System.err;
 
@@ -57,6 +64,17 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
                     .build()
     };
 
+    /*
+     * Metric ids of observations, by the tags the observations were started with. The ids are looked up in the
+     * registry for every observation, so that metrics unregistered in the meantime are created again. The ids of
+     * removed metrics are evicted, and only up to MAX_CACHED_TAG_SETS tag sets are cached.
+     */
+    private final ConcurrentMap<TagsKey, ObservationMetricIds> metricIdsByTags = new ConcurrentHashMap<>();
+
+    public BallerinaMetricsObserver() {
+        metricRegistry.addRemovalListener(this::evictMetricIds);
+    }
+
     @Override
     public void startServerObservation(ObserverContext observerContext) {
         startObservation(observerContext);
@@ -86,49 +104,82 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
     }
 
     private void startObservation(ObserverContext observerContext) {
-        observerContext.addProperty(PROPERTY_START_TIME, System.nanoTime());
-        Set<Tag> tags = observerContext.getAllTags();
+        Observation observation = new Observation(System.nanoTime(), observerContext.getTagModificationCount());
+        observerContext.addProperty(PROPERTY_OBSERVATION, observation);
+        // The tags are neither copied nor hashed again to look up the cached metric ids
+        Map<String, Tag> tagMap = observerContext.getTagMap();
+        int tagsHashCode = observerContext.getTagsHashCode();
+        ObservationMetricIds metricIds = metricIdsByTags.get(new TagsKey(tagMap, tagsHashCode));
         try {
-            Gauge inProgressGauge = metricRegistry.gauge(new MetricId("inprogress_requests", "In-progress requests",
-                    tags));
+            if (metricIds == null) {
+                metricIds = new ObservationMetricIds(observerContext.getAllTags());
+                if (metricIdsByTags.size() < MAX_CACHED_TAG_SETS) {
+                    ObservationMetricIds existingMetricIds =
+                            metricIdsByTags.putIfAbsent(new TagsKey(new HashMap<>(tagMap), tagsHashCode), metricIds);
+                    if (existingMetricIds != null) {
+                        metricIds = existingMetricIds;
+                    }
+                }
+            }
+            observation.metricIds = metricIds;
+            Gauge inProgressGauge = metricRegistry.gauge(metricIds.inProgressRequests);
             inProgressGauge.increment();
             /*
              * The in progress counter is stored so that the same counter can be decremted when the observation
              * ends. This is needed as the the program may add tags to the context causing the tags to be
              * different at the end compared to the start.
              */
-            observerContext.addProperty(PROPERTY_IN_PROGRESS_COUNTER, inProgressGauge);
+            observation.inProgressGauge = inProgressGauge;
         } catch (RuntimeException e) {
-            handleError("inprogress_requests", tags, e);
+            handleError("inprogress_requests", observerContext.getAllTags(), e);
         }
     }
 
     private void stopObservation(ObserverContext observerContext) {
-        Set<Tag> tags = new HashSet<>();
-        Map<String, Tag> customTags = observerContext.customMetricTags;
-        if (customTags != null) {
-            tags.addAll(customTags.values());
+        Observation observation = (Observation) observerContext.getProperty(PROPERTY_OBSERVATION);
+        if (observation == null) {
+            return;
         }
-        tags.addAll(observerContext.getAllTags());
-
-        // Add status_code_group tag
         Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
-        if (statusCode != null && statusCode > 0) {
-            tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
+
+        // The cached metric ids can only be used if no tags were added after the observation started
+        ResponseMetricIds responseMetricIds = null;
+        if (observation.metricIds != null && observerContext.customMetricTags == null
+                && observation.tagModificationCount == observerContext.getTagModificationCount()) {
+            responseMetricIds = observation.metricIds.getResponseMetricIds(statusCode);
+        }
+        if (responseMetricIds == null) {
+            Set<Tag> tags = new HashSet<>();
+            Map<String, Tag> customTags = observerContext.customMetricTags;
+            if (customTags != null) {
+                tags.addAll(customTags.values());
+            }
+            tags.addAll(observerContext.getAllTags());
+            addStatusCodeGroupTag(tags, statusCode);
+            responseMetricIds = new ResponseMetricIds(tags);
         }
 
         try {
-            Long startTime = (Long) observerContext.getProperty(PROPERTY_START_TIME);
-            long duration = System.nanoTime() - startTime;
-            ((Gauge) observerContext.getProperty(PROPERTY_IN_PROGRESS_COUNTER)).decrement();
-            metricRegistry.gauge(new MetricId("response_time_seconds",
-                    "Response time", tags), responseTimeStatisticConfigs).setValue(duration / 1E9);
-            metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
-                    "Total response response time for all requests", tags)).increment(duration);
-            metricRegistry.counter(new MetricId("requests_total",
-                    "Total number of requests", tags)).increment();
+            long duration = System.nanoTime() - observation.startTime;
+            if (observation.inProgressGauge != null) {
+                observation.inProgressGauge.decrement();
+            }
+            metricRegistry.gauge(responseMetricIds.responseTime, responseTimeStatisticConfigs)
+                    .setValue(duration / 1E9);
+            metricRegistry.counter(responseMetricIds.responseTimeTotal).increment(duration);
+            metricRegistry.counter(responseMetricIds.requestsTotal).increment();
         } catch (RuntimeException e) {
-            handleError("multiple metrics", tags, e);
+            handleError("multiple metrics", responseMetricIds.tags, e);
+        }
+    }
+
+    private void evictMetricIds(MetricId removedId) {
+        metricIdsByTags.values().removeIf(metricIds -> metricIds.contains(removedId));
+    }
+
+    private static void addStatusCodeGroupTag(Set<Tag> tags, Integer statusCode) {
+        if (statusCode != null && statusCode > 0) {
+            tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
         }
     }
 
@@ -137,4 +188,116 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
         consoleError.println("error: error collecting metrics for " + metricName + " with tags " + tags +
                 ": " + e.getMessage());
     }
+
+    /**
+     * State of an observation in progress.
+     */
+    private static class Observation {
+        private final long startTime;
+        private final int tagModificationCount;
+        private ObservationMetricIds metricIds;
+        private Gauge inProgressGauge;
+
+        private Observation(long startTime, int tagModificationCount) {
+            this.startTime = startTime;
+            this.tagModificationCount = tagModificationCount;
+        }
+    }
+
+    /**
+     * Key of the cached metric ids, which is looked up with the tags of an observer context without copying them and
+     * with the hash code kept by the context.
+     */
+    private static class TagsKey {
+        private final Map<String, Tag> tags;
+        private final int hashCode;
+
+        private TagsKey(Map<String, Tag> tags, int hashCode) {
+            this.tags = tags;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TagsKey)) {
+                return false;
+            }
+            TagsKey tagsKey = (TagsKey) o;
+            return hashCode == tagsKey.hashCode && tags.equals(tagsKey.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Metric ids of the observations started with the same tags.
+     */
+    private static class ObservationMetricIds {
+        private final Set<Tag> tags;
+        private final MetricId inProgressRequests;
+        // Index 0 holds the ids of observations without a status code, index n + 1 the ids of status code group n
+        private final AtomicReferenceArray<ResponseMetricIds> responseMetricIds =
+                new AtomicReferenceArray<>(STATUS_CODE_GROUP_COUNT + 1);
+
+        private ObservationMetricIds(Set<Tag> tags) {
+            this.tags = tags;
+            this.inProgressRequests = new MetricId("inprogress_requests", "In-progress requests", tags);
+        }
+
+        private boolean contains(MetricId id) {
+            if (inProgressRequests.equals(id)) {
+                return true;
+            }
+            for (int i = 0; i < responseMetricIds.length(); i++) {
+                ResponseMetricIds metricIds = responseMetricIds.get(i);
+                if (metricIds != null && metricIds.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private ResponseMetricIds getResponseMetricIds(Integer statusCode) {
+            int index = statusCode != null && statusCode > 0 ? statusCode / 100 + 1 : 0;
+            if (index >= responseMetricIds.length()) {
+                return null;
+            }
+            ResponseMetricIds metricIds = responseMetricIds.get(index);
+            if (metricIds == null) {
+                Set<Tag> responseTags = new HashSet<>(tags);
+                addStatusCodeGroupTag(responseTags, statusCode);
+                metricIds = new ResponseMetricIds(responseTags);
+                responseMetricIds.set(index, metricIds);
+            }
+            return metricIds;
+        }
+    }
+
+    /**
+     * Metric ids of the metrics recorded when an observation ends.
+     */
+    private static class ResponseMetricIds {
+        private final Set<Tag> tags;
+        private final MetricId responseTime;
+        private final MetricId responseTimeTotal;
+        private final MetricId requestsTotal;
+
+        private ResponseMetricIds(Set<Tag> tags) {
+            this.tags = tags;
+            this.responseTime = new MetricId("response_time_seconds", "Response time", tags);
+            this.responseTimeTotal = new MetricId("response_time_nanoseconds_total",
+                    "Total response response time for all requests", tags);
+            this.requestsTotal = new MetricId("requests_total", "Total number of requests", tags);
+        }
+
+        private boolean contains(MetricId id) {
+            return responseTime.equals(id) || responseTimeTotal.equals(id) || requestsTotal.equals(id);
+        }
+    }
 }
@@ -22,6 +22,8 @@ import io.ballerina.runtime.observability.metrics.spi.MetricProvider;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
@@ -35,6 +37,8 @@ public class MetricRegistry {
     private final MetricProvider metricProvider;
     // Metrics Map by ID
     private final ConcurrentMap<MetricId, Metric> metrics;
+    // Listeners which are told the ids of the removed metrics
+    private final List<Consumer<MetricId>> removalListeners = new CopyOnWriteArrayList<>();
 
     public MetricRegistry(MetricProvider metricProvider) {
         this.metricProvider = metricProvider;
@@ -179,8 +183,8 @@ public class MetricRegistry {
 
     private <M extends Metric> void unregister(Metric registerMetric, Class<M> metricClass) {
         Metric metric = readMetric(registerMetric.getId(), metricClass);
-        if (metric != null) {
-            metrics.remove(registerMetric.getId());
+        if (metric != null && metrics.remove(registerMetric.getId()) != null) {
+            notifyRemoval(registerMetric.getId());
         }
     }
 
@@ -192,7 +196,26 @@ public class MetricRegistry {
     public void remove(String name) {
         List<MetricId> ids = metrics.keySet().stream()
                 .filter(id -> id.getName().equals(name)).collect(Collectors.toList());
-        ids.forEach(metrics::remove);
+        for (MetricId id : ids) {
+            if (metrics.remove(id) != null) {
+                notifyRemoval(id);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener which is told the id of every metric removed from this registry.
+     *
+     * @param listener the listener of removed metric ids
+     */
+    public void addRemovalListener(Consumer<MetricId> listener) {
+        removalListeners.add(listener);
+    }
+
+    private void notifyRemoval(MetricId id) {
+        for (Consumer<MetricId> listener : removalListeners) {
+            listener.accept(id);
+        }
     }
 
     public MetricProvider getMetricProvider() {
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for running strand groups on a strand executor in {@link Scheduler}.
+ */
+public class SchedulerTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final int NUM_THREADS = 2;
+    private static final int STRANDS = 10;
+
+    @Test
+    public void testGroupsRunOnStrandExecutor() throws Exception {
+        AtomicInteger shutdowns = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                                                          new SynchronousQueue<>(),
+                                                          runnable -> new Thread(runnable, "strand-executor")) {
+            @Override
+            public void shutdown() {
+                shutdowns.incrementAndGet();
+                super.shutdown();
+            }
+        };
+
+        // Every strand blocks until all of them are running, which only works if a blocked group does not hold one of
+        // the scheduler threads.
+        List<Thread> threads = runStrands(new Scheduler(NUM_THREADS, false, executor), new CountDownLatch(STRANDS));
+        for (Thread thread : threads) {
+            Assert.assertEquals(thread.getName(), "strand-executor");
+        }
+
+        // Each scheduler thread gets the poison pill, but the executor is shut down only once, and the scheduler
+        // stops only after the groups running on the executor are done.
+        Assert.assertEquals(shutdowns.get(), 1);
+        Assert.assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void testVirtualThreadMode() throws Exception {
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        Scheduler scheduler;
+        ExecutorService executor;
+        try {
+            System.setErr(new PrintStream(errContent, true, StandardCharsets.UTF_8));
+            scheduler = new Scheduler(NUM_THREADS, false);
+            executor = scheduler.createStrandExecutor("true");
+        } finally {
+            System.setErr(originalErr);
+        }
+        Assert.assertNull(scheduler.createStrandExecutor("false"));
+        Assert.assertNull(scheduler.createStrandExecutor(null));
+
+        if (!isVirtualThreadSupported()) {
+            // Falls back to running the groups on the scheduler threads.
+            Assert.assertNull(executor);
+            Assert.assertTrue(errContent.toString(StandardCharsets.UTF_8)
+                                      .contains("virtual threads are not supported by the current Java runtime"));
+            List<Thread> threads = runStrands(new Scheduler(NUM_THREADS, false, null), new CountDownLatch(1));
+            for (Thread thread : threads) {
+                Assert.assertTrue(thread.getName().startsWith("jbal-strand-exec-") || thread == Thread.currentThread(),
+                                  "strand ran on " + thread.getName());
+            }
+            return;
+        }
+
+        Assert.assertNotNull(executor);
+        Assert.assertEquals(errContent.size(), 0);
+        List<Thread> threads = runStrands(new Scheduler(NUM_THREADS, false, executor), new CountDownLatch(STRANDS));
+        for (Thread thread : threads) {
+            Assert.assertEquals(Thread.class.getMethod("isVirtual").invoke(thread), true);
+        }
+        Assert.assertTrue(executor.isTerminated());
+    }
+
+    /**
+     * Runs strands that count down the given latch and wait for it, and returns the threads the strands ran on.
+     */
+    private static List<Thread> runStrands(Scheduler scheduler, CountDownLatch latch) {
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        Function<Object[], Object> function = params -> {
+            threads.add(Thread.currentThread());
+            latch.countDown();
+            try {
+                return latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        };
+        List<FutureValue> futures = new ArrayList<>();
+        for (int i = 0; i < STRANDS; i++) {
+            futures.add(scheduler.schedule(new Object[1], function, null, null, "strand-" + i, null));
+        }
+        // Returns once all the strands are completed and the scheduler is poisoned
+        scheduler.start();
+
+        for (FutureValue future : futures) {
+            Assert.assertTrue(future.isDone);
+            Assert.assertEquals(future.result, true);
+        }
+        Assert.assertEquals(threads.size(), STRANDS);
+        return threads;
+    }
+
+    private static boolean isVirtualThreadSupported() {
+        // virtual threads are a preview feature before Java 21
+        return Runtime.version().feature() >= 21;
+    }
+}
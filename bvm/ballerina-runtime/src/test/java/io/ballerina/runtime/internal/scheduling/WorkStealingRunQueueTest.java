@@ -0,0 +1,267 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test cases for {@link WorkStealingRunQueue}.
+ */
+public class WorkStealingRunQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOwnerTakesGroupsInAdditionOrder() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        List<ItemGroup> groups = createGroups(5);
+        List<ItemGroup> taken = run(() -> {
+            queue.registerWorker(0);
+            groups.forEach(queue::add);
+            List<ItemGroup> result = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                result.add(queue.take());
+            }
+            return result;
+        });
+        Assert.assertEquals(taken, groups);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testIdleWorkerStealsNewestGroup() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        List<ItemGroup> groups = createGroups(3);
+        run(() -> {
+            queue.registerWorker(0);
+            groups.forEach(queue::add);
+            return null;
+        });
+        Assert.assertEquals(queue.size(), 3);
+
+        ItemGroup stolen = run(() -> {
+            queue.registerWorker(1);
+            return queue.take();
+        });
+        Assert.assertSame(stolen, groups.get(2));
+
+        // The owner still takes what is left of its deque from the oldest end.
+        List<ItemGroup> taken = run(() -> {
+            queue.registerWorker(0);
+            return List.of(queue.take(), queue.take());
+        });
+        Assert.assertEquals(taken, groups.subList(0, 2));
+    }
+
+    @Test
+    public void testGroupsFromOtherThreadsAreNotStarved() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(1);
+        ItemGroup injected = new ItemGroup(null);
+        int position = run(() -> {
+            queue.registerWorker(0);
+            createGroups(200).forEach(queue::add);
+            // added from a thread that is not a scheduler thread, hence it goes to the injection queue
+            executor.submit(() -> queue.add(injected)).get();
+            for (int i = 0; i < 200; i++) {
+                if (queue.take() == injected) {
+                    return i;
+                }
+            }
+            return -1;
+        });
+        Assert.assertTrue(position >= 0 && position < 200, "injected group was only taken at " + position);
+    }
+
+    @Test
+    public void testIdleWorkerIsUnparked() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        AtomicInteger workerThreads = new AtomicInteger();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Future<ItemGroup>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            int workerId = i;
+            results.add(executor.submit(() -> {
+                threads.add(Thread.currentThread());
+                queue.registerWorker(workerId);
+                workerThreads.incrementAndGet();
+                return queue.take();
+            }));
+        }
+        awaitParked(threads, workerThreads, 2);
+
+        ItemGroup first = new ItemGroup(null);
+        ItemGroup second = new ItemGroup(null);
+        queue.add(first);
+        queue.add(second);
+        Set<ItemGroup> taken = Set.of(results.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                                      results.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(taken, Set.of(first, second));
+    }
+
+    @Test
+    public void testPoisonReleasesWorkersAfterDrainingGroups() throws Exception {
+        int numThreads = 3;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(numThreads);
+        AtomicInteger workerThreads = new AtomicInteger();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            int workerId = i;
+            results.add(executor.submit(() -> {
+                threads.add(Thread.currentThread());
+                queue.registerWorker(workerId);
+                workerThreads.incrementAndGet();
+                int count = 0;
+                while (queue.take() != POISON_PILL) {
+                    count++;
+                }
+                return count;
+            }));
+        }
+        awaitParked(threads, workerThreads, numThreads);
+        createGroups(10).forEach(queue::add);
+        queue.poison(numThreads);
+
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(total, 10);
+        Assert.assertEquals(queue.size(), 0);
+
+        // Once poisoned, a worker that comes back gets the pill straight away instead of parking.
+        Assert.assertSame(run(() -> {
+            queue.registerWorker(0);
+            return queue.take();
+        }), POISON_PILL);
+    }
+
+    @Test
+    public void testConcurrentAddAndTake() throws Exception {
+        int numThreads = 4;
+        int seeds = 100;
+        int total = 20000;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(numThreads);
+        Set<ItemGroup> taken = ConcurrentHashMap.newKeySet();
+        AtomicInteger created = new AtomicInteger(seeds);
+        AtomicInteger consumed = new AtomicInteger();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            int workerId = i;
+            results.add(executor.submit(() -> {
+                queue.registerWorker(workerId);
+                int count = 0;
+                ItemGroup group;
+                while ((group = queue.take()) != POISON_PILL) {
+                    Assert.assertTrue(taken.add(group), "group taken more than once");
+                    count++;
+                    // Each group adds up to two more to the deque of the worker that took it, hence the deques fill
+                    // up unevenly and idle workers have to steal.
+                    for (int j = 0; j < 2 && created.getAndIncrement() < total; j++) {
+                        queue.add(new ItemGroup(null));
+                    }
+                    if (consumed.incrementAndGet() == total) {
+                        queue.poison(numThreads);
+                    }
+                }
+                return count;
+            }));
+        }
+        // Seed groups are added from a thread that is not a scheduler thread.
+        createGroups(seeds).forEach(queue::add);
+
+        int count = 0;
+        for (Future<Integer> result : results) {
+            count += result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(count, total);
+        Assert.assertEquals(taken.size(), total);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    private <T> T run(Callable<T> task) throws Exception {
+        // each task runs on a fresh thread, so that it is bound to at most one worker slot
+        ExecutorService thread = Executors.newSingleThreadExecutor();
+        try {
+            return thread.submit(task).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            thread.shutdownNow();
+        }
+    }
+
+    private static List<ItemGroup> createGroups(int count) {
+        List<ItemGroup> groups = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            groups.add(new ItemGroup(null));
+        }
+        return groups;
+    }
+
+    private static void awaitParked(List<Thread> threads, AtomicInteger started, int count)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            if (started.get() == count && allParked(threads)) {
+                return;
+            }
+            Thread.sleep(1);
+        }
+        Assert.fail("scheduler threads did not park");
+    }
+
+    private static boolean allParked(List<Thread> threads) {
+        synchronized (threads) {
+            for (Thread thread : threads) {
+                if (thread.getState() != Thread.State.WAITING) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
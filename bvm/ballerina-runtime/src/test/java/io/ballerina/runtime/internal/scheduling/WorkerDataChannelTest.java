@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.values.ChannelDetails;
+import io.ballerina.runtime.internal.values.ErrorValue;
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link WorkerDataChannel}. The sender and the receiver are strands of the same parent, which use the
+ * channel the same way as the code generated for worker interactions, and are run by a multi-threaded scheduler.
+ */
+public class WorkerDataChannelTest {
+
+    private static final String CHANNEL_NAME = "sender -> receiver";
+    private static final int NUM_THREADS = 4;
+    // Number of times the receiver yields before its first receive, so that the sender has to wait for it.
+    private static final int RECEIVER_DELAY = 50;
+
+    private Scheduler scheduler;
+    private Strand parent;
+    private WorkerDataChannel channel;
+
+    @BeforeMethod
+    public void setup() {
+        scheduler = new Scheduler(NUM_THREADS, false);
+        parent = new Strand("parent", null, scheduler, null, null);
+        channel = parent.wdChannels.getWorkerDataChannel(CHANNEL_NAME);
+    }
+
+    @Test
+    public void testAsyncSendsAreReceivedInOrder() {
+        int messages = 20000;
+        int[] sent = {0};
+        // Yields now and then, so that the receiver also has to wait for messages that are not sent yet.
+        StrandBody sender = strand -> {
+            while (sent[0] < messages) {
+                channel.sendData((long) sent[0]++, strand);
+                if (sent[0] % 100 == 0) {
+                    strand.setState(State.YIELD);
+                    return null;
+                }
+            }
+            return null;
+        };
+        List<Object> received = new ArrayList<>();
+        StrandBody receiver = strand -> {
+            while (received.size() < messages) {
+                Object value = channel.tryTakeData(strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(value);
+            }
+            return null;
+        };
+        run(sender, receiver);
+
+        Assert.assertEquals(received.size(), messages);
+        for (int i = 0; i < messages; i++) {
+            Assert.assertEquals(received.get(i), (long) i);
+        }
+    }
+
+    @Test
+    public void testSyncSendWaitsForReceiver() {
+        int messages = 2000;
+        AtomicInteger receiveCalls = new AtomicInteger();
+        List<Integer> receiveCallsOnSend = new ArrayList<>();
+        int[] sent = {0};
+        StrandBody sender = strand -> {
+            while (sent[0] < messages) {
+                // called again with the same message once the receiver has taken it and resumed the sender
+                Object error = channel.syncSendData((long) sent[0], strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                Assert.assertNull(error);
+                receiveCallsOnSend.add(receiveCalls.get());
+                sent[0]++;
+            }
+            return null;
+        };
+        List<Object> received = new ArrayList<>();
+        run(sender, receiver(messages, receiveCalls, received));
+
+        Assert.assertEquals(received.size(), messages);
+        for (int i = 0; i < messages; i++) {
+            Assert.assertEquals(received.get(i), (long) i);
+            // A sync send completes only after the receiver has made the receive call that took the message.
+            Assert.assertTrue(receiveCallsOnSend.get(i) > i, "message " + i + " was sent before it was received");
+        }
+    }
+
+    @Test
+    public void testSyncSendReturnsReceiverError() {
+        ErrorValue receiverError = (ErrorValue) ErrorCreator.createError(StringUtils.fromString("receiver failed"));
+        Object[] sendResult = new Object[1];
+        StrandBody sender = strand -> {
+            Object result = channel.syncSendData(1L, strand);
+            if (strand.isYielded()) {
+                return null;
+            }
+            sendResult[0] = result;
+            return null;
+        };
+        int[] yields = {0};
+        StrandBody receiver = strand -> {
+            if (yields[0]++ < RECEIVER_DELAY) {
+                strand.setState(State.YIELD);
+                return null;
+            }
+            // the receiving worker fails before it gets to the receive
+            channel.setReceiveError(receiverError);
+            return null;
+        };
+        run(sender, receiver);
+
+        Assert.assertSame(sendResult[0], receiverError);
+    }
+
+    @Test
+    public void testFlushWaitsForReceiver() {
+        int messages = 2000;
+        ChannelDetails[] channels = {new ChannelDetails(CHANNEL_NAME, false, true)};
+        AtomicInteger receiveCalls = new AtomicInteger();
+        int[] receiveCallsOnFlush = {-1};
+        int[] sent = {0};
+        StrandBody sender = strand -> {
+            while (sent[0] < messages) {
+                channel.sendData((long) sent[0]++, strand);
+            }
+            // called again once the receiver has taken every message and resumed the sender
+            ErrorValue error = strand.handleFlush(channels);
+            if (strand.isYielded()) {
+                return null;
+            }
+            Assert.assertNull(error);
+            receiveCallsOnFlush[0] = receiveCalls.get();
+            return null;
+        };
+        List<Object> received = new ArrayList<>();
+        run(sender, receiver(messages, receiveCalls, received));
+
+        Assert.assertEquals(received.size(), messages);
+        // The flush completes only after the receiver has made the receive call that took the last message.
+        Assert.assertTrue(receiveCallsOnFlush[0] >= messages, "flushed after " + receiveCallsOnFlush[0] + " receives");
+    }
+
+    /**
+     * Returns a receiver that yields for a while before it starts receiving, and counts its receive calls before
+     * making each of them.
+     */
+    private StrandBody receiver(int messages, AtomicInteger receiveCalls, List<Object> received) {
+        int[] yields = {0};
+        return strand -> {
+            if (yields[0]++ < RECEIVER_DELAY) {
+                strand.setState(State.YIELD);
+                return null;
+            }
+            while (received.size() < messages) {
+                receiveCalls.incrementAndGet();
+                Object value = channel.tryTakeData(strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(value);
+            }
+            return null;
+        };
+    }
+
+    private void run(StrandBody sender, StrandBody receiver) {
+        FutureValue receiverFuture = scheduler.schedule(new Object[1], toFunction(receiver), parent, null, "receiver",
+                                                        null);
+        FutureValue senderFuture = scheduler.schedule(new Object[1], toFunction(sender), parent, null, "sender", null);
+        // Returns once both strands are completed and the scheduler is poisoned
+        scheduler.start();
+
+        for (FutureValue future : List.of(senderFuture, receiverFuture)) {
+            Assert.assertTrue(future.isDone);
+            if (future.panic != null) {
+                throw new AssertionError(future.strand.getName().orElse("strand") + " failed", future.panic);
+            }
+        }
+    }
+
+    private static Function<Object[], Object> toFunction(StrandBody body) {
+        return params -> {
+            try {
+                return body.run((Strand) params[0]);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new AssertionError(t);
+            }
+        };
+    }
+
+    /**
+     * Body of a strand, which is called again when the strand is resumed after yielding.
+     */
+    private interface StrandBody {
+
+        Object run(Strand strand) throws Throwable;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link JsonGenerator class}, which has to write the same JSON to UTF-8 output streams as it writes
+ * to writers.
+ */
+public class JsonGeneratorTests {
+
+    @Test
+    public void testSerializeJson() throws IOException {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_JSON));
+        map.put(StringUtils.fromString("ascii"), StringUtils.fromString("plain text"));
+        map.put(StringUtils.fromString("escaped \"key\""), StringUtils.fromString("a/b\n\t\"c\"\\"));
+        map.put(StringUtils.fromString("slash"), StringUtils.fromString("a/b\f"));
+        map.put(StringUtils.fromString("unicode"), StringUtils.fromString("Z\u00fcrich \u65e5\u672c \uD83D\uDE00"));
+        map.put(StringUtils.fromString("unpaired"), StringUtils.fromString("a\uD83Db"));
+        map.put(StringUtils.fromString("long"), StringUtils.fromString("x".repeat(10000) + "\u00e9"));
+        map.put(StringUtils.fromString("min"), Long.MIN_VALUE);
+        map.put(StringUtils.fromString("max"), Long.MAX_VALUE);
+        map.put(StringUtils.fromString("negative"), -1234567890L);
+        map.put(StringUtils.fromString("zero"), 0L);
+        map.put(StringUtils.fromString("float"), -0.0);
+        map.put(StringUtils.fromString("decimal"), new DecimalValue("12.50"));
+        map.put(StringUtils.fromString("boolean"), true);
+        map.put(StringUtils.fromString("nil"), null);
+
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_JSON));
+        for (int i = 0; i < 3000; i++) {
+            array.append((long) i);
+        }
+        array.append(new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_JSON)));
+        array.append(new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_JSON)));
+        map.put(StringUtils.fromString("array"), array);
+
+        assertSameJson(map);
+        assertSameJson(array);
+        assertSameJson(StringUtils.fromString("\u00e9"));
+    }
+
+    @Test
+    public void testSerializeRecord() throws IOException {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("name", new BField(PredefinedTypes.TYPE_STRING, "name", 0));
+        fields.put("caf\u00e9 \"id\"", new BField(PredefinedTypes.TYPE_INT, "caf\u00e9 \"id\"", 0));
+        BRecordType recordType = new BRecordType("Person", new Module("testorg", "test", "1.0.0"), 0, fields,
+                                                 PredefinedTypes.TYPE_JSON, false, 0);
+        MapValueImpl<BString, Object> record = new MapValueImpl<>(recordType);
+        record.put(StringUtils.fromString("name"), StringUtils.fromString("John"));
+        record.put(StringUtils.fromString("caf\u00e9 \"id\""), 10L);
+        record.put(StringUtils.fromString("rest"), StringUtils.fromString("value"));
+
+        Assert.assertEquals(serializeToString(record),
+                            "{\"name\":\"John\", \"caf\u00e9 \\\"id\\\"\":10, \"rest\":\"value\"}");
+        assertSameJson(record);
+
+        // The encoded field names are cached on the record type, and reused by later generators.
+        Function<String, byte[]> encoder = fieldName -> {
+            throw new AssertionError("field name encoded again: " + fieldName);
+        };
+        Map<String, byte[]> encodedFieldNames = recordType.getEncodedJsonFieldNames(encoder);
+        Assert.assertEquals(encodedFieldNames.keySet(), fields.keySet());
+        assertSameJson(record);
+        Assert.assertSame(recordType.getEncodedJsonFieldNames(encoder), encodedFieldNames);
+    }
+
+    private static void assertSameJson(Object json) throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(byteOut, StandardCharsets.UTF_8);
+        gen.serialize(json);
+        gen.flush();
+        Assert.assertEquals(byteOut.toByteArray(), serializeToString(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String serializeToString(Object json) throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
+        gen.serialize(json);
+        gen.flush();
+        return writer.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for {@link MapValueImpl class}.
+ */
+public class MapValueTests {
+
+    private static final int SIZE = 20;
+
+    @Test
+    public void testValueWithoutNativeData() {
+        MapValueImpl<BString, Object> withoutNativeData = createMap();
+        MapValueImpl<BString, Object> withNativeData = createMap();
+        withNativeData.addNativeData("nativeKey", "nativeValue");
+
+        // Reading native data that was never added does not create it.
+        Assert.assertNull(withoutNativeData.getNativeData("nativeKey"));
+        Assert.assertEquals(withNativeData.getNativeData("nativeKey"), "nativeValue");
+
+        for (MapValueImpl<BString, Object> map : List.of(withoutNativeData, withNativeData)) {
+            Assert.assertEquals(map.size(), SIZE);
+            for (long i = 0; i < SIZE; i++) {
+                Assert.assertEquals(map.get(key(i)), i);
+            }
+            Assert.assertEquals(map.put(key(0), -1L), 0L);
+            Assert.assertEquals(map.put(key(SIZE), (long) SIZE), null);
+            Assert.assertEquals(map.get(key(0)), -1L);
+            Assert.assertEquals(map.size(), SIZE + 1);
+            // Native data is not a member of the map, hence iteration only sees the entries in insertion order.
+            assertIterationOrder(map, SIZE + 1);
+        }
+
+        Map<String, Object> nativeDataMap = withoutNativeData.getNativeDataMap();
+        Assert.assertTrue(nativeDataMap.isEmpty());
+        Assert.assertSame(withoutNativeData.getNativeDataMap(), nativeDataMap);
+        withoutNativeData.addNativeData("nativeKey", "otherValue");
+        Assert.assertEquals(nativeDataMap.get("nativeKey"), "otherValue");
+        Assert.assertEquals(withoutNativeData.size(), SIZE + 1);
+    }
+
+    @Test
+    public void testMapWithInitialValues() {
+        BMapInitialValueEntry[] initialValues = new BMapInitialValueEntry[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            initialValues[i] = ValueCreator.createKeyFieldEntry(key(i), (long) i);
+        }
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_INT),
+                                                               initialValues);
+
+        Assert.assertEquals(map.size(), SIZE);
+        Assert.assertNull(map.getNativeData("nativeKey"));
+        assertIterationOrder(map, SIZE);
+    }
+
+    private static MapValueImpl<BString, Object> createMap() {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_INT));
+        for (long i = 0; i < SIZE; i++) {
+            map.put(key(i), i);
+        }
+        return map;
+    }
+
+    private static BString key(long i) {
+        return StringUtils.fromString("key" + i);
+    }
+
+    private static void assertIterationOrder(MapValueImpl<BString, Object> map, int size) {
+        List<BString> expectedKeys = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            expectedKeys.add(key(i));
+        }
+        Assert.assertEquals(new ArrayList<>(map.keySet()), expectedKeys);
+
+        List<Object> iteratedKeys = new ArrayList<>();
+        IteratorValue iterator = map.getIterator();
+        while (iterator.hasNext()) {
+            iteratedKeys.add(((TupleValueImpl) iterator.next()).get(0));
+        }
+        Assert.assertEquals(iteratedKeys, expectedKeys);
+    }
+}
@@ -1,6 +1,9 @@
 package org.ballerinalang.runtime.test;
 
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
+import io.ballerina.runtime.internal.values.RopeStringValue;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -40,4 +43,74 @@ public class StringValueTests {
         Assert.assertEquals(SUBJECT.length(), 16);
     }
 
+    @Test
+    void testUnicodeSubstring() {
+        BString substring = SUBJECT.substring(1, 15);
+        Assert.assertTrue(substring instanceof NonBmpStringValue);
+        Assert.assertEquals(substring.getValue(), UNICODE_STR.substring(1, 17));
+        Assert.assertEquals(substring.length(), 14);
+        Assert.assertEquals(substring.getCodePoint(0), 0x1F6F8);
+        Assert.assertEquals(substring.getCodePoint(13), 0x1F47D);
+        Assert.assertEquals(((NonBmpStringValue) substring).getSurrogates(), new int[]{0, 13});
+
+        substring = SUBJECT.substring(2, 14);
+        Assert.assertFalse(substring instanceof NonBmpStringValue);
+        Assert.assertEquals(substring.getValue(), "mmander Frav");
+    }
+
+    @Test
+    void testUnicodeIndexOf() {
+        Assert.assertEquals(SUBJECT.indexOf(StringUtils.fromString("mm"), 0), Long.valueOf(2));
+        Assert.assertEquals(SUBJECT.indexOf(StringUtils.fromString("r"), 2), Long.valueOf(8));
+        Assert.assertEquals(SUBJECT.indexOf(StringUtils.fromString("r"), 9), Long.valueOf(11));
+        Assert.assertEquals(SUBJECT.indexOf(StringUtils.fromString("\uD83D\uDC7D"), 0), Long.valueOf(14));
+        Assert.assertEquals(SUBJECT.lastIndexOf(StringUtils.fromString("r"), 15), Long.valueOf(15));
+        Assert.assertEquals(SUBJECT.lastIndexOf(StringUtils.fromString("r"), 14), Long.valueOf(11));
+        Assert.assertNull(SUBJECT.indexOf(StringUtils.fromString("x"), 0));
+    }
+
+    @Test
+    void testConcatBmpAndNonBmp() {
+        BString str = StringUtils.fromString("abc").concat(SUBJECT);
+        Assert.assertEquals(str.length(), 19);
+        Assert.assertEquals(str.getCodePoint(4), 0x1F6F8);
+        Assert.assertEquals(str.getCodePoint(17), 0x1F47D);
+        Assert.assertEquals(str.getCodePoint(18), 'r');
+    }
+
+    @Test
+    void testConcatInLoop() {
+        BString str = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            BString part = i % 100 == 0 ? SUBJECT : StringUtils.fromString(Integer.toString(i));
+            str = str.concat(part);
+            expected.append(part.getValue());
+        }
+
+        Assert.assertTrue(str instanceof RopeStringValue);
+        BString flat = StringUtils.fromString(expected.toString());
+        Assert.assertEquals(str.length(), flat.length());
+        Assert.assertEquals(str.getValue(), expected.toString());
+        Assert.assertEquals(str, flat);
+        Assert.assertEquals(str.hashCode(), flat.hashCode());
+        for (int i = 0; i < flat.length(); i += 97) {
+            Assert.assertEquals(str.getCodePoint(i), flat.getCodePoint(i));
+        }
+        Assert.assertEquals(str.substring(0, 17), SUBJECT.concat(StringUtils.fromString("1")));
+    }
+
+    @Test
+    void testConcatToFlattenedRope() {
+        BString str = StringUtils.fromString("");
+        for (int i = 0; i < 100; i++) {
+            str = str.concat(SUBJECT);
+        }
+        String value = str.getValue();
+        BString longer = str.concat(SUBJECT);
+        Assert.assertEquals(longer.getValue(), value + UNICODE_STR);
+        Assert.assertEquals(longer.length(), 101 * 16);
+        Assert.assertEquals(longer.getCodePoint(100 * 16 + 14), 0x1F47D);
+    }
+
 }
@@ -0,0 +1,282 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TableUtils;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for {@link TableValueImpl class}.
+ */
+public class TableValueTests {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString VALUE = StringUtils.fromString("value");
+    private static final BString GRADE = StringUtils.fromString("grade");
+
+    // Long.hashCode folds the upper half of the value into the lower half, hence all of these keys hash to 0.
+    private static final long[] COLLIDING_KEYS = {0L, 0x1_0000_0001L, -1L};
+
+    @Test
+    public void testCollidingKeys() {
+        for (long key : COLLIDING_KEYS) {
+            Assert.assertEquals(TableUtils.hash(key, null), Long.valueOf(0L));
+        }
+
+        TableValueImpl<Long, MapValue<BString, Object>> table = createTable();
+        for (long key : COLLIDING_KEYS) {
+            table.add(createMember(key, key * 10));
+        }
+        table.add(createMember(5L, 50L));
+
+        Assert.assertEquals(table.size(), 4);
+        for (long key : COLLIDING_KEYS) {
+            Assert.assertTrue(table.containsKey(key));
+            Assert.assertEquals(table.get(key).get(VALUE), key * 10);
+        }
+        Assert.assertFalse(table.containsKey(0x1_0000_0000L));
+        assertIterationOrder(table, 0L, 0x1_0000_0001L, -1L, 5L);
+
+        // Putting a member for one of the colliding keys replaces only that member, in place.
+        table.put(-1L, createMember(-1L, 7L));
+        Assert.assertEquals(table.size(), 4);
+        Assert.assertEquals(table.get(-1L).get(VALUE), 7L);
+        Assert.assertEquals(table.get(0L).get(VALUE), 0L);
+        Assert.assertEquals(table.get(0x1_0000_0001L).get(VALUE), 0x1_0000_0001L * 10);
+        assertIterationOrder(table, 0L, 0x1_0000_0001L, -1L, 5L);
+
+        // Removing the middle one of the colliding keys leaves the others reachable.
+        Assert.assertEquals(table.remove(0x1_0000_0001L).get(VALUE), 0x1_0000_0001L * 10);
+        Assert.assertNull(table.remove(0x1_0000_0001L));
+        Assert.assertEquals(table.size(), 3);
+        Assert.assertNull(table.get(0x1_0000_0001L));
+        Assert.assertEquals(table.get(0L).get(VALUE), 0L);
+        Assert.assertEquals(table.get(-1L).get(VALUE), 7L);
+        assertIterationOrder(table, 0L, -1L, 5L);
+
+        // A key added again goes to the end of the iteration order.
+        table.add(createMember(0x1_0000_0001L, 1L));
+        assertIterationOrder(table, 0L, -1L, 5L, 0x1_0000_0001L);
+
+        Assert.assertEquals(table.remove(0L).get(VALUE), 0L);
+        Assert.assertEquals(table.remove(-1L).get(VALUE), 7L);
+        Assert.assertEquals(table.get(0x1_0000_0001L).get(VALUE), 1L);
+        assertIterationOrder(table, 5L, 0x1_0000_0001L);
+    }
+
+    @Test
+    public void testIteratorAfterLastMember() {
+        TableValueImpl<Long, MapValue<BString, Object>> table = createTable();
+        for (long key = 1; key <= 3; key++) {
+            table.add(createMember(key, key * 10));
+        }
+
+        IteratorValue iterator = table.getIterator();
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(((TupleValueImpl) iterator.next()).get(0), 1L);
+        // Removing the member last returned by the iterator does not stop the iteration.
+        table.remove(1L);
+        Assert.assertEquals(((TupleValueImpl) iterator.next()).get(0), 2L);
+        Assert.assertEquals(((TupleValueImpl) iterator.next()).get(0), 3L);
+
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertNull(iterator.next());
+        Assert.assertNull(iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+
+        IteratorValue emptyIterator = createTable().getIterator();
+        Assert.assertFalse(emptyIterator.hasNext());
+        Assert.assertNull(emptyIterator.next());
+    }
+
+    @Test
+    public void testSignedZeroFloatKeys() {
+        BTableType tableType = new BTableType(new BMapType(PredefinedTypes.TYPE_FLOAT), new String[]{"id"}, false);
+        TableValueImpl<Double, MapValue<BString, Object>> table = new TableValueImpl<>(tableType);
+        MapValue<BString, Object> negativeZero = createFloatMember(-0.0);
+        MapValue<BString, Object> positiveZero = createFloatMember(0.0);
+        table.add(negativeZero);
+        table.add(positiveZero);
+
+        // -0.0 and 0.0 are distinct keys, as they are not equal in the runtime, hence neither replaces the other.
+        Assert.assertEquals(table.size(), 2);
+        Assert.assertSame(table.get(-0.0), negativeZero);
+        Assert.assertSame(table.get(0.0), positiveZero);
+        Assert.assertEquals(table.getKeys(), new Double[]{-0.0, 0.0});
+
+        Assert.assertSame(table.remove(-0.0), negativeZero);
+        Assert.assertFalse(table.containsKey(-0.0));
+        Assert.assertSame(table.get(0.0), positiveZero);
+        Assert.assertEquals(table.size(), 1);
+    }
+
+    @Test
+    public void testConcurrentFieldIndexLookups() throws Exception {
+        int rows = 2000;
+        int grades = 50;
+        int threads = 8;
+        BRecordType rowType = createGradeRowType();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // The index is created by whichever lookup comes first, hence the lookups race on a fresh table each time.
+            for (int round = 0; round < 20; round++) {
+                TableValueImpl<Long, MapValue<BString, Object>> table =
+                        new TableValueImpl<>(new BTableType(rowType, new String[]{"id"}, false));
+                for (long id = 0; id < rows; id++) {
+                    table.add(createGradeRow(rowType, id, id % grades));
+                }
+                table.freezeDirect();
+
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<?>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long grade = t % grades;
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        assertGrade(table.getMembersByField("grade", "==", grade), grade, rows / grades);
+                        Assert.assertEquals(table.getMembersByField("grade", "<", 10L).size(), rows / grades * 10);
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFieldIndexLookupsAfterUpdates() {
+        BRecordType rowType = createGradeRowType();
+        TableValueImpl<Long, MapValue<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(rowType, new String[]{"id"}, false));
+        for (long id = 0; id < 100; id++) {
+            table.add(createGradeRow(rowType, id, id % 10));
+        }
+
+        // members of several grades are merged in the iteration order of the table
+        List<MapValue<BString, Object>> members = table.getMembersByField("grade", "<", 2L);
+        Assert.assertEquals(members.size(), 20);
+        for (int i = 0; i < members.size(); i++) {
+            Assert.assertEquals(members.get(i).get(ID), (long) (i / 2 * 10 + i % 2));
+        }
+        // a range matching most of the members is scanned instead
+        Assert.assertNull(table.getMembersByField("grade", ">=", 3L));
+        Assert.assertEquals(table.getMembersByField("grade", ">=", 8L).size(), 20);
+
+        // a replaced member keeps its place in the table and in the index
+        table.put(55L, createGradeRow(rowType, 55, 3));
+        table.remove(3L);
+        List<Object> ids = new ArrayList<>();
+        for (MapValue<BString, Object> member : table.getMembersByField("grade", "==", 3L)) {
+            ids.add(member.get(ID));
+        }
+        Assert.assertEquals(ids, List.of(13L, 23L, 33L, 43L, 53L, 55L, 63L, 73L, 83L, 93L));
+
+        // the index is dropped while the table changes without lookups, and created again by the next lookup
+        for (long id = 100; id < 400; id++) {
+            table.add(createGradeRow(rowType, id, id % 10));
+        }
+        for (long id = 0; id < 100; id++) {
+            table.remove(id);
+        }
+        assertGrade(table.getMembersByField("grade", "==", 7L), 7L, 30);
+    }
+
+    private static BRecordType createGradeRowType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        long flags = SymbolFlags.REQUIRED | SymbolFlags.READONLY;
+        fields.put("id", new BField(PredefinedTypes.TYPE_INT, "id", flags));
+        fields.put("grade", new BField(PredefinedTypes.TYPE_INT, "grade", flags));
+        return new BRecordType("Row", new Module("test", "table_test", "1.0.0"), 0, fields, null, true, 0);
+    }
+
+    private static MapValue<BString, Object> createGradeRow(BRecordType rowType, long id, long grade) {
+        MapValue<BString, Object> row = new MapValueImpl<>(rowType);
+        row.put(ID, id);
+        row.put(GRADE, grade);
+        return row;
+    }
+
+    private static void assertGrade(List<MapValue<BString, Object>> members, long grade, int count) {
+        Assert.assertEquals(members.size(), count);
+        long previousId = -1;
+        for (MapValue<BString, Object> member : members) {
+            Assert.assertEquals(member.get(GRADE), grade);
+            long id = (Long) member.get(ID);
+            Assert.assertTrue(id > previousId, "members are not in the iteration order of the table");
+            previousId = id;
+        }
+    }
+
+    private static TableValueImpl<Long, MapValue<BString, Object>> createTable() {
+        return new TableValueImpl<>(new BTableType(new BMapType(PredefinedTypes.TYPE_INT), new String[]{"id"},
+                false));
+    }
+
+    private static MapValue<BString, Object> createMember(long id, long value) {
+        MapValue<BString, Object> member = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_INT));
+        member.put(ID, id);
+        member.put(VALUE, value);
+        return member;
+    }
+
+    private static MapValue<BString, Object> createFloatMember(double id) {
+        MapValue<BString, Object> member = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_FLOAT));
+        member.put(ID, id);
+        return member;
+    }
+
+    private static void assertIterationOrder(TableValueImpl<Long, MapValue<BString, Object>> table, Long... keys) {
+        List<Object> actualKeys = new ArrayList<>();
+        for (MapValue<BString, Object> member : table.values()) {
+            actualKeys.add(member.get(ID));
+        }
+        Assert.assertEquals(actualKeys.toArray(), keys);
+        Assert.assertEquals(table.getKeys(), keys);
+    }
+}
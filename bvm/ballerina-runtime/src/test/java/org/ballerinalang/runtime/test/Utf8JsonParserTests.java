@@ -0,0 +1,149 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.Utf8JsonParser;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for {@link Utf8JsonParser class}, which has to give the same values and errors as {@link JsonParser}.
+ */
+public class Utf8JsonParserTests {
+
+    @DataProvider(name = "documents")
+    public Object[][] documents() {
+        return new Object[][] {
+                { "{\"a\":1, \"b\":[true, false, null, -0, 1.5, -0.0, \"x\"], \"c\":{}, \"d\":[]}" },
+                { " [\"caf\u00e9 \uD83D\uDE00\", 'single', \"\\u00e9\\n\\\"\\/\", {'k':'v'}] " },
+                { "{\"a\" : { \"b\" : [ 1 , { } ] } , \"a\" : 2 }" },
+                { "9223372036854775807" },
+                { "9223372036854775808" },
+                { "+5" },
+                { "1e3" },
+                { "1.5e3" },
+                { "\"unterminated" },
+                { "{\"a\":1,}" },
+                { "{\"a\":1]" },
+                { "[1 2]" },
+                { "[1,]" },
+                { "{'a':'it\\'s'}" },
+                { "\"\\x\"" },
+                { "tru" },
+                { "null" },
+                { "" },
+                { "\uFEFF{}" },
+                { "[".repeat(2000) + "]".repeat(2000) },
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testParse(String document) {
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        for (JsonUtils.NonStringValueProcessingMode mode : JsonUtils.NonStringValueProcessingMode.values()) {
+            assertSameResult(bytes, mode);
+        }
+    }
+
+    @Test
+    public void testParseMalformedUtf8() {
+        assertSameResult(new byte[]{'"', 'a', (byte) 0xC3, '"'},
+                         JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        assertSameResult(new byte[]{'"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"'},
+                         JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        assertSameResult(new byte[]{'"', (byte) 0xC0, (byte) 0x80, '"'},
+                         JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    @Test
+    public void testParseByteBuffer() {
+        byte[] bytes = "{\"name\":\"Z\u00fcrich\", \"values\":[1, 2]}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        Object expected = JsonUtils.parse(bytes);
+        Assert.assertTrue(TypeChecker.isEqual(JsonUtils.parse(buffer), expected));
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertTrue(TypeChecker.isEqual(JsonUtils.parse(ByteBuffer.wrap(bytes)), expected));
+    }
+
+    @Test(dataProvider = "documents")
+    public void testParseInputStream(String document) {
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        // Streams of unknown size are parsed as they are read, rather than read into memory at once
+        Object expected = null;
+        String expectedError = null;
+        try {
+            expected = JsonUtils.parse(new BufferedInputStream(new ByteArrayInputStream(bytes)), "UTF-8");
+        } catch (BError e) {
+            expectedError = e.getMessage();
+        }
+
+        Object actual = null;
+        String actualError = null;
+        try {
+            actual = JsonUtils.parse(new ByteArrayInputStream(bytes), "UTF-8");
+        } catch (BError e) {
+            actualError = e.getMessage();
+        }
+
+        assertSameResult(actual, actualError, expected, expectedError);
+    }
+
+    private static void assertSameResult(byte[] bytes, JsonUtils.NonStringValueProcessingMode mode) {
+        Object expected = null;
+        String expectedError = null;
+        try {
+            expected = JsonParser.parse(new InputStreamReader(new ByteArrayInputStream(bytes),
+                                                              StandardCharsets.UTF_8), mode);
+        } catch (BError e) {
+            expectedError = e.getMessage();
+        }
+
+        Object actual = null;
+        String actualError = null;
+        try {
+            actual = Utf8JsonParser.parse(bytes, 0, bytes.length, mode);
+        } catch (BError e) {
+            actualError = e.getMessage();
+        }
+
+        assertSameResult(actual, actualError, expected, expectedError);
+    }
+
+    private static void assertSameResult(Object actual, String actualError, Object expected, String expectedError) {
+        Assert.assertEquals(actualError, expectedError);
+        if (!TypeChecker.isEqual(actual, expected)) {
+            // the message is only built on failure, since deeply nested values overflow the stack when printed
+            Assert.fail(actual + " != " + expected);
+        }
+        if (expected != null) {
+            Assert.assertEquals(TypeChecker.getType(actual).getTag(), TypeChecker.getType(expected).getTag());
+        }
+    }
+}
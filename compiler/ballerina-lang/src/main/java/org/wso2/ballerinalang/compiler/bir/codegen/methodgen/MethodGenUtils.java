@@ -48,7 +48,8 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE;
  * @since 2.0.0
  */
 public class MethodGenUtils {
-    static final String FRAMES = "frames";
+    static final String PUSH_FRAME = "pushFrame";
+    static final String POP_FRAME = "popFrame";
     static final String INIT_FUNCTION_SUFFIX = ".<init>";
     static final String STOP_FUNCTION_SUFFIX = ".<stop>";
     static final String START_FUNCTION_SUFFIX = ".<start>";
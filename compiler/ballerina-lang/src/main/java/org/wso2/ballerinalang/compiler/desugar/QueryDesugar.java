@@ -21,6 +21,7 @@ import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.expressions.RecordLiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
@@ -34,11 +35,13 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.BRecordTypeSymbol
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
@@ -168,9 +171,11 @@ import org.wso2.ballerinalang.compiler.tree.types.BLangRecordTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangUnionTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangValueType;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.FieldKind;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -206,6 +211,8 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_TO_XML_FUNCTION = new Name("toXML");
     private static final Name QUERY_ADD_TO_TABLE_FUNCTION = new Name("addToTable");
     private static final Name QUERY_GET_STREAM_FROM_PIPELINE_FUNCTION = new Name("getStreamFromPipeline");
+    private static final Name QUERY_GET_MEMBERS_BY_FIELD_FUNCTION = new Name("getMembersByField");
+    private static final Name QUERY_MARK_PARALLELIZABLE_FUNCTION = new Name("markParallelizable");
     private static final String FRAME_PARAMETER_NAME = "$frame$";
     private static final CompilerContext.Key<QueryDesugar> QUERY_DESUGAR_KEY = new CompilerContext.Key<>();
     private BLangExpression onConflictExpr;
@@ -321,8 +328,17 @@ public class QueryDesugar extends BLangNodeVisitor {
     BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block) {
         this.env = env;
         BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
+        BLangExpression initCollection = initFromClause.collection;
+        // streams are evaluated lazily, hence the members cannot be looked up before the stream is consumed
+        if (resultType.tag != TypeTags.STREAM && clauses.size() > 1 && clauses.get(1).getKind() == NodeKind.WHERE) {
+            initCollection = addIndexedCollection(block, initFromClause, (BLangWhereClause) clauses.get(1));
+        }
         final BLangVariableReference initPipeline = addPipeline(block, initFromClause.pos,
-                initFromClause.collection, resultType);
+                initCollection, resultType);
+        // streams are evaluated lazily, hence the members cannot be processed ahead of the consumer
+        if (resultType.tag != TypeTags.STREAM && isParallelizable(clauses)) {
+            addParallelizableMark(block, initPipeline);
+        }
         BLangVariableReference initFrom = addInputFunction(block, initFromClause);
         addStreamFunction(block, initPipeline, initFrom);
         for (BLangNode clause : clauses.subList(1, clauses.size())) {
@@ -410,6 +426,298 @@ public class QueryDesugar extends BLangNodeVisitor {
                 Lists.of(valueVarRef, typedescExpr), pos);
     }
 
+    /**
+     * Desugar the collection of a fromClause over a table, which is immediately filtered by a whereClause comparing
+     * an immutable int, float, string or boolean field of the member with a literal or a variable, to below and
+     * return a reference to the members. The members are looked up using a secondary index on the field, and the
+     * whereClause is still applied to them.
+     * Type[] members = getMembersByField(collection, "field", "==", value);
+     * Returns the collection as it is if the filter cannot be looked up.
+     *
+     * @param blockStmt   parent block to write to.
+     * @param fromClause  the first fromClause of the query.
+     * @param whereClause the whereClause following the fromClause.
+     * @return the members to iterate.
+     */
+    BLangExpression addIndexedCollection(BLangBlockStmt blockStmt, BLangFromClause fromClause,
+                                         BLangWhereClause whereClause) {
+        BLangExpression collection = fromClause.collection;
+        BLangVariable variable = (BLangVariable) fromClause.variableDefinitionNode.getVariable();
+        if (collection.type.tag != TypeTags.TABLE || variable.getKind() != NodeKind.VARIABLE) {
+            return collection;
+        }
+        BType constraint = ((BTableType) collection.type).constraint;
+        if (constraint.tag != TypeTags.RECORD) {
+            return collection;
+        }
+        BLangBinaryExpr filter = findIndexedFilter(whereClause.expression, variable.symbol, (BRecordType) constraint);
+        if (filter == null) {
+            return collection;
+        }
+
+        OperatorKind operator = filter.opKind;
+        BLangFieldBasedAccess fieldAccess;
+        BLangExpression value;
+        if (isIndexedFieldAccess(filter.lhsExpr, variable.symbol, (BRecordType) constraint)) {
+            fieldAccess = (BLangFieldBasedAccess) filter.lhsExpr;
+            value = filter.rhsExpr;
+        } else {
+            fieldAccess = (BLangFieldBasedAccess) filter.rhsExpr;
+            value = filter.lhsExpr;
+            operator = getFlippedOperator(operator);
+        }
+
+        Location pos = whereClause.pos;
+        BLangExpression valueCopy;
+        if (value.getKind() == NodeKind.LITERAL || value.getKind() == NodeKind.NUMERIC_LITERAL) {
+            valueCopy = ASTBuilderUtil.createLiteral(pos, value.type, ((BLangLiteral) value).value);
+        } else {
+            valueCopy = ASTBuilderUtil.createVariableRef(pos, ((BLangSimpleVarRef) value).symbol);
+        }
+        BLangLiteral fieldName = ASTBuilderUtil.createLiteral(pos, symTable.stringType, fieldAccess.field.value);
+        BLangLiteral operatorValue = ASTBuilderUtil.createLiteral(pos, symTable.stringType, operator.value());
+        return getStreamFunctionVariableRef(blockStmt, QUERY_GET_MEMBERS_BY_FIELD_FUNCTION,
+                new BArrayType(constraint), Lists.of(collection, fieldName, operatorValue,
+                        desugar.addConversionExprIfRequired(valueCopy, symTable.anydataType)), pos);
+    }
+
+    /**
+     * Check whether the let, where and select clauses of a query can be run on more than one member of the collection
+     * at a time. The clauses following the first from clause can only be let, where, select, order by and limit
+     * clauses, and the expressions of the let, where and select clauses can only call isolated functions with
+     * immutable arguments and refer to module level variables which are final.
+     *
+     * @param clauses list of query clauses.
+     * @return whether the clauses can be run in parallel.
+     */
+    private boolean isParallelizable(List<BLangNode> clauses) {
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        BLangVariable variable = (BLangVariable) letVariable.definitionNode.getVariable();
+                        if (!isParallelizable(variable.expr)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case WHERE:
+                    if (!isParallelizable(((BLangWhereClause) clause).expression)) {
+                        return false;
+                    }
+                    break;
+                case SELECT:
+                    if (!isParallelizable(((BLangSelectClause) clause).expression)) {
+                        return false;
+                    }
+                    break;
+                case ORDER_BY:
+                case LIMIT:
+                case ON_CONFLICT:
+                    // These clauses are not run in parallel.
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isParallelizable(BLangExpression expr) {
+        if (expr == null) {
+            return true;
+        }
+        switch (expr.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+            case CONSTANT_REF:
+                return true;
+            case SIMPLE_VARIABLE_REF:
+                BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+                return symbol == null || symbol.owner == null || symbol.owner.tag != SymTag.PACKAGE ||
+                        Symbols.isFlagOn(symbol.flags, Flags.FINAL) || Symbols.isFlagOn(symbol.flags, Flags.CONSTANT);
+            case FIELD_BASED_ACCESS_EXPR:
+                return isParallelizable(((BLangFieldBasedAccess) expr).expr);
+            case INDEX_BASED_ACCESS_EXPR:
+                BLangIndexBasedAccess indexAccessExpr = (BLangIndexBasedAccess) expr;
+                return isParallelizable(indexAccessExpr.expr) && isParallelizable(indexAccessExpr.indexExpr);
+            case BINARY_EXPR:
+                BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+                return isParallelizable(binaryExpr.lhsExpr) && isParallelizable(binaryExpr.rhsExpr);
+            case UNARY_EXPR:
+                return isParallelizable(((BLangUnaryExpr) expr).expr);
+            case GROUP_EXPR:
+                return isParallelizable(((BLangGroupExpr) expr).expression);
+            case TERNARY_EXPR:
+                BLangTernaryExpr ternaryExpr = (BLangTernaryExpr) expr;
+                return isParallelizable(ternaryExpr.expr) && isParallelizable(ternaryExpr.thenExpr) &&
+                        isParallelizable(ternaryExpr.elseExpr);
+            case ELVIS_EXPR:
+                BLangElvisExpr elvisExpr = (BLangElvisExpr) expr;
+                return isParallelizable(elvisExpr.lhsExpr) && isParallelizable(elvisExpr.rhsExpr);
+            case TYPE_CONVERSION_EXPR:
+                return isParallelizable(((BLangTypeConversionExpr) expr).expr);
+            case TYPE_TEST_EXPR:
+                return isParallelizable(((BLangTypeTestExpr) expr).expr);
+            case CHECK_EXPR:
+                return isParallelizable(((BLangCheckedExpr) expr).expr);
+            case CHECK_PANIC_EXPR:
+                return isParallelizable(((BLangCheckPanickedExpr) expr).expr);
+            case NAMED_ARGS_EXPR:
+                return isParallelizable(((BLangNamedArgsExpression) expr).expr);
+            case REST_ARGS_EXPR:
+                return isParallelizable(((BLangRestArgsExpression) expr).expr);
+            case STRING_TEMPLATE_LITERAL:
+                return ((BLangStringTemplateLiteral) expr).exprs.stream().allMatch(this::isParallelizable);
+            case LIST_CONSTRUCTOR_EXPR:
+            case ARRAY_LITERAL_EXPR:
+            case TUPLE_LITERAL_EXPR:
+                return ((BLangListConstructorExpr) expr).exprs.stream().allMatch(this::isParallelizable);
+            case RECORD_LITERAL_EXPR:
+                for (RecordLiteralNode.RecordField field : ((BLangRecordLiteral) expr).fields) {
+                    if (field.isKeyValueField()) {
+                        BLangRecordKeyValueField keyValueField = (BLangRecordKeyValueField) field;
+                        if ((keyValueField.key.computedKey && !isParallelizable(keyValueField.key.expr)) ||
+                                !isParallelizable(keyValueField.valueExpr)) {
+                            return false;
+                        }
+                    } else if (field.getKind() == NodeKind.RECORD_LITERAL_SPREAD_OP) {
+                        if (!isParallelizable(((BLangRecordSpreadOperatorField) field).expr)) {
+                            return false;
+                        }
+                    } else if (!isParallelizable((BLangExpression) field)) {
+                        return false;
+                    }
+                }
+                return true;
+            case INVOCATION:
+                if (expr instanceof BLangInvocation.BLangActionInvocation) {
+                    return false;
+                }
+                BLangInvocation invocation = (BLangInvocation) expr;
+                if (invocation.async || invocation.symbol == null ||
+                        !Symbols.isFlagOn(invocation.symbol.flags, Flags.ISOLATED)) {
+                    return false;
+                }
+                // An isolated function can still mutate the values passed to it, which may be shared by the members.
+                return (invocation.expr == null || isParallelizableArg(invocation.expr)) &&
+                        invocation.requiredArgs.stream().allMatch(this::isParallelizableArg) &&
+                        invocation.restArgs.stream().allMatch(this::isParallelizableArg);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isParallelizableArg(BLangExpression arg) {
+        return isParallelizable(arg) && arg.type != null && types.isAssignable(arg.type, symTable.readonlyType);
+    }
+
+    /**
+     * Desugar to following invocation, which allows the pipeline to run its clauses in parallel.
+     * stream:markParallelizable(pipeline);
+     *
+     * @param blockStmt   parent block to write to.
+     * @param pipelineRef variableReference to pipeline.
+     */
+    private void addParallelizableMark(BLangBlockStmt blockStmt, BLangVariableReference pipelineRef) {
+        BLangInvocation markInvocation = createQueryLibInvocation(QUERY_MARK_PARALLELIZABLE_FUNCTION,
+                Lists.of(pipelineRef), pipelineRef.pos);
+        BLangExpressionStmt stmt = ASTBuilderUtil.createExpressionStmt(pipelineRef.pos, blockStmt);
+        stmt.expr = markInvocation;
+    }
+
+    private BLangBinaryExpr findIndexedFilter(BLangExpression expr, BSymbol memberSymbol, BRecordType recordType) {
+        if (expr.getKind() == NodeKind.GROUP_EXPR) {
+            return findIndexedFilter(((BLangGroupExpr) expr).expression, memberSymbol, recordType);
+        }
+        if (expr.getKind() != NodeKind.BINARY_EXPR) {
+            return null;
+        }
+        BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+        switch (binaryExpr.opKind) {
+            case AND:
+                BLangBinaryExpr filter = findIndexedFilter(binaryExpr.lhsExpr, memberSymbol, recordType);
+                return filter != null ? filter : findIndexedFilter(binaryExpr.rhsExpr, memberSymbol, recordType);
+            case EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+                if (isIndexedFieldAccess(binaryExpr.lhsExpr, memberSymbol, recordType)
+                        && isIndexedValue(binaryExpr.rhsExpr, binaryExpr.lhsExpr.type, memberSymbol)) {
+                    return binaryExpr;
+                }
+                if (isIndexedFieldAccess(binaryExpr.rhsExpr, memberSymbol, recordType)
+                        && isIndexedValue(binaryExpr.lhsExpr, binaryExpr.rhsExpr.type, memberSymbol)) {
+                    return binaryExpr;
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private boolean isIndexedFieldAccess(BLangExpression expr, BSymbol memberSymbol, BRecordType recordType) {
+        if (expr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            return false;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) expr;
+        if (fieldAccess.optionalFieldAccess || fieldAccess.fieldKind != FieldKind.SINGLE
+                || fieldAccess.expr.getKind() != NodeKind.SIMPLE_VARIABLE_REF
+                || ((BLangSimpleVarRef) fieldAccess.expr).symbol != memberSymbol) {
+            return false;
+        }
+        BField field = recordType.fields.get(fieldAccess.field.value);
+        if (field == null) {
+            return false;
+        }
+        // the index is not updated when a field of a member is updated, hence only immutable fields are indexed
+        if (!Symbols.isFlagOn(field.symbol.flags, Flags.READONLY) && !Symbols.isFlagOn(recordType.flags,
+                Flags.READONLY)) {
+            return false;
+        }
+        switch (field.type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isIndexedValue(BLangExpression expr, BType fieldType, BSymbol memberSymbol) {
+        if (expr.type.tag != fieldType.tag) {
+            return false;
+        }
+        switch (expr.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+                return true;
+            case SIMPLE_VARIABLE_REF:
+                BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+                return symbol != memberSymbol && symbol.tag == SymTag.VARIABLE;
+            default:
+                return false;
+        }
+    }
+
+    private OperatorKind getFlippedOperator(OperatorKind operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return OperatorKind.GREATER_THAN;
+            case LESS_EQUAL:
+                return OperatorKind.GREATER_EQUAL;
+            case GREATER_THAN:
+                return OperatorKind.LESS_THAN;
+            case GREATER_EQUAL:
+                return OperatorKind.LESS_EQUAL;
+            default:
+                return operator;
+        }
+    }
+
     /**
      * Desugar inputClause to below and return a reference to created from _StreamFunction.
      * _StreamFunction xsFrom = createFromFunction(function(_Frame frame) returns _Frame|error? {
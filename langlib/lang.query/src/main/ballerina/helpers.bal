@@ -80,6 +80,10 @@ function addStreamFunction(@tainted _StreamPipeline pipeline, @tainted _StreamFu
     pipeline.addStreamFunction(streamFunction);
 }
 
+function markParallelizable(_StreamPipeline pipeline) {
+    pipeline.parallelizable = true;
+}
+
 function getStreamFromPipeline(_StreamPipeline pipeline) returns stream<Type, ErrorType> {
     return pipeline.getStream();
 }
@@ -150,3 +154,99 @@ function consumeStream(stream<Type, ErrorType> strm) returns error? {
         return v;
     }
 }
+
+function getMembersByField(table<map<Type>> tbl, string fieldName, string operator, anydata value)
+        returns Type[] = @java:Method {
+    'class: "org.ballerinalang.langlib.query.GetMembersByField",
+    name: "getMembersByField"
+} external;
+
+function setFusedFrameReuse(_FusedFunction fusedFunc, boolean reuse) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "setFrameReuse"
+} external;
+
+function nextFusedListFrame(_FusedFunction fusedFunc) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "nextListFrame"
+} external;
+
+function getQueryParallelism() returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "getParallelism"
+} external;
+
+function startFusedChunks(_FusedFunction fusedFunc) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "startChunks"
+} external;
+
+function endFusedChunk(_FusedFunction fusedFunc, int chunkIndex) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "endChunk"
+} external;
+
+function isFusedChunkCancelled(_FusedFunction fusedFunc, int chunkIndex) returns boolean = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "isChunkCancelled"
+} external;
+
+function resetFused(_FusedFunction fusedFunc) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "reset"
+} external;
+
+function addJoinFrame(_StreamFunction joinFunc, any key, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinStreamFunction",
+    name: "addFrame"
+} external;
+
+function probeInnerJoin(_StreamFunction joinFunc, any key, _Frame lhsFrame) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinStreamFunction",
+    name: "probeInnerJoin"
+} external;
+
+function probeOuterJoin(_StreamFunction joinFunc, any key, _Frame lhsFrame) returns _Frame = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinStreamFunction",
+    name: "probeOuterJoin"
+} external;
+
+function nextJoinedFrame(_StreamFunction joinFunc) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinStreamFunction",
+    name: "nextJoinedFrame"
+} external;
+
+function resetJoin(_StreamFunction joinFunc) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinStreamFunction",
+    name: "reset"
+} external;
+
+function setOrderByLimit(_OrderByFunction orderByFunc, int limitValue) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "setLimit"
+} external;
+
+function addOrderByFrame(_OrderByFunction orderByFunc, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "addFrame"
+} external;
+
+function orderFrames(_OrderByFunction orderByFunc) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "order"
+} external;
+
+function isOrderByOrdered(_OrderByFunction orderByFunc) returns boolean = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "isOrdered"
+} external;
+
+function nextOrderedFrame(_OrderByFunction orderByFunc) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "nextFrame"
+} external;
+
+function resetOrderBy(_OrderByFunction orderByFunc) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.OrderByStreamFunction",
+    name: "reset"
+} external;
@@ -63,9 +63,24 @@ type _Frame record {|
     (any|error|())...;
 |};
 
+# The frames produced from a range of the members of a collection by clauses run in parallel.
+type _FrameChunk record {|
+    # The frames of the members which were not filtered out, in the order of the members
+    _Frame[] frames;
+    # Whether a clause returned an error or nil, which ends the query
+    boolean ended = false;
+    # The error or nil which ended the query
+    error? result = ();
+|};
+
+# The least number of members processed by a strand when the clauses of a query are run in parallel
+const int MIN_CHUNK_SIZE = 1024;
+
 class _StreamPipeline {
     _StreamFunction streamFunction;
     typedesc<Type> resType;
+    # Whether the clauses of the query only call isolated functions, so that they can be run in parallel
+    boolean parallelizable = false;
 
     function init(
             Type[]|map<Type>|record{}|string|xml|table<map<Type>>|stream<Type, ErrorType>|_Iterable collection,
@@ -89,11 +104,34 @@ class _StreamPipeline {
 
     function addStreamFunction(_StreamFunction streamFunction) {
         _StreamFunction existingFunc = self.streamFunction;
+        // The clauses following the first from clause are fused into a single native stage, until a clause which
+        // cannot be fused is added.
+        if (existingFunc is _InitFunction && streamFunction is _InputFunction) {
+            existingFunc = new _FusedFunction(existingFunc);
+            self.streamFunction = existingFunc;
+        }
+        if (existingFunc is _FusedFunction && existingFunc.fuse(streamFunction)) {
+            return;
+        }
+        if (existingFunc is _OrderByFunction && streamFunction is _LimitFunction) {
+            // Only the frames within the limit have to be ordered.
+            existingFunc.limitFunc = streamFunction.limitFunc;
+        }
         streamFunction.prevFunc = existingFunc;
         self.streamFunction = streamFunction;
     }
 
     public function getStream() returns stream <Type, ErrorType> {
+        _StreamFunction sf = self.streamFunction;
+        if (sf is _FusedFunction) {
+            if (self.parallelizable && getQueryParallelism() > 1) {
+                // The frames of the chunks are all held until they are read, hence each has to be a new frame.
+                sf.parallel = true;
+            } else {
+                // Only the selected value of a frame is read by the stream, so the frame can be reused.
+                setFusedFrameReuse(sf, true);
+            }
+        }
         IterHelper itrObj = new (self, self.resType);
         var strm = internal:construct(self.resType, itrObj);
         return strm;
@@ -157,6 +195,222 @@ class _InitFunction {
     }
 }
 
+class _FusedFunction {
+    *_StreamFunction;
+    _InitFunction initFunc;
+    # The stream functions of the fused clauses, in the order in which their clause functions are called
+    _StreamFunction[] stages = [];
+    # Whether the collection is a list, whose members are placed in frames natively
+    boolean listIteration;
+    # Whether the clauses are to be run over chunks of the collection on strands which may run in parallel
+    boolean parallel = false;
+    _Frame[]? parallelFrames = ();
+    int parallelIndex = 0;
+    error? parallelResult = ();
+
+    # Runs the input, let, where, select, do and limit clauses that follow the first from clause in one loop;
+    # from var person in personList
+    # where person.age >= 70
+    # select person.name
+    #   frame {value: personList[x], person: personList[x], $value$: personList[x].name}
+    function init(_InitFunction initFunc) {
+        self.prevFunc = ();
+        self.initFunc = initFunc;
+        self.listIteration = initFunc.collection is Type[];
+    }
+
+    public function process() returns _Frame|error? {
+        if (self.parallel && self.parallelFrames is ()) {
+            // Falls back to processing the members one by one if the clauses cannot be run in parallel.
+            self.parallel = self.processInParallel();
+        }
+        _Frame[]? parallelFrames = self.parallelFrames;
+        if (parallelFrames is _Frame[]) {
+            if (self.parallelIndex < parallelFrames.length()) {
+                _Frame f = parallelFrames[self.parallelIndex];
+                self.parallelIndex += 1;
+                return f;
+            }
+            return self.parallelResult;
+        }
+
+        _InitFunction initFunc = self.initFunc;
+        _Frame|error? pFrame = self.nextFrame(initFunc);
+        while (pFrame is _Frame) {
+            _Frame|error|boolean? cFrame = self.processStages(pFrame);
+            if (cFrame is boolean) {
+                // The frame is filtered out, move to the next member
+                pFrame = self.nextFrame(initFunc);
+            } else {
+                return cFrame;
+            }
+        }
+        return pFrame;
+    }
+
+    public function reset() {
+        _InitFunction initFunc = self.initFunc;
+        initFunc.reset();
+        resetFused(self);
+        self.parallelFrames = ();
+        self.parallelIndex = 0;
+        self.parallelResult = ();
+        foreach _StreamFunction sf in self.stages {
+            if (sf is _LimitFunction) {
+                sf.count = 0;
+            }
+        }
+    }
+
+    # Adds the clause of the given stream function to the fused clauses.
+    # + return - `true` if the clause is fused, `false` if it has to be processed by the stream function
+    function fuse(_StreamFunction streamFunction) returns boolean {
+        if (streamFunction is _InputFunction|_LetFunction|_SelectFunction|_FilterFunction|_DoFunction|_LimitFunction) {
+            lang_array:push(self.stages, streamFunction);
+            return true;
+        }
+        return false;
+    }
+
+    # Runs the fused clauses over chunks of a list or table, each on a strand which may run in parallel with the
+    # others. The chunks are waited for in the order of the members. A chunk which ends the query cancels the chunks
+    # following it, and their frames are dropped, as they are not reached when the members are processed one by one.
+    # + return - `false` if the clauses cannot be run in parallel
+    function processInParallel() returns boolean {
+        foreach _StreamFunction sf in self.stages {
+            if (sf is _DoFunction|_LimitFunction) {
+                // Do and limit clauses have to see the frames in order.
+                return false;
+            }
+        }
+        _InitFunction initFunc = self.initFunc;
+        var collection = initFunc.collection;
+        Type[] members;
+        if (collection is Type[]) {
+            members = collection;
+        } else if (collection is table<map<Type>>) {
+            members = lang_table:toArray(collection);
+        } else {
+            return false;
+        }
+        int chunkCount = members.length() / MIN_CHUNK_SIZE;
+        int parallelism = getQueryParallelism();
+        if (chunkCount > parallelism) {
+            chunkCount = parallelism;
+        }
+        if (chunkCount < 2) {
+            return false;
+        }
+
+        int chunkSize = (members.length() + chunkCount - 1) / chunkCount;
+        startFusedChunks(self);
+        future<_FrameChunk>[] chunks = [];
+        int fromIndex = 0;
+        while (fromIndex < members.length()) {
+            int toIndex = fromIndex + chunkSize;
+            if (toIndex > members.length()) {
+                toIndex = members.length();
+            }
+            future<_FrameChunk> chunk = @strand {thread: "any"} start self.processChunk(members, chunks.length(),
+                                                                                         fromIndex, toIndex);
+            lang_array:push(chunks, chunk);
+            fromIndex = toIndex;
+        }
+
+        _Frame[] frames = [];
+        error? result = ();
+        foreach future<_FrameChunk> chunk in chunks {
+            _FrameChunk frameChunk = wait chunk;
+            lang_array:push(frames, ...frameChunk.frames);
+            if (frameChunk.ended) {
+                result = frameChunk.result;
+                break;
+            }
+        }
+        self.parallelFrames = frames;
+        self.parallelIndex = 0;
+        self.parallelResult = result;
+        return true;
+    }
+
+    # Passes the members in the given range of the collection through the fused clauses, which are only map and
+    # filter clauses calling isolated functions.
+    # Stops early if a chunk before it has ended the query.
+    # + return - the frames of the chunk, and the error or nil which ended the query within the chunk if any
+    function processChunk(Type[] members, int chunkIndex, int fromIndex, int toIndex) returns _FrameChunk {
+        _FrameChunk chunk = {frames: []};
+        int i = fromIndex;
+        while (i < toIndex && !isFusedChunkCancelled(self, chunkIndex)) {
+            // Each member gets a new frame, as the frames of the chunk are returned together.
+            _Frame frame = {"value": members[i]};
+            _Frame|error|boolean? cFrame = self.processStages(frame);
+            if (cFrame is _Frame) {
+                lang_array:push(chunk.frames, cFrame);
+            } else if (cFrame is error?) {
+                endFusedChunk(self, chunkIndex);
+                chunk.ended = true;
+                chunk.result = cFrame;
+                return chunk;
+            }
+            i += 1;
+        }
+        return chunk;
+    }
+
+    function nextFrame(_InitFunction initFunc) returns _Frame|error? {
+        if (self.listIteration) {
+            // The frame of the previous member can be reused for a list.
+            return nextFusedListFrame(self);
+        }
+        return initFunc.process();
+    }
+
+    # Passes a frame through the fused clauses. The clause functions are called from here rather than natively,
+    # so that a clause which calls a function that has to wait yields the strand as usual.
+    # + return - the resulting frame, an error or nil which ends the query, or `false` if the frame is filtered out
+    function processStages(_Frame frame) returns _Frame|error|boolean? {
+        _Frame result = frame;
+        foreach _StreamFunction sf in self.stages {
+            _Frame|error? cFrame = result;
+            if (sf is _InputFunction) {
+                function (_Frame _frame) returns _Frame|error? f = sf.inputFunc;
+                cFrame = f(result);
+            } else if (sf is _LetFunction) {
+                function (_Frame _frame) returns _Frame|error? f = sf.letFunc;
+                cFrame = f(result);
+            } else if (sf is _SelectFunction) {
+                function (_Frame _frame) returns _Frame|error? f = sf.selectFunc;
+                cFrame = f(result);
+            } else if (sf is _FilterFunction) {
+                function (_Frame _frame) returns boolean filterFunc = sf.filterFunc;
+                if (!filterFunc(result)) {
+                    return false;
+                }
+            } else if (sf is _DoFunction) {
+                function (_Frame _frame) f = sf.doFunc;
+                f(result);
+            } else if (sf is _LimitFunction) {
+                function (_Frame _frame) returns int limitFunc = sf.limitFunc;
+                int lmt = limitFunc(result);
+                if (lmt < 1) {
+                    panic error("Invalid limit", message = "limit cannot be < 1.");
+                }
+                if (sf.count >= lmt) {
+                    return ();
+                }
+                sf.count += 1;
+            }
+            if (cFrame is _Frame) {
+                result = cFrame;
+            } else {
+                // Either an error or the end of the query
+                return cFrame;
+            }
+        }
+        return result;
+    }
+}
+
 class _InputFunction {
     *_StreamFunction;
 
@@ -312,9 +566,6 @@ class _InnerJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
-    _Frame|error? lhsFrame;
 
     function init(
             _StreamPipeline pipelineToJoin,
@@ -322,12 +573,10 @@ class _InnerJoinFunction {
             function (_Frame _frame) returns any rhsKeyFunction) {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
-        self.rhsCandidates = ();
         self.prevFunc = ();
-        self.lhsFrame = ();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            addJoinFrame(self, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -337,46 +586,27 @@ class _InnerJoinFunction {
     # join var ... in streamA join var ... in streamB
     # + return - merged two frames { ...frameA, ...frameB }
     public function process() returns _Frame|error? {
-        function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
-        _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
-        _Frame|error? lhsFrame = self.lhsFrame;
-        string lhsKey = "";
-
-        if (lhsFrame is ()) {
-            lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
+        _Frame? joinedFrame = nextJoinedFrame(self);
+        if (joinedFrame is _Frame) {
+            return joinedFrame;
         }
-
-        if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
-            }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
-            } else {
-                // Move to next lhs frame
-                self.lhsFrame = ();
-                self.rhsCandidates = ();
-                return self.process();
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
+        _Frame|error? lhsFrame = pf.process();
+        // Move to the next frame without recursing, as most of the frames may not have a match.
+        while (lhsFrame is _Frame) {
+            _Frame? firstFrame = probeInnerJoin(self, lhsKF(lhsFrame), lhsFrame);
+            if (firstFrame is _Frame) {
+                return firstFrame;
             }
+            lhsFrame = pf.process();
         }
         return lhsFrame;
     }
 
     public function reset() {
         // Reset the state of lhsFrame
-        self.lhsFrame = ();
-        self.rhsCandidates = ();
+        resetJoin(self);
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -388,9 +618,6 @@ class _OuterJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
-    _Frame|error? lhsFrame;
     _Frame nilFrame;
 
     function init(
@@ -399,13 +626,11 @@ class _OuterJoinFunction {
             function (_Frame _frame) returns any rhsKeyFunction, _Frame nilFrame) {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
-        self.rhsCandidates = ();
         self.prevFunc = ();
-        self.lhsFrame = ();
         self.nilFrame = nilFrame;
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            addJoinFrame(self, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -415,57 +640,23 @@ class _OuterJoinFunction {
     # outer join var ... in streamA join var ... in streamB
     # + return - merged two frames { ...frameA, ...frameB }
     public function process() returns _Frame|error? {
-        function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
-        _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
-        _Frame|error? lhsFrame = self.lhsFrame;
-        _Frame nilFrame = self.nilFrame;
-        string lhsKey = "";
-
-        if (lhsFrame is ()) {
-            lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
+        _Frame? joinedFrame = nextJoinedFrame(self);
+        if (joinedFrame is _Frame) {
+            return joinedFrame;
         }
-
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
+        _Frame|error? lhsFrame = pf.process();
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
-            }
-
-            if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
-                } else {
-                    // Move to next lhs frame in next iteration.
-                    self.rhsCandidates = ();
-                    self.lhsFrame = ();
-                }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
-            } else {
-                // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                self.lhsFrame = ();
-                return joinedFrame;
-            }
+            // A frame without a match is joined with the nil frame.
+            return probeOuterJoin(self, lhsKF(lhsFrame), lhsFrame);
         }
         return lhsFrame;
     }
 
     public function reset() {
         // Reset the state of lhsFrame
-        self.lhsFrame = ();
-        self.rhsCandidates = ();
+        resetJoin(self);
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -510,43 +701,41 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function(_Frame _frame) orderKeyFunc;
-    stream<_Frame>? orderedStream;
+    # The limit function of a limit clause which follows the order by clause
+    (function (_Frame _frame) returns int)? limitFunc = ();
 
     function init(function(_Frame _frame) orderKeyFunc) {
         self.orderKeyFunc = orderKeyFunc;
-        self.orderedStream = ();
         self.prevFunc = ();
     }
 
     public function process() returns _Frame|error? {
-        if (self.orderedStream is ()) {
-            _StreamFunction pf = <_StreamFunction> self.prevFunc;
+        if (!isOrderByOrdered(self)) {
+            _StreamFunction pf = <_StreamFunction>self.prevFunc;
             function(_Frame _frame) orderKeyFunc = self.orderKeyFunc;
+            (function (_Frame _frame) returns int)? limitFunc = self.limitFunc;
             _Frame|error? f = pf.process();
-            boolean[] directions = [];
-            _OrderTreeNode oTree = new;
-            // consume all events for ordering.
+            if (f is _Frame && limitFunc is function (_Frame _frame) returns int) {
+                // The limit expression does not depend on the frame, hence only the frames within the limit are kept.
+                setOrderByLimit(self, limitFunc(f));
+            }
+            // consume all frames for ordering.
             while (f is _Frame) {
                 orderKeyFunc(f);
-                oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+                addOrderByFrame(self, f);
                 f = pf.process();
             }
             if (f is error) {
+                resetOrderBy(self);
                 return f;
             }
-            self.orderedStream = oTree.get().toStream();
+            orderFrames(self);
         }
-
-        stream<_Frame> s = <stream<_Frame>>self.orderedStream;
-        record {|_Frame value;|}|error? f = s.next();
-        if (f is record {|_Frame value;|}) {
-            return f.value;
-        }
-        return f;
+        return nextOrderedFrame(self);
     }
 
     public function reset() {
-        self.orderedStream = ();
+        resetOrderBy(self);
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -665,38 +854,6 @@ class _LimitFunction {
 
 // ---- helper types ----
 
-class _FrameMultiMap {
-    map<_Frame[]> m;
-
-    function init() {
-        self.m = {};
-    }
-
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
-        } else {
-            self.m[k] = [v];
-        }
-    }
-
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
-        }
-    }
-
-}
-
 class IterHelper {
     public _StreamPipeline pipeline;
     public typedesc<Type> outputType;
@@ -717,107 +874,3 @@ class IterHelper {
         }
     }
 }
-
-class _OrderTreeNode {
-    any? key = ();
-    _Frame[]? frames = ();
-    lang_array:SortDirection nodesDirection = lang_array:ASCENDING;
-    map<_OrderTreeNode> nodes = {};
-    any[] keys = [];
-
-    # adds a _Frame into the _OrderTreeNode tree structure.
-    function add(_Frame f, any[] directions, any[] keys) {
-        if (keys.length() == 0 && directions.length() == 0) {
-            _Frame[]? currentFrames = self.frames;
-            if (currentFrames is _Frame[]) {
-                currentFrames.push(f);
-            } else {
-                self.frames = [f];
-            }
-
-        } else {
-            if(!<boolean>directions.shift()) {
-                self.nodesDirection = lang_array:DESCENDING;
-            }
-            any key = keys.shift();
-            string keyStr = key.toString();
-            _OrderTreeNode o;
-            if (self.nodes.hasKey(keyStr)) {
-                o = self.nodes.get(keyStr);
-            } else {
-                o = new;
-                o.key = key;
-                self.nodes[keyStr] = o;
-                self.keys.push(key);
-            }
-            o.add(f, directions, keys);
-        }
-    }
-
-    # do a pre-order tree traversal and return collected leaf frames as orderedFrames.
-    # + return -  ordered frames.
-    function get() returns _Frame[] {
-        _Frame[] orderedFrames = [];
-        if (self.frames is _Frame[]) {
-            _Frame[] frames = <_Frame[]>self.frames;
-            int l = frames.length();
-            int i = 0;
-            while (i < l) {
-                orderedFrames.push(frames[i]);
-                i += 1;
-            }
-        } else {
-            any[] keys = self.getSortedArray(self.keys);
-            foreach any k in keys {
-                _OrderTreeNode o = self.nodes.get(k.toString());
-                _Frame[] frms = o.get();
-                foreach _Frame f in frms {
-                    orderedFrames.push(f);
-                }
-            }
-        }
-        return orderedFrames;
-    }
-
-    # sorting is not supported for any[], therefore have to resolve runtime type and sort it.
-    # + return -  ordered array.
-    function getSortedArray(any[] arr) returns any[] {
-        if (arr.length() > 0) {
-            int i = 0;
-            while (i < arr.length()) {
-                if (arr[i] is ()) {
-                    i += 1;
-                    continue;
-                } else if (arr[i] is boolean) {
-                    boolean?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is int) {
-                    int?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is float) {
-                    float?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is decimal) {
-                    decimal?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is string) {
-                    string?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                }
-            }
-        }
-        return arr;
-    }
-
-    # copy every element of source array into empty target array.
-    function copyArray(any[] 'source, any[] 'target) {
-        foreach var v in 'source {
-            'target.push(v);
-        }
-    }
-}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BIterator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Native helpers of the lang.query:_FusedFunction stream function.
+ * <p>
+ * The fused function runs the input, let, where, select, do and limit clauses that directly follow the first from
+ * clause of a query in a single loop, without the chain of process calls of the stream function objects. The loop
+ * and the calls to the clause functions are in Ballerina, so that a clause can call a function which yields. The
+ * members of a list are placed in frames here, which lets the last fused function reuse a single frame.
+ * <p>
+ * When the query parallelism is greater than one, the fused input, let, where and select clauses of queries which
+ * the compiler marks as parallelizable are run over chunks of a list or table, on up to that many strands which the
+ * scheduler may run in parallel. The parallelism is read once from the BALLERINA_QUERY_PARALLELISM system variable.
+ * A chunk which ends the query cancels the chunks which follow it, as their frames are not reached.
+ *
+ * @since 2.0.0
+ */
+public class FusedStreamFunction {
+
+    private static final String STATE = "&fusedState&";
+    private static final String FRAME = "_Frame";
+    private static final BString INIT_FUNC = StringUtils.fromString("initFunc");
+    private static final BString COLLECTION = StringUtils.fromString("collection");
+    private static final BString VALUE = StringUtils.fromString("value");
+
+    private static final PrintStream ERR = System.err;
+    private static final long PARALLELISM = readParallelism();
+
+    public static void setFrameReuse(BObject fusedFunc, boolean reuse) {
+        getState(fusedFunc).reuseFrame = reuse;
+    }
+
+    public static long getParallelism() {
+        return PARALLELISM;
+    }
+
+    /**
+     * Prepares the state of a fused function before its chunks are started, so that the strands of the chunks only
+     * read it.
+     */
+    public static void startChunks(BObject fusedFunc) {
+        getState(fusedFunc).endedChunk.set(Long.MAX_VALUE);
+    }
+
+    /**
+     * Records that a chunk ended the query, which cancels the chunks that follow it.
+     */
+    public static void endChunk(BObject fusedFunc, long chunkIndex) {
+        getState(fusedFunc).endedChunk.accumulateAndGet(chunkIndex, Math::min);
+    }
+
+    public static boolean isChunkCancelled(BObject fusedFunc, long chunkIndex) {
+        return getState(fusedFunc).endedChunk.get() < chunkIndex;
+    }
+
+    /**
+     * Places the next member of a list collection in a frame. No Ballerina code is called, hence this never yields.
+     *
+     * @return the frame, or null if the list has no more members
+     */
+    public static Object nextListFrame(BObject fusedFunc) {
+        State state = getState(fusedFunc);
+        BIterator<?> iterator = state.arrayIterator;
+        if (iterator == null) {
+            BObject initFunc = (BObject) fusedFunc.get(INIT_FUNC);
+            iterator = ((BArray) initFunc.get(COLLECTION)).getIterator();
+            state.arrayIterator = iterator;
+        }
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        BMap<BString, Object> frame = state.frame;
+        if (frame == null || !state.reuseFrame) {
+            frame = ValueCreator.createRecordValue(fusedFunc.getType().getPackage(), FRAME);
+            state.frame = frame;
+        }
+        frame.put(VALUE, iterator.next());
+        return frame;
+    }
+
+    public static void reset(BObject fusedFunc) {
+        State state = getState(fusedFunc);
+        state.arrayIterator = null;
+        state.frame = null;
+    }
+
+    private static long readParallelism() {
+        String parallelismConf = System.getenv(RuntimeConstants.BALLERINA_QUERY_PARALLELISM_ENV_VAR);
+        if (parallelismConf == null) {
+            return 1;
+        }
+        try {
+            return Long.parseLong(parallelismConf.trim());
+        } catch (NumberFormatException e) {
+            // Log and continue without running queries in parallel
+            ERR.println("ballerina: error occurred while reading system variable:" +
+                                RuntimeConstants.BALLERINA_QUERY_PARALLELISM_ENV_VAR + ", " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static State getState(BObject fusedFunc) {
+        State state = (State) fusedFunc.getNativeData(STATE);
+        if (state == null) {
+            state = new State();
+            fusedFunc.addNativeData(STATE, state);
+        }
+        return state;
+    }
+
+    /**
+     * The iteration state of the list collection of a fused function.
+     */
+    private static class State {
+
+        private BIterator<?> arrayIterator;
+        private BMap<BString, Object> frame;
+        private boolean reuseFrame;
+        private final AtomicLong endedChunk = new AtomicLong(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+
+import java.util.Collection;
+
+/**
+ * Implementation of lang.query:getMembersByField(table&lt;map&lt;Type&gt;&gt;, string, string, anydata).
+ * <p>
+ * Used by query expressions which filter a table on a field, to iterate only the members that can satisfy the
+ * filter. The filter is still applied to the returned members.
+ *
+ * @since 2.0.0
+ */
+public class GetMembersByField {
+
+    public static BArray getMembersByField(BTable<?, ?> tbl, BString fieldName, BString operator, Object value) {
+        Collection<?> members = null;
+        if (tbl instanceof TableValueImpl) {
+            members = ((TableValueImpl<?, ?>) tbl).getMembersByField(fieldName.getValue(), operator.getValue(),
+                                                                    value);
+        }
+        if (members == null) {
+            members = tbl.values();
+        }
+        TableType tableType = (TableType) tbl.getType();
+        return ValueCreator.createArrayValue(members.toArray(),
+                                             TypeCreator.createArrayType(tableType.getConstrainedType()));
+    }
+}
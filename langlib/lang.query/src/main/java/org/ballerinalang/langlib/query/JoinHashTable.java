@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TableUtils;
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multimap from the key of a join clause to the frames with that key, in the order they were added.
+ * <p>
+ * Keys are compared with the deep equality of the runtime, and hashed on their shape. Therefore, probing a key does
+ * not create a string representation of it as the {@code toString} based multimap did.
+ * <p>
+ * The deep equality converts a number on the right hand side to the type of the number on the left hand side, so an
+ * int key would equal any float key with the same integral part. Keys are therefore only equal when they are equal
+ * in both directions, which requires numbers of the same basic type, as the string representations of the keys did.
+ *
+ * @since 2.0.0
+ */
+class JoinHashTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Bucket[] buckets = new Bucket[INITIAL_CAPACITY];
+    private int size;
+
+    void add(Object key, BMap<BString, Object> frame) {
+        int hash = hash(key);
+        int index = hash & (buckets.length - 1);
+        for (Bucket bucket = buckets[index]; bucket != null; bucket = bucket.next) {
+            if (bucket.hash == hash && isKeyEqual(bucket.key, key)) {
+                bucket.frames.add(frame);
+                return;
+            }
+        }
+        buckets[index] = new Bucket(key, hash, frame, buckets[index]);
+        if (++size > buckets.length * 3 / 4) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the frames added with a key equal to the given key, or null if there are none.
+     */
+    List<BMap<BString, Object>> get(Object key) {
+        int hash = hash(key);
+        for (Bucket bucket = buckets[hash & (buckets.length - 1)]; bucket != null; bucket = bucket.next) {
+            if (bucket.hash == hash && isKeyEqual(bucket.key, key)) {
+                return bucket.frames;
+            }
+        }
+        return null;
+    }
+
+    private void resize() {
+        Bucket[] oldBuckets = buckets;
+        buckets = new Bucket[oldBuckets.length * 2];
+        for (Bucket bucket : oldBuckets) {
+            while (bucket != null) {
+                Bucket next = bucket.next;
+                int index = bucket.hash & (buckets.length - 1);
+                bucket.next = buckets[index];
+                buckets[index] = bucket;
+                bucket = next;
+            }
+        }
+    }
+
+    private static boolean isKeyEqual(Object key, Object otherKey) {
+        return TypeChecker.isEqual(key, otherKey) && TypeChecker.isEqual(otherKey, key);
+    }
+
+    private static int hash(Object key) {
+        long hash = TableUtils.hash(key, null);
+        int h = (int) (hash ^ (hash >>> 32));
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The frames added with keys equal to the key of the bucket.
+     */
+    private static class Bucket {
+
+        private final Object key;
+        private final int hash;
+        private final List<BMap<BString, Object>> frames;
+        private Bucket next;
+
+        private Bucket(Object key, int hash, BMap<BString, Object> frame, Bucket next) {
+            this.key = key;
+            this.hash = hash;
+            this.frames = new ArrayList<>(Arrays.asList(frame));
+            this.next = next;
+        }
+    }
+}
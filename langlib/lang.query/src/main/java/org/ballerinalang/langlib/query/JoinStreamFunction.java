@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native implementation of the lang.query:_InnerJoinFunction and lang.query:_OuterJoinFunction stream functions.
+ * <p>
+ * The frames of the joined collection are added to a {@link JoinHashTable} on the value of their key. Each frame of
+ * the previous stream function is then probed with the value of its key, and joined with every matching frame. The
+ * previous stream function and the key functions are called from Ballerina, hence nothing here yields.
+ *
+ * @since 2.0.0
+ */
+public class JoinStreamFunction {
+
+    private static final String STATE = "&joinState&";
+    private static final String FRAME = "_Frame";
+    private static final BString NIL_FRAME = StringUtils.fromString("nilFrame");
+
+    public static void addFrame(BObject joinFunc, Object key, BMap<BString, Object> frame) {
+        getState(joinFunc).table.add(key, frame);
+    }
+
+    /**
+     * Looks up the joined frames which match the key of a frame of the previous stream function.
+     *
+     * @return the first joined frame, or null if no frame matches
+     */
+    public static Object probeInnerJoin(BObject joinFunc, Object key, BMap<BString, Object> lhsFrame) {
+        State state = getState(joinFunc);
+        List<BMap<BString, Object>> candidates = state.table.get(key);
+        if (candidates == null) {
+            return null;
+        }
+        state.lhsFrame = lhsFrame;
+        state.candidates = candidates;
+        state.index = 0;
+        return nextJoinedFrame(joinFunc);
+    }
+
+    /**
+     * Looks up the joined frames which match the key of a frame of the previous stream function.
+     *
+     * @return the first joined frame, or the frame joined with the nil frame if no frame matches
+     */
+    @SuppressWarnings("unchecked")
+    public static BMap<BString, Object> probeOuterJoin(BObject joinFunc, Object key, BMap<BString, Object> lhsFrame) {
+        Object joinedFrame = probeInnerJoin(joinFunc, key, lhsFrame);
+        if (joinedFrame == null) {
+            return join(joinFunc.getType().getPackage(), lhsFrame, (BMap<BString, Object>) joinFunc.get(NIL_FRAME));
+        }
+        return (BMap<BString, Object>) joinedFrame;
+    }
+
+    /**
+     * Joins the frame being probed with its next match.
+     *
+     * @return the joined frame, or null if the frame has no more matches
+     */
+    public static Object nextJoinedFrame(BObject joinFunc) {
+        State state = getState(joinFunc);
+        List<BMap<BString, Object>> candidates = state.candidates;
+        if (candidates == null) {
+            return null;
+        }
+        BMap<BString, Object> lhsFrame = state.lhsFrame;
+        BMap<BString, Object> rhsFrame = candidates.get(state.index++);
+        if (state.index == candidates.size()) {
+            state.lhsFrame = null;
+            state.candidates = null;
+        }
+        return join(joinFunc.getType().getPackage(), lhsFrame, rhsFrame);
+    }
+
+    public static void reset(BObject joinFunc) {
+        State state = getState(joinFunc);
+        state.lhsFrame = null;
+        state.candidates = null;
+    }
+
+    private static BMap<BString, Object> join(Module module, BMap<BString, Object> lhsFrame,
+                                              BMap<BString, Object> rhsFrame) {
+        BMap<BString, Object> joinedFrame = ValueCreator.createRecordValue(module, FRAME);
+        for (Map.Entry<BString, Object> entry : lhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BString, Object> entry : rhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        return joinedFrame;
+    }
+
+    private static State getState(BObject joinFunc) {
+        State state = (State) joinFunc.getNativeData(STATE);
+        if (state == null) {
+            state = new State();
+            joinFunc.addNativeData(STATE, state);
+        }
+        return state;
+    }
+
+    /**
+     * The joined frames and the frame being joined.
+     */
+    private static class State {
+
+        private final JoinHashTable table = new JoinHashTable();
+        private BMap<BString, Object> lhsFrame;
+        private List<BMap<BString, Object>> candidates;
+        private int index;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Native implementation of the lang.query:_OrderByFunction stream function.
+ * <p>
+ * The order keys of the frames are compared with primitive comparisons, and the frames are sorted with a stable sort.
+ * When the order by clause is followed by a limit clause, only the frames within the limit are kept in a bounded heap,
+ * instead of sorting all the frames. The previous stream function, the order key function and the limit function are
+ * called from Ballerina, hence nothing here yields.
+ *
+ * @since 2.0.0
+ */
+public class OrderByStreamFunction {
+
+    private static final String STATE = "&orderByState&";
+    private static final BString ORDER_KEY = StringUtils.fromString("$orderKey$");
+    private static final BString ORDER_DIRECTION = StringUtils.fromString("$orderDirection$");
+
+    /**
+     * Sets the value of the limit clause following the order by clause, so that only the frames within the limit
+     * are kept. Invalid limits are reported by the limit function.
+     */
+    public static void setLimit(BObject orderByFunc, long limit) {
+        getState(orderByFunc).limit = limit < 1 || limit > Integer.MAX_VALUE - 8 ? -1 : (int) limit;
+    }
+
+    /**
+     * Adds a frame whose order keys are set by the order key function.
+     */
+    public static void addFrame(BObject orderByFunc, BMap<BString, Object> frame) {
+        State state = getState(orderByFunc);
+        OrderedFrame orderedFrame = new OrderedFrame(frame, toArray((BArray) frame.get(ORDER_KEY)),
+                                                     state.sequence++);
+        if (state.comparator == null) {
+            state.comparator = new FrameComparator(toDirections((BArray) frame.get(ORDER_DIRECTION)));
+            if (state.limit > 0) {
+                // The heap is ordered in reverse, so that the last frame within the limit is at its head.
+                state.topFrames = new PriorityQueue<>(Math.min(state.limit, 1024) + 1, state.comparator.reversed());
+            }
+        }
+        PriorityQueue<OrderedFrame> topFrames = state.topFrames;
+        if (topFrames == null) {
+            state.frames.add(orderedFrame);
+        } else if (topFrames.size() < state.limit) {
+            topFrames.add(orderedFrame);
+        } else if (state.comparator.compare(orderedFrame, topFrames.peek()) < 0) {
+            topFrames.poll();
+            topFrames.add(orderedFrame);
+        }
+    }
+
+    /**
+     * Orders the frames added since the function was reset.
+     */
+    public static void order(BObject orderByFunc) {
+        State state = getState(orderByFunc);
+        List<OrderedFrame> frames = state.frames;
+        if (state.topFrames != null) {
+            frames.addAll(state.topFrames);
+        }
+        if (state.comparator != null) {
+            frames.sort(state.comparator);
+        }
+        Object[] orderedFrames = new Object[frames.size()];
+        for (int i = 0; i < orderedFrames.length; i++) {
+            orderedFrames[i] = frames.get(i).frame;
+        }
+        clearFrames(state);
+        state.orderedFrames = orderedFrames;
+        state.index = 0;
+    }
+
+    public static boolean isOrdered(BObject orderByFunc) {
+        return getState(orderByFunc).orderedFrames != null;
+    }
+
+    /**
+     * Returns the next ordered frame, or null if all of them were returned.
+     */
+    public static Object nextFrame(BObject orderByFunc) {
+        State state = getState(orderByFunc);
+        if (state.index == state.orderedFrames.length) {
+            return null;
+        }
+        Object frame = state.orderedFrames[state.index];
+        // Release the emitted frame, as the ordered frames are not read again until the function is reset.
+        state.orderedFrames[state.index++] = null;
+        return frame;
+    }
+
+    public static void reset(BObject orderByFunc) {
+        State state = getState(orderByFunc);
+        clearFrames(state);
+        state.orderedFrames = null;
+        state.index = 0;
+    }
+
+    private static void clearFrames(State state) {
+        state.frames = new ArrayList<>();
+        state.topFrames = null;
+        state.comparator = null;
+        state.sequence = 0;
+    }
+
+    private static Object[] toArray(BArray array) {
+        Object[] values = new Object[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
+    }
+
+    private static boolean[] toDirections(BArray array) {
+        boolean[] directions = new boolean[array.size()];
+        for (int i = 0; i < directions.length; i++) {
+            directions[i] = (boolean) array.get(i);
+        }
+        return directions;
+    }
+
+    private static State getState(BObject orderByFunc) {
+        State state = (State) orderByFunc.getNativeData(STATE);
+        if (state == null) {
+            state = new State();
+            orderByFunc.addNativeData(STATE, state);
+        }
+        return state;
+    }
+
+    /**
+     * The frames of an order by stream function, while they are added and once they are ordered.
+     */
+    private static class State {
+
+        private int limit = -1;
+        private List<OrderedFrame> frames = new ArrayList<>();
+        private PriorityQueue<OrderedFrame> topFrames;
+        private Comparator<OrderedFrame> comparator;
+        private long sequence;
+        private Object[] orderedFrames;
+        private int index;
+    }
+
+    /**
+     * A frame with its order keys, and its position in the input to keep the order stable.
+     */
+    private static class OrderedFrame {
+
+        private final Object frame;
+        private final Object[] keys;
+        private final long sequence;
+
+        private OrderedFrame(Object frame, Object[] keys, long sequence) {
+            this.frame = frame;
+            this.keys = keys;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Compares frames on their order keys, in the direction of each key. Nil and NaN keys are ordered last
+     * irrespective of the direction, as in lang.array:sort.
+     */
+    private static class FrameComparator implements Comparator<OrderedFrame> {
+
+        private static final int BOOLEAN_RANK = 0;
+        private static final int INT_RANK = 1;
+        private static final int FLOAT_RANK = 2;
+        private static final int DECIMAL_RANK = 3;
+        private static final int STRING_RANK = 4;
+        private static final int LIST_RANK = 5;
+        private static final int OTHER_RANK = 6;
+
+        private final boolean[] ascending;
+
+        private FrameComparator(boolean[] ascending) {
+            this.ascending = ascending;
+        }
+
+        @Override
+        public int compare(OrderedFrame frame1, OrderedFrame frame2) {
+            for (int i = 0; i < ascending.length; i++) {
+                int c = compareKeys(frame1.keys[i], frame2.keys[i], ascending[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Long.compare(frame1.sequence, frame2.sequence);
+        }
+
+        private static int compareKeys(Object key1, Object key2, boolean ascending) {
+            if (key1 == null || key2 == null) {
+                return key1 == null ? (key2 == null ? 0 : 1) : -1;
+            }
+            boolean nan1 = isNaN(key1);
+            boolean nan2 = isNaN(key2);
+            if (nan1 || nan2) {
+                return nan1 ? (nan2 ? 0 : 1) : -1;
+            }
+            int c = compareValues(key1, key2);
+            return ascending ? c : -c;
+        }
+
+        /**
+         * Orders keys of different types on the order in which the _OrderTreeNode checked their types, so that the
+         * order is total and the bounded heap and the sort agree on it. Lists are ordered on their members.
+         */
+        private static int compareValues(Object key1, Object key2) {
+            int rank1 = getTypeRank(key1);
+            int rank2 = getTypeRank(key2);
+            if (rank1 != rank2) {
+                return Integer.compare(rank1, rank2);
+            }
+            switch (rank1) {
+                case BOOLEAN_RANK:
+                    return Boolean.compare((Boolean) key1, (Boolean) key2);
+                case INT_RANK:
+                    return Long.compare(((Number) key1).longValue(), ((Number) key2).longValue());
+                case FLOAT_RANK:
+                    double value1 = (Double) key1;
+                    double value2 = (Double) key2;
+                    // 0.0 and -0.0 are equal.
+                    return value1 == value2 ? 0 : (value1 < value2 ? -1 : 1);
+                case DECIMAL_RANK:
+                    return ((BDecimal) key1).decimalValue().compareTo(((BDecimal) key2).decimalValue());
+                case STRING_RANK:
+                    return codePointCompare(((BString) key1).getValue(), ((BString) key2).getValue());
+                case LIST_RANK:
+                    return compareLists((BArray) key1, (BArray) key2);
+                default:
+                    return 0;
+            }
+        }
+
+        private static int compareLists(BArray list1, BArray list2) {
+            int length = Math.min(list1.size(), list2.size());
+            for (int i = 0; i < length; i++) {
+                int c = compareKeys(list1.get(i), list2.get(i), true);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(list1.size(), list2.size());
+        }
+
+        private static int getTypeRank(Object key) {
+            if (key instanceof Boolean) {
+                return BOOLEAN_RANK;
+            } else if (key instanceof Long || key instanceof Integer) {
+                return INT_RANK;
+            } else if (key instanceof Double) {
+                return FLOAT_RANK;
+            } else if (key instanceof BDecimal) {
+                return DECIMAL_RANK;
+            } else if (key instanceof BString) {
+                return STRING_RANK;
+            } else if (key instanceof BArray) {
+                return LIST_RANK;
+            }
+            return OTHER_RANK;
+        }
+
+        private static boolean isNaN(Object key) {
+            return key instanceof Double && Double.isNaN((Double) key);
+        }
+
+        private static int codePointCompare(String str1, String str2) {
+            int length = Math.min(str1.length(), str2.length());
+            for (int i = 0; i < length; i++) {
+                char c1 = str1.charAt(i);
+                char c2 = str2.charAt(i);
+                if (c1 != c2) {
+                    boolean surrogate1 = Character.isSurrogate(c1);
+                    if (surrogate1 != Character.isSurrogate(c2)) {
+                        // A surrogate is a part of a code point beyond the basic multilingual plane.
+                        return surrogate1 ? 1 : -1;
+                    }
+                    return c1 - c2;
+                }
+            }
+            return str1.length() - str2.length();
+        }
+    }
+}
@@ -29,8 +29,13 @@ import io.ballerina.runtime.api.values.BString;
 public class Concat {
 
     public static BString concat(BString[] str) {
-        StringBuilder stringBuilder = new StringBuilder();
         int size = str.length;
+        if (size == 2) {
+            // `s = s.concat(t)` in a loop reuses the concatenated string instead of copying it each time.
+            return str[0].concat(str[1]);
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
 
         for (int i = 0; i < size; i++) {
             stringBuilder.append(str[i]);
@@ -367,6 +367,8 @@ public class LangLibValueTest {
                 { "testFromJsonStringWithTypeStringArray" },
                 { "testFromJsonStringWithTypeArrayNegative" },
                 { "testFromJsonStringWithTypeIntArray" },
+                { "testFromJsonStringWithTypeNestedRecord" },
+                { "testFromJsonStringWithTypeSameAsFromJsonWithType" },
         };
     }
 
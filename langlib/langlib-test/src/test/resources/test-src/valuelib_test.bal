@@ -1027,6 +1027,74 @@ function testFromJsonStringWithTypeIntArray() {
     assert(intArr[1], 2);
 }
 
+type Order record {|
+    string id;
+    float total;
+    decimal discount?;
+    OrderLine[] lines;
+    map<string> tags;
+    string? note;
+|};
+
+type OrderLine record {
+    string item;
+    int quantity;
+};
+
+type Foo2Array Foo2[];
+
+function testFromJsonStringWithTypeNestedRecord() {
+    string s = "{\"id\":\"o-1\", \"total\":25, \"discount\":1.5, \"lines\":[{\"item\":\"caf\\u00e9\", " +
+        "\"quantity\":2}, {'item':'日本', \"quantity\":1, \"gift\":true}], \"tags\":{\"channel\":\"web\"}, " +
+        "\"note\":null}";
+    Order o = checkpanic s.fromJsonStringWithType(Order);
+    assert(o.id, "o-1");
+    assert(o.total, 25.0);
+    assert(o?.discount, 1.5d);
+    assert(o.lines.length(), 2);
+    assert(o.lines[0].item, "café");
+    assert(o.lines[0].quantity, 2);
+    assert(o.lines[1].item, "日本");
+    assert(o.lines[1]["gift"], true);
+    assert(o.tags["channel"], "web");
+    assert(o.note, ());
+}
+
+function testFromJsonStringWithTypeSameAsFromJsonWithType() {
+    assertSameAsFromJsonWithType(jStudentArr.toJsonString(), PostGradStudentArray);
+    assertSameAsFromJsonWithType("{\"id\":\"o-1\", \"total\":\"25\", \"lines\":[], \"tags\":{}, \"note\":null}",
+                                 Order);
+    assertSameAsFromJsonWithType("{\"id\":\"o-1\", \"total\":25, \"lines\":[{\"item\":\"pen\"}], \"tags\":{}, " +
+                                 "\"note\":null}", Order);
+    assertSameAsFromJsonWithType("{\"id\":\"o-1\", \"total\":25, \"lines\":[], \"tags\":{}, \"note\":null, " +
+                                 "\"extra\":1}", Order);
+    assertSameAsFromJsonWithType("{\"id\":\"o-1\", \"total\":25, \"lines\":[], \"tags\":{\"a\":1}}", Order);
+    assertSameAsFromJsonWithType("{\"id\":", Order);
+    assertSameAsFromJsonWithType("{}", Foo2);
+    assertSameAsFromJsonWithType("[{}]", Foo2Array);
+    assertSameAsFromJsonWithType("[1, 2.5, -0, null]", FloatArray);
+    assertSameAsFromJsonWithType("{\"x\": 1.5}", IntVal);
+    assertSameAsFromJsonWithType("{\"title\":\"Some\",\"year\":2010,\"ratings\":[4,5]}", MapOfAnyData);
+}
+
+function assertSameAsFromJsonWithType(string s, typedesc<anydata> t) {
+    anydata|error actual = s.fromJsonStringWithType(t);
+    json|error j = s.fromJsonString();
+    anydata|error expected;
+    if (j is error) {
+        expected = j;
+    } else {
+        expected = j.fromJsonWithType(t);
+    }
+    if (actual is error) {
+        assert(expected is error, true);
+        error expectedError = <error> expected;
+        assert(<string> checkpanic actual.detail()["message"], <string> checkpanic expectedError.detail()["message"]);
+    } else {
+        assert(actual, checkpanic expected);
+    }
+}
+
 /////////////////////////// Tests for `toJson()` ///////////////////////////
 
 function testToJsonWithRecord1() {
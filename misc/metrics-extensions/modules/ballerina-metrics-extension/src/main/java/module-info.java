@@ -1,6 +1,7 @@
 module io.ballerina.observe.metrics.extension.defaultimpl {
     requires io.ballerina.runtime;
     requires HdrHistogram;
+    requires jdk.httpserver;
 
     exports org.ballerinalang.observe.metrics.extension.defaultimpl;
 }
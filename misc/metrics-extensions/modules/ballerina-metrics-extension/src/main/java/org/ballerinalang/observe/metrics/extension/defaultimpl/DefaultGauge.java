@@ -23,6 +23,7 @@ import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.Snapshot;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -38,7 +39,11 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
 
     private final LongAdder count = new LongAdder();
     private final DoubleAdder sum = new DoubleAdder();
-    private final DoubleAdder value = new DoubleAdder();
+    /**
+     * Raw long bits of the current value. Each update swaps in a new value with a CAS so that the value recorded in
+     * the histograms is exactly the value produced by that update, without locking the gauge.
+     */
+    private final AtomicLong valueBits = new AtomicLong(Double.doubleToRawLongBits(0D));
     private final RollingHistogram[] rollingHistograms;
 
     private DefaultGauge(MetricId id, Clock clock, StatisticConfig... statisticConfigs) {
@@ -57,7 +62,6 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
         this(id, Clock.DEFAULT, statisticConfigs);
     }
 
-
     private void updateHistogram(double value) {
         count.increment();
         sum.add(value);
@@ -68,34 +72,33 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
 
     @Override
     public void increment(double amount) {
-        synchronized (this) {
-            value.add(amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addAndGetValue(amount));
     }
 
     @Override
     public void decrement(double amount) {
-        synchronized (this) {
-            value.add(-amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addAndGetValue(-amount));
     }
 
     @Override
     public void setValue(double value) {
-        synchronized (this) {
-            this.value.reset();
-            this.value.add(value);
-            updateHistogram(value);
-        }
+        valueBits.set(Double.doubleToRawLongBits(value));
+        updateHistogram(value);
     }
 
     @Override
     public double getValue() {
-        synchronized (this) {
-            return value.sum();
-        }
+        return Double.longBitsToDouble(valueBits.get());
+    }
+
+    private double addAndGetValue(double amount) {
+        long currentBits;
+        double newValue;
+        do {
+            currentBits = valueBits.get();
+            newValue = Double.longBitsToDouble(currentBits) + amount;
+        } while (!valueBits.compareAndSet(currentBits, Double.doubleToRawLongBits(newValue)));
+        return newValue;
     }
 
     @Override
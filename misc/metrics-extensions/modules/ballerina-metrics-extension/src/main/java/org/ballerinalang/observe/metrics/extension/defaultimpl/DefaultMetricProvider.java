@@ -18,12 +18,16 @@
 package org.ballerinalang.observe.metrics.extension.defaultimpl;
 
 import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
 import io.ballerina.runtime.observability.metrics.Gauge;
 import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.PolledGauge;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import io.ballerina.runtime.observability.metrics.spi.MetricProvider;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
 import java.util.function.ToDoubleFunction;
 
 /**
@@ -33,6 +37,16 @@ import java.util.function.ToDoubleFunction;
  */
 public class DefaultMetricProvider implements MetricProvider {
 
+    public static final String BALLERINA_METRICS_EXPOSITION_PORT_ENV_VAR = "BALLERINA_METRICS_EXPOSITION_PORT";
+
+    private static final PrintStream errStream = System.err;
+
+    /**
+     * When the BALLERINA_METRICS_EXPOSITION_PORT system variable is set, the default registry is served to
+     * Prometheus scrapes on that port by a {@link PrometheusExpositionServer}. No listener is started by default.
+     */
+    private static String expositionPortConf = System.getenv(BALLERINA_METRICS_EXPOSITION_PORT_ENV_VAR);
+
     @Override
     public String getName() {
         return "Default";
@@ -40,6 +54,25 @@ public class DefaultMetricProvider implements MetricProvider {
 
     @Override
     public void init() {
+        startExpositionServer(expositionPortConf);
+    }
+
+    static PrometheusExpositionServer startExpositionServer(String portConf) {
+        if (portConf == null) {
+            return null;
+        }
+        try {
+            PrometheusExpositionServer server = new PrometheusExpositionServer(DefaultMetricRegistry::getInstance,
+                    new InetSocketAddress(Integer.parseInt(portConf.trim())));
+            server.start();
+            return server;
+        } catch (IOException | RuntimeException e) {
+            // Log and continue without the listener
+            errStream.println("ballerina: error occurred while starting the metrics exposition listener on port " +
+                    portConf + " given by system variable:" + BALLERINA_METRICS_EXPOSITION_PORT_ENV_VAR + ", " +
+                    e.getMessage());
+            return null;
+        }
     }
 
     @Override
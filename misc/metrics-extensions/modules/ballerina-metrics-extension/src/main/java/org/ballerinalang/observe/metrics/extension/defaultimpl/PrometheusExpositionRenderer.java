@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.Metric;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.PercentileValue;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.Snapshot;
+import io.ballerina.runtime.observability.metrics.Tag;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders metrics in the Prometheus text exposition format into a byte buffer which is reused across scrapes.
+ * <p>
+ * The sanitized name, labels and help text of each series are encoded once and cached until the series is no longer
+ * present in a scrape. Each counter and gauge is rendered with its current value. Each gauge with statistics is also
+ * rendered as a {@code <name>_summary} summary per time window, together with {@code <name>_min},
+ * {@code <name>_max}, {@code <name>_mean} and {@code <name>_stdDev} gauges. Series of the statistics are labelled
+ * with the time window in milliseconds. The quantiles of a summary cover its time window, whereas its count and sum
+ * are the totals since the gauge was created, as with any Prometheus summary.
+ * <p>
+ * Instances are not thread safe. Scrapes should be rendered by one thread at a time.
+ *
+ * @since 2.0.0
+ */
+public class PrometheusExpositionRenderer {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String COUNTER_TYPE = "counter";
+    private static final String GAUGE_TYPE = "gauge";
+    private static final String SUMMARY_TYPE = "summary";
+    private static final String SUMMARY_SUFFIX = "_summary";
+    private static final String TIME_WINDOW_LABEL = "timeWindow";
+    private static final String QUANTILE_LABEL = "quantile";
+    private static final String[] STATISTIC_SUFFIXES = {"_min", "_max", "_mean", "_stdDev"};
+    private static final Snapshot[] NO_SNAPSHOTS = new Snapshot[0];
+    private static final Series[] NO_SERIES = new Series[0];
+    private static final Comparator<Series> BY_NAME = Comparator.comparing(series -> series.name);
+
+    private byte[] buffer = new byte[8192];
+    private int size;
+
+    private Series[] scrapeSeries = NO_SERIES;
+    private Map<MetricId, Series> seriesCache = new HashMap<>();
+    private Map<MetricId, Series> previousSeriesCache = new HashMap<>();
+
+    /**
+     * Renders the given metrics into the buffer, replacing the previous scrape.
+     *
+     * @param metrics metrics to be rendered
+     * @return number of bytes rendered
+     */
+    public int render(Metric[] metrics) {
+        size = 0;
+        int seriesCount = collectSeries(metrics);
+        Arrays.sort(scrapeSeries, 0, seriesCount, BY_NAME);
+        int groupStart = 0;
+        for (int i = 1; i <= seriesCount; i++) {
+            if (i == seriesCount || !scrapeSeries[i].name.equals(scrapeSeries[groupStart].name)) {
+                renderFamilies(groupStart, i);
+                groupStart = i;
+            }
+        }
+        for (int i = 0; i < seriesCount; i++) {
+            scrapeSeries[i].metric = null;
+            scrapeSeries[i].snapshots = NO_SNAPSHOTS;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the last rendered scrape to the given stream.
+     *
+     * @param outputStream stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private int collectSeries(Metric[] metrics) {
+        Map<MetricId, Series> currentSeriesCache = previousSeriesCache;
+        if (scrapeSeries.length < metrics.length) {
+            scrapeSeries = new Series[metrics.length];
+        }
+        int seriesCount = 0;
+        for (Metric metric : metrics) {
+            String type = getType(metric);
+            if (type == null) {
+                continue;
+            }
+            MetricId metricId = metric.getId();
+            Series series = seriesCache.remove(metricId);
+            if (series == null) {
+                series = new Series(metricId, type);
+            }
+            currentSeriesCache.put(metricId, series);
+            series.metric = metric;
+            if (metric instanceof Gauge) {
+                Snapshot[] snapshots = ((Gauge) metric).getSnapshots();
+                series.snapshots = snapshots != null ? snapshots : NO_SNAPSHOTS;
+            }
+            scrapeSeries[seriesCount++] = series;
+        }
+        // Series which were not present in this scrape are dropped from the cache.
+        seriesCache.clear();
+        previousSeriesCache = seriesCache;
+        seriesCache = currentSeriesCache;
+        return seriesCount;
+    }
+
+    private static String getType(Metric metric) {
+        if (metric instanceof Counter) {
+            return COUNTER_TYPE;
+        } else if (metric instanceof Gauge || metric instanceof PolledGauge) {
+            return GAUGE_TYPE;
+        }
+        return null;
+    }
+
+    private void renderFamilies(int from, int to) {
+        Series first = scrapeSeries[from];
+        if (first.help.length > 0) {
+            writeAscii("# HELP ");
+            write(first.nameBytes);
+            writeByte(' ');
+            write(first.help);
+            writeByte('\n');
+        }
+        writeTypeLine(first.nameBytes, "", first.type);
+        for (int i = from; i < to; i++) {
+            Series series = scrapeSeries[i];
+            writeSeriesName(first.nameBytes, "", series);
+            closeLabels(series);
+            writeValue(series.metric);
+        }
+
+        boolean hasSnapshots = false;
+        for (int i = from; i < to && !hasSnapshots; i++) {
+            hasSnapshots = scrapeSeries[i].snapshots.length > 0;
+        }
+        if (!hasSnapshots) {
+            return;
+        }
+
+        writeTypeLine(first.nameBytes, SUMMARY_SUFFIX, SUMMARY_TYPE);
+        for (int i = from; i < to; i++) {
+            Series series = scrapeSeries[i];
+            for (Snapshot snapshot : series.snapshots) {
+                for (PercentileValue percentileValue : snapshot.getPercentileValues()) {
+                    writeSeriesName(first.nameBytes, SUMMARY_SUFFIX, series);
+                    writeTimeWindowLabel(series, snapshot);
+                    writeAscii(",");
+                    writeAscii(QUANTILE_LABEL);
+                    writeAscii("=\"");
+                    writeDouble(percentileValue.getPercentile());
+                    writeAscii("\"}");
+                    writeSampleValue(percentileValue.getValue());
+                }
+                // The count and sum have the labels of the quantiles, so that each time window is a whole summary.
+                Gauge gauge = (Gauge) series.metric;
+                writeSeriesName(first.nameBytes, SUMMARY_SUFFIX + "_count", series);
+                writeTimeWindowLabel(series, snapshot);
+                writeByte('}');
+                writeSampleValue(gauge.getCount());
+                writeSeriesName(first.nameBytes, SUMMARY_SUFFIX + "_sum", series);
+                writeTimeWindowLabel(series, snapshot);
+                writeByte('}');
+                writeSampleValue(gauge.getSum());
+            }
+        }
+
+        for (int statistic = 0; statistic < STATISTIC_SUFFIXES.length; statistic++) {
+            String suffix = STATISTIC_SUFFIXES[statistic];
+            writeTypeLine(first.nameBytes, suffix, GAUGE_TYPE);
+            for (int i = from; i < to; i++) {
+                Series series = scrapeSeries[i];
+                for (Snapshot snapshot : series.snapshots) {
+                    writeSeriesName(first.nameBytes, suffix, series);
+                    writeTimeWindowLabel(series, snapshot);
+                    writeByte('}');
+                    writeSampleValue(getStatistic(snapshot, statistic));
+                }
+            }
+        }
+    }
+
+    private static double getStatistic(Snapshot snapshot, int statistic) {
+        switch (statistic) {
+            case 0:
+                return snapshot.getMin();
+            case 1:
+                return snapshot.getMax();
+            case 2:
+                return snapshot.getMean();
+            default:
+                return snapshot.getStdDev();
+        }
+    }
+
+    private void writeTypeLine(byte[] name, String suffix, String type) {
+        writeAscii("# TYPE ");
+        write(name);
+        writeAscii(suffix);
+        writeByte(' ');
+        writeAscii(type);
+        writeByte('\n');
+    }
+
+    /**
+     * Writes the series name and its labels, leaving the label set open for additional labels.
+     */
+    private void writeSeriesName(byte[] name, String suffix, Series series) {
+        write(name);
+        writeAscii(suffix);
+        if (series.labels.length > 0) {
+            writeByte('{');
+            write(series.labels);
+        }
+    }
+
+    private void closeLabels(Series series) {
+        if (series.labels.length > 0) {
+            writeByte('}');
+        }
+    }
+
+    private void writeTimeWindowLabel(Series series, Snapshot snapshot) {
+        writeByte(series.labels.length > 0 ? ',' : '{');
+        writeAscii(TIME_WINDOW_LABEL);
+        writeAscii("=\"");
+        writeLong(snapshot.getTimeWindow().toMillis());
+        writeByte('"');
+    }
+
+    private void writeValue(Metric metric) {
+        if (metric instanceof Counter) {
+            writeSampleValue(((Counter) metric).getValue());
+        } else if (metric instanceof Gauge) {
+            writeSampleValue(((Gauge) metric).getValue());
+        } else {
+            writeSampleValue(((PolledGauge) metric).getValue());
+        }
+    }
+
+    private void writeSampleValue(long value) {
+        writeByte(' ');
+        writeLong(value);
+        writeByte('\n');
+    }
+
+    private void writeSampleValue(double value) {
+        writeByte(' ');
+        writeDouble(value);
+        writeByte('\n');
+    }
+
+    private void writeDouble(double value) {
+        if (Double.isNaN(value)) {
+            writeAscii("NaN");
+        } else if (Double.isInfinite(value)) {
+            writeAscii(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == (long) value && Math.abs(value) < 1L << 53) {
+            // Integral values are written without going through a string.
+            writeLong((long) value);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void writeAscii(String value) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(char ch) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) ch;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+        }
+    }
+
+    /**
+     * Encoded name, labels and help text of a series, along with the metric being rendered in the current scrape.
+     */
+    private static class Series {
+
+        private final String name;
+        private final byte[] nameBytes;
+        private final byte[] labels;
+        private final byte[] help;
+        private final String type;
+        private Metric metric;
+        private Snapshot[] snapshots = NO_SNAPSHOTS;
+
+        private Series(MetricId metricId, String type) {
+            this.name = sanitizeName(metricId.getName(), true);
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.labels = encodeLabels(metricId);
+            this.help = escape(metricId.getDescription(), false).getBytes(StandardCharsets.UTF_8);
+            this.type = type;
+        }
+
+        private static byte[] encodeLabels(MetricId metricId) {
+            Tag[] tags = metricId.getTags().toArray(new Tag[0]);
+            Arrays.sort(tags);
+            StringBuilder labels = new StringBuilder();
+            for (Tag tag : tags) {
+                if (labels.length() > 0) {
+                    labels.append(',');
+                }
+                labels.append(sanitizeName(tag.getKey(), false)).append("=\"")
+                        .append(escape(tag.getValue(), true)).append('"');
+            }
+            return labels.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Replaces the characters which are not allowed in Prometheus metric and label names with underscores.
+         */
+        private static String sanitizeName(String name, boolean allowColon) {
+            StringBuilder sanitized = new StringBuilder(name.length() + 1);
+            if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+                sanitized.append('_');
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char ch = name.charAt(i);
+                boolean allowed = (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+                        || ch == '_' || (allowColon && ch == ':');
+                sanitized.append(allowed ? ch : '_');
+            }
+            return sanitized.toString();
+        }
+
+        private static String escape(String value, boolean escapeQuotes) {
+            StringBuilder escaped = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == '\\') {
+                    escaped.append("\\\\");
+                } else if (ch == '\n') {
+                    escaped.append("\\n");
+                } else if (ch == '"' && escapeQuotes) {
+                    escaped.append("\\\"");
+                } else {
+                    escaped.append(ch);
+                }
+            }
+            return escaped.toString();
+        }
+    }
+}
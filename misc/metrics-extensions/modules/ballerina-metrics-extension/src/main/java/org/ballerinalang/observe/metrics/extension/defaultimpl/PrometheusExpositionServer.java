@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight HTTP listener which serves the metrics of a {@link MetricRegistry} to Prometheus scrapes.
+ * <p>
+ * Scrapes are handled one at a time on a single daemon thread, which renders the metrics with a
+ * {@link PrometheusExpositionRenderer} and writes its buffer straight to the response. The registry is looked up on
+ * each scrape, as the listener is started by {@link DefaultMetricProvider#init()} before the default registry is set.
+ *
+ * @since 2.0.0
+ */
+public class PrometheusExpositionServer {
+
+    public static final String METRICS_PATH = "/metrics";
+
+    private static final String GET_METHOD = "GET";
+    private static final String HEAD_METHOD = "HEAD";
+
+    private final Supplier<MetricRegistry> metricRegistry;
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+
+    public PrometheusExpositionServer(Supplier<MetricRegistry> metricRegistry, InetSocketAddress address)
+            throws IOException {
+        this.metricRegistry = metricRegistry;
+        this.httpServer = HttpServer.create(address, 0);
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-metrics-exposition");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.createContext(METRICS_PATH, this::handleScrape);
+        httpServer.setExecutor(executorService);
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+        executorService.shutdown();
+    }
+
+    /**
+     * Returns the address the listener is bound to, which has the actual port when started on an ephemeral port.
+     *
+     * @return bound address
+     */
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!GET_METHOD.equals(method) && !HEAD_METHOD.equals(method)) {
+                exchange.getResponseHeaders().set("Allow", GET_METHOD + ", " + HEAD_METHOD);
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_BAD_METHOD, -1);
+                return;
+            }
+            MetricRegistry registry = metricRegistry.get();
+            if (registry == null) {
+                // Metrics are not enabled yet.
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_UNAVAILABLE, -1);
+                return;
+            }
+            int length = renderer.render(registry.getAllMetrics());
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExpositionRenderer.CONTENT_TYPE);
+            if (HEAD_METHOD.equals(method)) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, length);
+            renderer.writeTo(exchange.getResponseBody());
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -21,16 +21,28 @@ import io.ballerina.runtime.observability.metrics.PercentileValue;
 import io.ballerina.runtime.observability.metrics.Snapshot;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import org.HdrHistogram.DoubleHistogram;
-import org.HdrHistogram.DoubleRecorder;
+import org.HdrHistogram.SingleWriterDoubleRecorder;
 
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Using {@link DoubleHistogram} to maintain samples in a ring buffer to decay older samples and give greater weight
  * to recent samples. This implementation allows to get summary statistics for a rolling window over the last X minutes.
+ * <p>
+ * Values are recorded into a fixed number of stripes, each with its own {@link SingleWriterDoubleRecorder}. A
+ * recording thread claims a free stripe with a CAS for the duration of a single record, so that each recorder has a
+ * single writer at a time and no state is kept per thread. The values of all stripes are collected into the
+ * histograms of the ring buffer when rotating and when taking a snapshot, which are serialized with a lock.
  */
 public class RollingHistogram {
 
+    /**
+     * Number of stripes, which is twice the number of processors so that a thread seldom has to try more than one.
+     */
+    private static final int STRIPE_COUNT = Runtime.getRuntime().availableProcessors() * 2;
+
     /**
      * Clock for measuring time.
      */
@@ -42,9 +54,9 @@ public class RollingHistogram {
     private final StatisticConfig statisticConfig;
 
     /**
-     * Recorder in a ring buffer.
+     * Histograms in a ring buffer, which are only accessed while holding the lock.
      */
-    private final DoubleRecorder[] ringBuffer;
+    private final DoubleHistogram[] ringBuffer;
 
     /**
      * Current bucket index.
@@ -67,90 +79,117 @@ public class RollingHistogram {
     private final DoubleHistogram intervalHistogram;
 
     /**
-     * A histogram to keep accumulated stats.
+     * Recorders by stripe, which are created when their stripe is first claimed.
      */
-    private DoubleHistogram accumulatedHistogram;
+    private final AtomicReferenceArray<SingleWriterDoubleRecorder> recorders =
+            new AtomicReferenceArray<>(STRIPE_COUNT);
 
     /**
-     * Global atomic field updater to update volatile {@code rotating} integer.
+     * Whether each stripe is claimed by a recording thread (1) or free (0).
      */
-    private static final AtomicIntegerFieldUpdater<RollingHistogram> rotatingUpdater =
-            AtomicIntegerFieldUpdater.newUpdater(RollingHistogram.class, "rotating");
+    private final AtomicIntegerArray claimed = new AtomicIntegerArray(STRIPE_COUNT);
 
     /**
-     * A flag to check whether {@link RollingHistogram} is being rotated.
+     * Lock held while rotating and while taking a snapshot.
      */
-    private volatile int rotating; // 0 - not rotating, 1 - rotating
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
-     * A flag to check whether accumulatedHistogram is stale or not.
+     * A flag to check whether the last snapshot is stale or not.
      */
-    private volatile boolean accumulatedHistogramStale;
+    private volatile boolean snapshotStale;
+
+    /**
+     * Last snapshot taken, which is reused until it becomes stale.
+     */
+    private Snapshot snapshot;
 
     public RollingHistogram(Clock clock, StatisticConfig statisticConfig) {
         this.clock = clock;
         this.statisticConfig = statisticConfig;
         int ageBuckets = (int) statisticConfig.getBuckets();
-        ringBuffer = new DoubleRecorder[ageBuckets];
+        ringBuffer = new DoubleHistogram[ageBuckets];
         for (int i = 0; i < ageBuckets; i++) {
-            ringBuffer[i] = new DoubleRecorder(statisticConfig.getPercentilePrecision());
+            ringBuffer[i] = new DoubleHistogram(statisticConfig.getPercentilePrecision());
         }
         this.currentBucket = 0;
         this.lastRotateTimestampMillis = clock.getCurrentTime();
         this.durationBetweenRotatesMillis = statisticConfig.getTimeWindow().toMillis() / ageBuckets;
         intervalHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-        accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
     }
 
     public void record(double value) {
-        rotate();
+        if (isRotationDue() && lock.tryLock()) {
+            // Skip rotating if the lock is held, as the holder rotates anyway.
+            try {
+                rotate();
+            } finally {
+                lock.unlock();
+            }
+        }
+        int stripe = claimStripe();
         try {
-            for (DoubleRecorder recorder : ringBuffer) {
-                recorder.recordValue(value);
+            SingleWriterDoubleRecorder recorder = recorders.get(stripe);
+            if (recorder == null) {
+                // Only the thread holding the stripe creates its recorder
+                recorder = new SingleWriterDoubleRecorder(statisticConfig.getPercentilePrecision());
+                recorders.set(stripe, recorder);
             }
+            recorder.recordValue(value);
         } finally {
-            accumulatedHistogramStale = true;
+            claimed.set(stripe, 0);
+            snapshotStale = true;
         }
     }
 
+    private int claimStripe() {
+        int stripe = (int) (Thread.currentThread().getId() % STRIPE_COUNT);
+        while (true) {
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                if (claimed.get(stripe) == 0 && claimed.compareAndSet(stripe, 0, 1)) {
+                    return stripe;
+                }
+                if (++stripe == STRIPE_COUNT) {
+                    stripe = 0;
+                }
+            }
+            // Every stripe is held by a thread that is recording a single value.
+            Thread.yield();
+        }
+    }
+
+    private boolean isRotationDue() {
+        return clock.getCurrentTime() - lastRotateTimestampMillis >= durationBetweenRotatesMillis;
+    }
+
     private void rotate() {
         long timeSinceLastRotateMillis = clock.getCurrentTime() - lastRotateTimestampMillis;
         if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
             // Need to wait more for next rotation.
             return;
         }
-        if (!rotatingUpdater.compareAndSet(this, 0, 1)) {
-            // Being rotated by other thread already.
-            return;
-        }
 
-        try {
-            int iterations = 0;
-            synchronized (this) {
-                do {
-                    currentHistogram().reset();
-                    if (++currentBucket >= ringBuffer.length) {
-                        currentBucket = 0;
-                    }
-                    timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
-                    lastRotateTimestampMillis += durationBetweenRotatesMillis;
-                } while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
-
-                if (iterations >= ringBuffer.length) {
-                    // All buckets have been reset, therefore update lastRotateTimestampMillis
-                    // to the most recent time window
-                    lastRotateTimestampMillis += durationBetweenRotatesMillis *
-                            (timeSinceLastRotateMillis / durationBetweenRotatesMillis);
-                }
-
-                accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-                //TODO: Use accumulatedHistogram.reset(); and make accumulatedHistogram as final
-                //Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
-                accumulatedHistogramStale = true;
+        // Values recorded so far belong to the buckets that are not reset.
+        collect();
+        int iterations = 0;
+        do {
+            ringBuffer[currentBucket] = new DoubleHistogram(statisticConfig.getPercentilePrecision());
+            //TODO: Use ringBuffer[currentBucket].reset();
+            //Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
+            if (++currentBucket >= ringBuffer.length) {
+                currentBucket = 0;
             }
-        } finally {
-            rotating = 0;
+            timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
+            lastRotateTimestampMillis += durationBetweenRotatesMillis;
+        } while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
+
+        if (iterations >= ringBuffer.length) {
+            // All buckets have been reset, therefore update lastRotateTimestampMillis
+            // to the most recent time window
+            lastRotateTimestampMillis += durationBetweenRotatesMillis *
+                    (timeSinceLastRotateMillis / durationBetweenRotatesMillis);
         }
+        snapshotStale = true;
     }
 
     public StatisticConfig getStatisticConfig() {
@@ -158,9 +197,15 @@ public class RollingHistogram {
     }
 
     public Snapshot getSnapshot() {
-        rotate();
-        synchronized (this) {
-            accumulateIfStale();
+        lock.lock();
+        try {
+            rotate();
+            if (snapshot != null && !snapshotStale) {
+                return snapshot;
+            }
+            snapshotStale = false;
+            collect();
+            DoubleHistogram accumulatedHistogram = ringBuffer[currentBucket];
             PercentileValue[] percentileValues = null;
             final double[] monitoredPercentiles = statisticConfig.getPercentiles();
             if (monitoredPercentiles != null) {
@@ -170,28 +215,34 @@ public class RollingHistogram {
                     percentileValues[i] = new PercentileValue(p, accumulatedHistogram.getValueAtPercentile(p * 100));
                 }
             }
-            return new Snapshot(statisticConfig.getTimeWindow(),
+            snapshot = new Snapshot(statisticConfig.getTimeWindow(),
                     accumulatedHistogram.getMinValue(),
                     accumulatedHistogram.getMean(),
                     accumulatedHistogram.getStdDeviation(),
                     accumulatedHistogram.getMaxValue(),
                     percentileValues);
+            return snapshot;
+        } finally {
+            lock.unlock();
         }
     }
 
-    private void accumulateIfStale() {
-        if (accumulatedHistogramStale) {
-            accumulate();
-            accumulatedHistogramStale = false;
+    /**
+     * Moves the values recorded into each stripe into all the histograms of the ring buffer.
+     */
+    private void collect() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            SingleWriterDoubleRecorder recorder = recorders.get(i);
+            if (recorder == null) {
+                continue;
+            }
+            // A recorder allows reading intervals while its single writer is recording
+            recorder.getIntervalHistogramInto(intervalHistogram);
+            if (intervalHistogram.getTotalCount() > 0) {
+                for (DoubleHistogram histogram : ringBuffer) {
+                    histogram.add(intervalHistogram);
+                }
+            }
         }
     }
-
-    private void accumulate() {
-        currentHistogram().getIntervalHistogramInto(intervalHistogram);
-        accumulatedHistogram.add(intervalHistogram);
-    }
-
-    private DoubleRecorder currentHistogram() {
-        return ringBuffer[currentBucket];
-    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.observability.ObserverContext;
+import io.ballerina.runtime.observability.metrics.BallerinaMetricsObserver;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
+
+/**
+ * Tests for {@link BallerinaMetricsObserver}.
+ *
+ * @since 2.0.0
+ */
+public class BallerinaMetricsObserverTest {
+
+    private MetricRegistry metricRegistry;
+    private BallerinaMetricsObserver observer;
+    private Method setStarted;
+
+    @BeforeClass
+    public void init() throws NoSuchMethodException {
+        if (DefaultMetricRegistry.getInstance() == null) {
+            DefaultMetricRegistry.setInstance(new MetricRegistry(new DefaultMetricProvider()));
+        }
+        metricRegistry = DefaultMetricRegistry.getInstance();
+        observer = new BallerinaMetricsObserver();
+        // Observations are only stopped once ObserveUtils has marked them as started
+        setStarted = ObserverContext.class.getDeclaredMethod("setStarted");
+        setStarted.setAccessible(true);
+    }
+
+    @Test
+    public void testCachedMetrics() throws ReflectiveOperationException {
+        observe(createContext("cached"), 200);
+        observe(createContext("cached"), 200);
+        observe(createContext("cached"), 404);
+
+        Set<Tag> tags = createTags("cached");
+        Assert.assertEquals(getGauge("inprogress_requests", tags).getValue(), 0.0);
+        Assert.assertEquals(getRequestsTotal(tags, "2xx").getValue(), 2L);
+        Assert.assertEquals(getRequestsTotal(tags, "4xx").getValue(), 1L);
+        Gauge responseTime = getGauge("response_time_seconds", withStatusCodeGroup(tags, "2xx"));
+        Assert.assertEquals(responseTime.getCount(), 2L);
+    }
+
+    @Test
+    public void testTagAddedDuringObservation() throws ReflectiveOperationException {
+        ObserverContext observerContext = createContext("added_tag");
+        observer.startServerObservation(observerContext);
+        observerContext.addTag("error", "true");
+        stop(observerContext, 500);
+
+        Set<Tag> tags = createTags("added_tag");
+        // The in progress gauge is the one of the start tags, whereas the response metrics have the added tag
+        Assert.assertEquals(getGauge("inprogress_requests", tags).getValue(), 0.0);
+        Assert.assertNull(metricRegistry.lookup(requestsTotalId(tags, "5xx")));
+        tags.add(Tag.of("error", "true"));
+        Assert.assertEquals(getRequestsTotal(tags, "5xx").getValue(), 1L);
+
+        // An observation with the same start tags, but without the added tag, uses the metrics of the start tags
+        observe(createContext("added_tag"), 500);
+        Assert.assertEquals(getRequestsTotal(createTags("added_tag"), "5xx").getValue(), 1L);
+        Assert.assertEquals(getRequestsTotal(tags, "5xx").getValue(), 1L);
+    }
+
+    @Test
+    public void testCustomMetricTags() throws ReflectiveOperationException {
+        ObserverContext observerContext = createContext("custom_tags");
+        observerContext.customMetricTags = new HashMap<>();
+        observerContext.customMetricTags.put("tenant", Tag.of("tenant", "a"));
+        observe(observerContext, 200);
+        observe(createContext("custom_tags"), 200);
+
+        Set<Tag> tags = createTags("custom_tags");
+        Assert.assertEquals(getRequestsTotal(tags, "2xx").getValue(), 1L);
+        tags.add(Tag.of("tenant", "a"));
+        Assert.assertEquals(getRequestsTotal(tags, "2xx").getValue(), 1L);
+    }
+
+    @Test
+    public void testRemovedMetricsAreEvicted() throws ReflectiveOperationException {
+        observe(createContext("evicted"), 200);
+        Assert.assertEquals(countCached(createContext("evicted")), 1);
+
+        metricRegistry.remove("requests_total");
+        Assert.assertEquals(countCached(createContext("evicted")), 0);
+
+        // The removed metrics are created again by the next observation
+        observe(createContext("evicted"), 200);
+        Assert.assertEquals(getRequestsTotal(createTags("evicted"), "2xx").getValue(), 1L);
+        Assert.assertEquals(countCached(createContext("evicted")), 1);
+    }
+
+    @Test
+    public void testTagsAddedInAnyOrderShareCachedMetrics() throws ReflectiveOperationException {
+        ObserverContext observerContext = createContext("ordered");
+        observerContext.addTag("method", "GET");
+        ObserverContext reorderedContext = new ObserverContext();
+        reorderedContext.addTag("method", "POST");
+        reorderedContext.addTag("service", "ordered");
+        reorderedContext.addTag("method", "GET");
+        Assert.assertEquals(reorderedContext.getTagsHashCode(), reorderedContext.getAllTags().hashCode());
+
+        observe(observerContext, 200);
+        observe(reorderedContext, 200);
+        Assert.assertEquals(countCached(observerContext), 1);
+        Set<Tag> tags = createTags("ordered");
+        tags.add(Tag.of("method", "GET"));
+        Assert.assertEquals(getRequestsTotal(tags, "2xx").getValue(), 2L);
+    }
+
+    @Test
+    public void testCachedTagSetsAreBounded() throws ReflectiveOperationException {
+        for (int i = 0; i < 2000; i++) {
+            observe(createContext("bounded_" + i), 200);
+        }
+        Assert.assertTrue(getMetricIdsByTags().size() <= 1024, "cached tag sets " + getMetricIdsByTags().size());
+
+        // Observations with tags which are not cached are still measured
+        Assert.assertEquals(getRequestsTotal(createTags("bounded_1999"), "2xx").getValue(), 1L);
+        Assert.assertEquals(getGauge("inprogress_requests", createTags("bounded_1999")).getValue(), 0.0);
+        metricRegistry.remove("requests_total");
+    }
+
+    private void observe(ObserverContext observerContext, int statusCode) throws ReflectiveOperationException {
+        observer.startServerObservation(observerContext);
+        stop(observerContext, statusCode);
+    }
+
+    private void stop(ObserverContext observerContext, int statusCode) throws ReflectiveOperationException {
+        setStarted.invoke(observerContext);
+        observerContext.addProperty(PROPERTY_KEY_HTTP_STATUS_CODE, statusCode);
+        observer.stopServerObservation(observerContext);
+    }
+
+    private Map<?, ?> getMetricIdsByTags() throws ReflectiveOperationException {
+        Field field = BallerinaMetricsObserver.class.getDeclaredField("metricIdsByTags");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(observer);
+    }
+
+    private int countCached(ObserverContext observerContext) throws ReflectiveOperationException {
+        int count = 0;
+        for (Object key : getMetricIdsByTags().keySet()) {
+            Field tagsField = key.getClass().getDeclaredField("tags");
+            tagsField.setAccessible(true);
+            if (observerContext.getTagMap().equals(tagsField.get(key))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Gauge getGauge(String name, Set<Tag> tags) {
+        Gauge gauge = (Gauge) metricRegistry.lookup(new MetricId(name, "", tags));
+        Assert.assertNotNull(gauge, name + tags);
+        return gauge;
+    }
+
+    private Counter getRequestsTotal(Set<Tag> tags, String statusCodeGroup) {
+        Counter counter = (Counter) metricRegistry.lookup(requestsTotalId(tags, statusCodeGroup));
+        Assert.assertNotNull(counter, "requests_total" + tags);
+        return counter;
+    }
+
+    private static MetricId requestsTotalId(Set<Tag> tags, String statusCodeGroup) {
+        return new MetricId("requests_total", "", withStatusCodeGroup(tags, statusCodeGroup));
+    }
+
+    private static Set<Tag> withStatusCodeGroup(Set<Tag> tags, String statusCodeGroup) {
+        Set<Tag> responseTags = new HashSet<>(tags);
+        responseTags.add(Tag.of("http.status_code_group", statusCodeGroup));
+        return responseTags;
+    }
+
+    private static ObserverContext createContext(String service) {
+        ObserverContext observerContext = new ObserverContext();
+        observerContext.addTag("service", service);
+        return observerContext;
+    }
+
+    private static Set<Tag> createTags(String service) {
+        Set<Tag> tags = new HashSet<>();
+        tags.add(Tag.of("service", service));
+        return tags;
+    }
+}
@@ -26,6 +26,9 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -72,4 +75,26 @@ public class GaugeTest {
         Assert.assertEquals(4.0, gauge.getSum());
     }
 
+    @Test
+    public void testConcurrentGaugeIncrement() throws InterruptedException {
+        Gauge gauge = Gauge.builder("test_concurrent_gauge").description("Test Gauge").register(metricRegistry);
+        int threads = 64;
+        int incrementsPerThread = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < incrementsPerThread; j++) {
+                    gauge.increment();
+                }
+            });
+        }
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+        long increments = (long) threads * incrementsPerThread;
+        Assert.assertEquals(gauge.getValue(), (double) increments);
+        Assert.assertEquals(gauge.getCount(), increments);
+        // Every increment records a distinct value from 1 to the total number of increments.
+        Assert.assertEquals(gauge.getSum(), increments * (increments + 1) / 2D);
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Tests for {@link PrometheusExpositionRenderer} and {@link PrometheusExpositionServer}.
+ *
+ * @since 2.0.0
+ */
+public class PrometheusExpositionTest {
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeMethod
+    public void init() {
+        metricRegistry = new MetricRegistry(new DefaultMetricProvider());
+    }
+
+    @Test
+    public void testRenderCounters() {
+        Counter counter = Counter.builder("requests_total").description("Total requests")
+                .tags("service", "hello", "method", "GET").register(metricRegistry);
+        counter.increment(5);
+        Counter.builder("requests_total").description("Total requests")
+                .tags("service", "hello", "method", "POST").register(metricRegistry).increment();
+        Counter.builder("errors").register(metricRegistry);
+
+        PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+        int length = renderer.render(metricRegistry.getAllMetrics());
+
+        String expected = "# TYPE errors counter\n" +
+                "errors 0\n" +
+                "# HELP requests_total Total requests\n" +
+                "# TYPE requests_total counter\n";
+        String exposition = renderer.toString();
+        Assert.assertEquals(length, exposition.getBytes(StandardCharsets.UTF_8).length);
+        Assert.assertTrue(exposition.startsWith(expected), exposition);
+        Assert.assertTrue(exposition.contains("requests_total{method=\"GET\",service=\"hello\"} 5\n"), exposition);
+        Assert.assertTrue(exposition.contains("requests_total{method=\"POST\",service=\"hello\"} 1\n"), exposition);
+
+        // Rendering again reuses the buffer and reflects the current values.
+        counter.increment();
+        renderer.render(metricRegistry.getAllMetrics());
+        Assert.assertTrue(renderer.toString().contains("requests_total{method=\"GET\",service=\"hello\"} 6\n"));
+        Assert.assertEquals(renderer.size(), length);
+    }
+
+    @Test
+    public void testRenderGaugeSummary() {
+        Gauge gauge = Gauge.builder("response_time").description("Response time").tag("service", "hello")
+                .summarize(StatisticConfig.builder().expiry(Duration.ofMinutes(1)).buckets(3)
+                        .percentiles(0.5, 1.0).build())
+                .register(metricRegistry);
+        gauge.setValue(2);
+        gauge.setValue(4);
+
+        PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+        renderer.render(metricRegistry.getAllMetrics());
+
+        // Statistics are approximated by the histograms, hence only the series are compared for them.
+        String[] expectedLines = {
+                "# HELP response_time Response time",
+                "# TYPE response_time gauge",
+                "response_time{service=\"hello\"} 4",
+                "# TYPE response_time_summary summary",
+                "response_time_summary{service=\"hello\",timeWindow=\"60000\",quantile=\"0.5\"} ",
+                "response_time_summary{service=\"hello\",timeWindow=\"60000\",quantile=\"1\"} ",
+                "response_time_summary_count{service=\"hello\",timeWindow=\"60000\"} 2",
+                "response_time_summary_sum{service=\"hello\",timeWindow=\"60000\"} 6",
+                "# TYPE response_time_min gauge",
+                "response_time_min{service=\"hello\",timeWindow=\"60000\"} ",
+                "# TYPE response_time_max gauge",
+                "response_time_max{service=\"hello\",timeWindow=\"60000\"} ",
+                "# TYPE response_time_mean gauge",
+                "response_time_mean{service=\"hello\",timeWindow=\"60000\"} ",
+                "# TYPE response_time_stdDev gauge",
+                "response_time_stdDev{service=\"hello\",timeWindow=\"60000\"} "
+        };
+        String[] lines = renderer.toString().split("\n");
+        Assert.assertEquals(lines.length, expectedLines.length, renderer.toString());
+        for (int i = 0; i < lines.length; i++) {
+            Assert.assertTrue(lines[i].startsWith(expectedLines[i]), lines[i]);
+        }
+    }
+
+    @Test
+    public void testRenderGaugeSummaryOfMultipleTimeWindows() {
+        Gauge gauge = Gauge.builder("response_time")
+                .summarize(StatisticConfig.builder().expiry(Duration.ofMinutes(1)).buckets(3).percentiles(0.5).build())
+                .summarize(StatisticConfig.builder().expiry(Duration.ofMinutes(5)).buckets(3).percentiles(0.5).build())
+                .register(metricRegistry);
+        gauge.setValue(2);
+        gauge.setValue(4);
+
+        PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+        renderer.render(metricRegistry.getAllMetrics());
+
+        // Each time window is a summary of its own, hence its count and sum have the same labels as its quantiles.
+        String[] expectedLines = {
+                "# TYPE response_time_summary summary",
+                "response_time_summary{timeWindow=\"60000\",quantile=\"0.5\"} ",
+                "response_time_summary_count{timeWindow=\"60000\"} 2",
+                "response_time_summary_sum{timeWindow=\"60000\"} 6",
+                "response_time_summary{timeWindow=\"300000\",quantile=\"0.5\"} ",
+                "response_time_summary_count{timeWindow=\"300000\"} 2",
+                "response_time_summary_sum{timeWindow=\"300000\"} 6",
+                "# TYPE response_time_min gauge"
+        };
+        String[] lines = renderer.toString().split("\n");
+        Assert.assertTrue(lines.length > expectedLines.length + 2, renderer.toString());
+        for (int i = 0; i < expectedLines.length; i++) {
+            Assert.assertTrue(lines[i + 2].startsWith(expectedLines[i]), lines[i + 2]);
+        }
+    }
+
+    @Test
+    public void testRenderEscapedNamesAndLabels() {
+        Gauge.builder("http.in-progress").description("In progress\\requests\n").tag("path", "/a\"b\"\nc")
+                .tag("http.method", "GET").register(metricRegistry).increment(0.25);
+
+        PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+        renderer.render(metricRegistry.getAllMetrics());
+
+        String expected = "# HELP http_in_progress In progress\\\\requests\\n\n" +
+                "# TYPE http_in_progress gauge\n" +
+                "http_in_progress{http_method=\"GET\",path=\"/a\\\"b\\\"\\nc\"} 0.25\n";
+        Assert.assertEquals(renderer.toString(), expected);
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        Counter.builder("requests_total").tag("service", "hello").register(metricRegistry).increment(3);
+
+        PrometheusExpositionRenderer renderer = new PrometheusExpositionRenderer();
+        int length = renderer.render(metricRegistry.getAllMetrics());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.writeTo(outputStream);
+        Assert.assertEquals(outputStream.size(), length);
+        Assert.assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+                "# TYPE requests_total counter\nrequests_total{service=\"hello\"} 3\n");
+    }
+
+    @Test
+    public void testScrape() throws IOException {
+        Counter.builder("requests_total").tag("service", "hello").register(metricRegistry).increment(3);
+
+        PrometheusExpositionServer server = new PrometheusExpositionServer(() -> metricRegistry,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        try {
+            HttpURLConnection connection = openScrape(server);
+            Assert.assertEquals(connection.getResponseCode(), HttpURLConnection.HTTP_OK);
+            Assert.assertEquals(connection.getContentType(), PrometheusExpositionRenderer.CONTENT_TYPE);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream inputStream = connection.getInputStream()) {
+                inputStream.transferTo(body);
+            }
+            Assert.assertEquals(body.toString(StandardCharsets.UTF_8),
+                    "# TYPE requests_total counter\nrequests_total{service=\"hello\"} 3\n");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testScrapeBeforeMetricsEnabled() throws IOException {
+        PrometheusExpositionServer server = new PrometheusExpositionServer(() -> null,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        try {
+            Assert.assertEquals(openScrape(server).getResponseCode(), HttpURLConnection.HTTP_UNAVAILABLE);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testStartExpositionServer() {
+        Assert.assertNull(DefaultMetricProvider.startExpositionServer(null));
+        Assert.assertNull(DefaultMetricProvider.startExpositionServer("not-a-port"));
+        PrometheusExpositionServer server = DefaultMetricProvider.startExpositionServer("0");
+        Assert.assertNotNull(server);
+        server.stop();
+    }
+
+    private static HttpURLConnection openScrape(PrometheusExpositionServer server) throws IOException {
+        URL url = new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(),
+                PrometheusExpositionServer.METRICS_PATH);
+        return (HttpURLConnection) url.openConnection();
+    }
+}
@@ -24,6 +24,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.mock;
@@ -204,4 +207,48 @@ public class RollingHistogramTest {
         }
     }
 
+    @Test
+    public void testConcurrentRecords() throws InterruptedException {
+        RollingHistogram histogram = new RollingHistogram(Clock.DEFAULT, StatisticConfig.builder()
+                .percentiles(new double[]{0.5})
+                .expiry(Duration.ofDays(1)).buckets(3).build());
+        int threads = 64;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 1; j <= 1000; j++) {
+                    histogram.record(j);
+                }
+            });
+        }
+        // Snapshots taken while recording must not interfere with the recorders.
+        histogram.getSnapshot();
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1.0, 0.1);
+        Assert.assertEquals(snapshot.getMax(), 1000.0, 10.0);
+        Assert.assertEquals(snapshot.getMean(), 500.5, 5.0);
+        Assert.assertEquals(percentileValue(snapshot, 0.5), 500.0, 5.0);
+    }
+
+    @Test
+    public void testRecordsOfShortLivedThreads() throws InterruptedException {
+        RollingHistogram histogram = new RollingHistogram(Clock.DEFAULT, StatisticConfig.builder()
+                .percentiles(new double[]{0.5})
+                .expiry(Duration.ofDays(1)).buckets(3).build());
+        // Each value is recorded by a new thread, which only claims a stripe while recording.
+        for (int i = 1; i <= 200; i++) {
+            double value = i;
+            Thread thread = new Thread(() -> histogram.record(value));
+            thread.start();
+            thread.join();
+        }
+
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1.0, 0.1);
+        Assert.assertEquals(snapshot.getMax(), 200.0, 2.0);
+        Assert.assertEquals(snapshot.getMean(), 100.5, 1.0);
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.SchedulerMetrics;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.values.FutureValue;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Tests for {@link SchedulerMetrics}.
+ *
+ * @since 2.0.0
+ */
+public class SchedulerMetricsTest {
+
+    private static final int STRANDS = 20;
+    private static final int YIELDS = 3;
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeClass
+    public void init() {
+        metricRegistry = new MetricRegistry(new DefaultMetricProvider());
+        SchedulerMetrics.enable(metricRegistry);
+    }
+
+    @Test
+    public void testStrandLifecycleMetrics() {
+        // Yields by going back to the scheduler a few times before returning the number of times it yielded
+        Function<Object[], Object> yieldingFunction = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.resumeIndex < YIELDS) {
+                strand.resumeIndex++;
+                strand.setState(State.YIELD);
+                return null;
+            }
+            return (long) strand.resumeIndex;
+        };
+
+        Scheduler scheduler = new Scheduler(2, false);
+        List<FutureValue> futures = new ArrayList<>();
+        for (int i = 0; i < STRANDS; i++) {
+            futures.add(scheduler.schedule(new Object[1], yieldingFunction, null, null, "strand-" + i, null));
+        }
+        // Returns once all the strands are completed and the scheduler is poisoned
+        scheduler.start();
+
+        for (FutureValue future : futures) {
+            Assert.assertTrue(future.isDone);
+            Assert.assertEquals(future.result, (long) YIELDS);
+        }
+        Assert.assertEquals(counter("scheduler_strands_started_total").getValue(), STRANDS);
+        Assert.assertEquals(counter("scheduler_strands_completed_total").getValue(), STRANDS);
+        Assert.assertEquals(counter("scheduler_strand_yields_total").getValue(), STRANDS * YIELDS);
+        Assert.assertEquals(counter("scheduler_strand_parks_total").getValue(), 0);
+
+        // A yielded strand is put back in its own group while it is running, so each group is queued only once
+        Gauge queueWaitTime = gauge("scheduler_queue_wait_seconds");
+        Assert.assertEquals(queueWaitTime.getCount(), STRANDS);
+        Assert.assertTrue(queueWaitTime.getSum() >= 0);
+        Assert.assertEquals(gauge("scheduler_group_run_seconds").getCount(), STRANDS);
+    }
+
+    private Counter counter(String name) {
+        return (Counter) metricRegistry.lookup(new MetricId(name, "", Collections.emptySet()));
+    }
+
+    private Gauge gauge(String name) {
+        return (Gauge) metricRegistry.lookup(new MetricId(name, "", Collections.emptySet()));
+    }
+}
@@ -19,6 +19,7 @@ package org.ballerinalang.observe;
 
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.scheduling.SchedulerMetrics;
 import io.ballerina.runtime.observability.ObserveUtils;
 import io.ballerina.runtime.observability.metrics.BallerinaMetricsObserver;
 import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
@@ -57,6 +58,7 @@ public class NativeFunctions {
             selectedProvider.init();
             DefaultMetricRegistry.setInstance(new MetricRegistry(selectedProvider));
             ObserveUtils.addObserver(new BallerinaMetricsObserver());
+            SchedulerMetrics.enable(DefaultMetricRegistry.getInstance());
             return null;
         } catch (BError e) {
             return e;
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded cache with LRU and TinyLFU eviction, meant to back the `cache:Cache` object.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, so reads never block. Instead of reordering the eviction queues on
+ * every read, reads are recorded in small striped buffers which are replayed on the queues while holding the eviction
+ * lock, either by the next write or by the read which finds its buffer full. A read is dropped when its buffer is
+ * full, which only makes the eviction order slightly less accurate.
+ * <p>
+ * Once the cache grows past its capacity, a batch of entries is evicted at once, as configured by the eviction factor.
+ * With the LRU policy, the least recently used entries are evicted. With the TinyLFU policy, new entries are kept in a
+ * small LRU window, and when evicting, the least recently used entry of the window is only moved to the main LRU
+ * queue if it was accessed more frequently than the least recently used entry of the main queue. With the external
+ * policy, the cache neither evicts nor expires entries, and leaves both to its caller.
+ * <p>
+ * Expired entries are removed when they are read, and a bounded number of them are removed in each write, in the
+ * order of their expiry time.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ *
+ * @since 2.0.0
+ */
+class BoundedCache<K, V> {
+
+    private static final int READ_BUFFER_COUNT = 4 * ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+    private static final int EXPIRATIONS_PER_WRITE = 16;
+    private static final long NO_EXPIRY = -1;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final EvictionPolicy policy;
+    private final int capacity;
+    private final int evictionBatchSize;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<Node<K, V>>[] readBuffers;
+    private final Consumer<Node<K, V>> onAccess = this::onAccess;
+
+    // Guarded by the eviction lock
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> main = new AccessOrderQueue<>();
+    private final PriorityQueue<Node<K, V>> expiryQueue =
+            new PriorityQueue<>(Comparator.comparingLong(node -> node.expiryTime));
+    private final FrequencySketch sketch;
+    private final int windowCapacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(int capacity, double evictionFactor, EvictionPolicy policy) {
+        this.data = new ConcurrentHashMap<>(capacity);
+        this.policy = policy;
+        this.capacity = capacity;
+        this.evictionBatchSize = Math.max(1, (int) (capacity * evictionFactor));
+        this.readBuffers = new ReadBuffer[READ_BUFFER_COUNT];
+        for (int i = 0; i < READ_BUFFER_COUNT; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(capacity) : null;
+        this.windowCapacity = Math.max(1, capacity / 100);
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is not in the cache. With a native eviction policy, an expired
+     * value is removed from the cache and returned, so that the caller can tell it apart from a missing value.
+     */
+    V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (policy != EvictionPolicy.EXTERNAL && node.isExpired(System.nanoTime())) {
+            misses.increment();
+            evictionLock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    expirations.increment();
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+            return node.value;
+        }
+
+        hits.increment();
+        if (policy != EvictionPolicy.EXTERNAL) {
+            ReadBuffer<Node<K, V>> buffer = readBuffers[(int) Thread.currentThread().getId() & (READ_BUFFER_COUNT - 1)];
+            if (!buffer.offer(node) && evictionLock.tryLock()) {
+                try {
+                    drainReadBuffers();
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is not in the cache, without recording the access.
+     */
+    V peek(K key) {
+        Node<K, V> node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Adds or replaces the value of the key, evicting a batch of entries if the cache grows past its capacity.
+     *
+     * @param expiryTime the value of {@link System#nanoTime()} after which the entry expires, or -1 if it does not
+     */
+    void put(K key, V value, long expiryTime) {
+        Node<K, V> node = new Node<>(key, value, expiryTime);
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            } else if (policy != EvictionPolicy.EXTERNAL && data.size() > capacity) {
+                evict();
+            }
+            link(node);
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            if (expiryTime != NO_EXPIRY && policy != EvictionPolicy.EXTERNAL) {
+                expiryQueue.add(node);
+                if (expiryQueue.size() > 2 * Math.max(capacity, data.size())) {
+                    // drop the replaced and removed entries, which are otherwise skipped once they reach the head
+                    expiryQueue.removeIf(queued -> queued.retired);
+                }
+                expireEntries(System.nanoTime(), EXPIRATIONS_PER_WRITE);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    void remove(K key) {
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    void clear() {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            for (Node<K, V> node : data.values()) {
+                node.retired = true;
+            }
+            data.clear();
+            window.clear();
+            main.clear();
+            expiryQueue.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    void cleanUp() {
+        if (policy == EvictionPolicy.EXTERNAL) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            expireEntries(System.nanoTime(), Integer.MAX_VALUE);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    boolean containsKey(K key) {
+        return data.containsKey(key);
+    }
+
+    List<K> keys() {
+        return new ArrayList<>(data.keySet());
+    }
+
+    int size() {
+        return data.size();
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    long expirationCount() {
+        return expirations.sum();
+    }
+
+    private void link(Node<K, V> node) {
+        if (policy == EvictionPolicy.LRU) {
+            main.addFirst(node);
+        } else if (policy == EvictionPolicy.TINY_LFU) {
+            window.addFirst(node);
+            if (window.size > windowCapacity) {
+                main.addFirst(window.removeLast());
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.retired = true;
+        if (node.queue != null) {
+            node.queue.remove(node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.retired) {
+            return;
+        }
+        if (node.queue != null) {
+            node.queue.moveToFirst(node);
+        }
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<Node<K, V>> buffer : readBuffers) {
+            buffer.drainTo(onAccess);
+        }
+    }
+
+    private void evict() {
+        for (int i = 0; i < evictionBatchSize; i++) {
+            Node<K, V> victim = selectVictim();
+            if (victim == null) {
+                return;
+            }
+            data.remove(victim.key, victim);
+            unlink(victim);
+            evictions.increment();
+        }
+    }
+
+    private Node<K, V> selectVictim() {
+        if (policy == EvictionPolicy.LRU) {
+            return main.last();
+        }
+
+        Node<K, V> candidate = window.last();
+        Node<K, V> victim = main.last();
+        if (candidate == null) {
+            return victim;
+        }
+        if (victim == null) {
+            return candidate;
+        }
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            // admit the candidate from the window to the main queue in place of the victim
+            window.remove(candidate);
+            main.addFirst(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    private void expireEntries(long now, int maxExpirations) {
+        int expired = 0;
+        Node<K, V> node;
+        while (expired < maxExpirations && (node = expiryQueue.peek()) != null) {
+            if (!node.retired) {
+                if (!node.isExpired(now)) {
+                    break;
+                }
+                data.remove(node.key, node);
+                unlink(node);
+                expirations.increment();
+                expired++;
+            }
+            expiryQueue.poll();
+        }
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+    /**
+     * Eviction policies of the cache.
+     */
+    enum EvictionPolicy {
+        EXTERNAL, LRU, TINY_LFU
+    }
+
+    /**
+     * An entry of the cache.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long expiryTime;
+
+        // Guarded by the eviction lock
+        private boolean retired;
+        private AccessOrderQueue<K, V> queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long expiryTime) {
+            this.key = key;
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired(long now) {
+            return expiryTime != NO_EXPIRY && expiryTime < now;
+        }
+    }
+
+    /**
+     * A doubly linked queue of entries in access order, with the most recently used entry first.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class AccessOrderQueue<K, V> {
+
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private int size;
+
+        private void addFirst(Node<K, V> node) {
+            node.queue = this;
+            node.prev = null;
+            node.next = head;
+            if (head == null) {
+                tail = node;
+            } else {
+                head.prev = node;
+            }
+            head = node;
+            size++;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.queue = null;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        private Node<K, V> removeLast() {
+            Node<K, V> node = tail;
+            remove(node);
+            return node;
+        }
+
+        private void moveToFirst(Node<K, V> node) {
+            if (node != head) {
+                remove(node);
+                addFirst(node);
+            }
+        }
+
+        private Node<K, V> last() {
+            return tail;
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * A bounded buffer of reads which have not been applied to the access order queues yet. Any number of threads
+     * may add to the buffer, while it is drained only while holding the eviction lock.
+     *
+     * @param <N> the type of the buffered entries
+     */
+    private static final class ReadBuffer<N> {
+
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<N> buffer = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        /**
+         * Adds the entry to the buffer, dropping it if another thread is adding at the same time.
+         *
+         * @return false if the buffer is full
+         */
+        private boolean offer(N node) {
+            long tail = writeCount.get();
+            if (tail - readCount >= SIZE) {
+                return false;
+            }
+            if (writeCount.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), node);
+            }
+            return true;
+        }
+
+        private void drainTo(Consumer<N> consumer) {
+            long head = readCount;
+            long tail = writeCount.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                N node = buffer.get(index);
+                if (node == null) {
+                    // the writer has not published the entry yet
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(node);
+            }
+            readCount = head;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+/**
+ * Approximate access frequency of cache keys, used by the TinyLFU admission policy. This is a count-min sketch with
+ * four 4-bit counters per key, so that the frequency of a key is never underestimated but may be overestimated when
+ * keys collide. All counters are halved once the number of recorded accesses reaches ten times the capacity of the
+ * cache, so that keys which were popular in the past do not stay in the cache forever.
+ * <p>
+ * This class is not thread safe, it is only accessed while holding the eviction lock of the cache.
+ *
+ * @since 2.0.0
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(10L * Math.max(capacity, 16), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of times the key was accessed, between 0 and 15.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, getCount(hash, i));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(hash, i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    private int getCount(int hash, int depth) {
+        int index = indexOf(hash, depth);
+        int offset = counterOffset(hash, depth);
+        return (int) ((table[index] >>> offset) & 0xfL);
+    }
+
+    private boolean incrementAt(int hash, int depth) {
+        int index = indexOf(hash, depth);
+        int offset = counterOffset(hash, depth);
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private static int counterOffset(int hash, int depth) {
+        // each long holds sixteen counters, every depth uses a different counter of the same long
+        return (((hash >>> (depth << 3)) & 3) << 2 | depth) << 2;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
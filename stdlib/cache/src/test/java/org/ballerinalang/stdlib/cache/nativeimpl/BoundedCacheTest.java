@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.stdlib.cache.nativeimpl.BoundedCache.EvictionPolicy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the native cache engine, which does not need the Ballerina cache module to be compiled.
+ */
+public class BoundedCacheTest {
+
+    private static final long NO_EXPIRY = -1;
+
+    @Test
+    public void testLruEviction() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, 0.2, EvictionPolicy.LRU);
+        for (int i = 1; i <= 10; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        Assert.assertEquals(cache.get(1), "v1");
+
+        // Growing past the capacity evicts a batch of two, which are the least recently used entries.
+        cache.put(11, "v11", NO_EXPIRY);
+        Assert.assertEquals(cache.size(), 9);
+        Assert.assertEquals(cache.evictionCount(), 2);
+        Assert.assertTrue(cache.containsKey(1));
+        Assert.assertFalse(cache.containsKey(2));
+        Assert.assertFalse(cache.containsKey(3));
+        Assert.assertTrue(cache.containsKey(11));
+
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals(cache.hitCount(), 1);
+        Assert.assertEquals(cache.missCount(), 1);
+    }
+
+    @Test
+    public void testTinyLfuKeepsFrequentEntries() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 0.01, EvictionPolicy.TINY_LFU);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                Assert.assertEquals(cache.get(i), "v" + i);
+            }
+        }
+
+        // A scan of keys which are only used once does not push out the frequently used ones.
+        for (int i = 100; i < 300; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        Assert.assertEquals(cache.size(), 100);
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(cache.containsKey(i), "frequently used key " + i + " was evicted");
+        }
+    }
+
+    @Test
+    public void testExternalPolicyDoesNotEvict() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, 0.2, EvictionPolicy.EXTERNAL);
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        Assert.assertEquals(cache.size(), 20);
+        Assert.assertEquals(cache.evictionCount(), 0);
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, 0.2, EvictionPolicy.LRU);
+        long expiryTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        cache.put(1, "v1", expiryTime);
+        cache.put(2, "v2", expiryTime);
+        cache.put(3, "v3", expiryTime);
+        cache.put(4, "v4", NO_EXPIRY);
+        Assert.assertEquals(cache.get(1), "v1");
+        Thread.sleep(100);
+
+        // An expired value is still returned once, so that the caller can tell it apart from a missing one.
+        Assert.assertEquals(cache.get(1), "v1");
+        Assert.assertFalse(cache.containsKey(1));
+        Assert.assertEquals(cache.expirationCount(), 1);
+
+        cache.cleanUp();
+        Assert.assertEquals(cache.keys(), List.of(4));
+        Assert.assertEquals(cache.expirationCount(), 3);
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, 0.2, EvictionPolicy.TINY_LFU);
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        cache.put(0, "w0", NO_EXPIRY);
+        Assert.assertEquals(cache.peek(0), "w0");
+        cache.remove(1);
+        Assert.assertFalse(cache.containsKey(1));
+        Assert.assertEquals(cache.size(), 4);
+
+        cache.clear();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertNull(cache.get(0));
+        for (int i = 0; i < 12; i++) {
+            cache.put(i, "v" + i, NO_EXPIRY);
+        }
+        Assert.assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        BoundedCache<Integer, String> cache = new BoundedCache<>(capacity, 0.1, EvictionPolicy.TINY_LFU);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20000; i++) {
+                        int key = random.nextInt(1000);
+                        if (random.nextInt(4) == 0) {
+                            cache.put(key, "v" + key, NO_EXPIRY);
+                        } else {
+                            String value = cache.get(key);
+                            Assert.assertTrue(value == null || value.equals("v" + key), value);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertTrue(cache.size() <= capacity, "size " + cache.size());
+        for (Integer key : cache.keys()) {
+            Assert.assertEquals(cache.peek(key), "v" + key);
+        }
+    }
+
+    @Test
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        Assert.assertEquals(sketch.frequency("a"), 0);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+        }
+        Assert.assertEquals(sketch.frequency("a"), 5);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("b");
+        }
+        Assert.assertEquals(sketch.frequency("b"), 15);
+        Assert.assertEquals(sketch.frequency("c"), 0);
+    }
+}
@@ -18,9 +18,16 @@
 package org.ballerinalang.stdlib.io.channels;
 
 import org.ballerinalang.stdlib.io.channels.base.Channel;
+import org.ballerinalang.stdlib.io.utils.IOConstants;
 import org.ballerinalang.stdlib.io.utils.IOUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ByteChannel;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
@@ -28,17 +35,80 @@ import java.nio.channels.WritableByteChannel;
  * <p>
  * Represents the channel to perform I/O operations on file.
  * </p>
+ * <p>
+ * When the BALLERINA_IO_MMAP system variable is set to `true`, readable files are read through regions of the file
+ * mapped into memory, which copies the bytes from the page cache without a read system call. Only one region is
+ * mapped at a time, and it is unmapped when the next region is mapped and when the channel is closed.
+ * </p>
  */
 public class FileIOChannel extends Channel {
 
+    private static final boolean MEMORY_MAPPED_READS =
+            Boolean.parseBoolean(System.getenv(IOConstants.BALLERINA_IO_MMAP_ENV_VAR));
+
+    /**
+     * The sun.misc.Unsafe instance and its invokeCleaner method, which are used to unmap regions. These are null if
+     * they are not available, in which case regions are unmapped when they are garbage collected.
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
     /**
      * Maintains the file channel implementation.
      */
     private FileChannel channel;
 
+    /**
+     * Specifies whether the file is read through regions mapped into memory, if it is readable.
+     */
+    private final boolean memoryMapped;
+
+    /**
+     * The region of the file which is mapped into memory, if any.
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * The position in the file at which the mapped region starts.
+     */
+    private long regionPosition;
+
+    /**
+     * The position of the next memory mapped read, or -1 if it has to be taken from the channel. The position of the
+     * channel is only updated before the channel is used directly.
+     */
+    private long position = -1;
+
+    /**
+     * The size of the file when it was last checked.
+     */
+    private long size;
+
     public FileIOChannel(FileChannel channel) {
+        this(channel, MEMORY_MAPPED_READS);
+    }
+
+    public FileIOChannel(FileChannel channel, boolean memoryMapped) {
         super(channel);
         this.channel = channel;
+        this.memoryMapped = memoryMapped;
     }
 
     /**
@@ -55,6 +125,72 @@ public class FileIOChannel extends Channel {
         }
     }
 
+    /**
+     * Reads bytes from the file, through a region of the file mapped into memory if memory mapped reads are enabled
+     * and the file is readable.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int read(ByteBuffer buffer) throws IOException {
+        if (!memoryMapped || !isReadable()) {
+            return super.read(buffer);
+        }
+        if (position < 0) {
+            position = channel.position();
+            size = channel.size();
+        }
+        if (position >= size) {
+            // The file could have grown since its size was checked
+            size = channel.size();
+            if (position >= size) {
+                // Reading through the channel marks the end of the file
+                syncChannelPosition();
+                return super.read(buffer);
+            }
+        }
+        int readBytes = 0;
+        while (buffer.hasRemaining() && position < size) {
+            if (null == region || position < regionPosition || position >= regionPosition + region.capacity()) {
+                unmapRegion();
+                regionPosition = position;
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                     Math.min(IOConstants.MAPPED_REGION_SIZE, size - position));
+            }
+            int offset = (int) (position - regionPosition);
+            int count = Math.min(buffer.remaining(), region.capacity() - offset);
+            region.limit(offset + count);
+            region.position(offset);
+            buffer.put(region);
+            region.clear();
+            position += count;
+            readBytes += count;
+        }
+        return readBytes;
+    }
+
+    @Override
+    public ByteChannel getByteChannel() {
+        try {
+            syncChannelPosition();
+        } catch (IOException e) {
+            throw IOUtils.createError("error occurred while reading file: " + e.getMessage());
+        }
+        return super.getByteChannel();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        syncChannelPosition();
+        return super.getInputStream();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        unmapRegion();
+        super.close();
+    }
+
     @Override
     public Channel getChannel() {
         throw new UnsupportedOperationException();
@@ -64,4 +200,27 @@ public class FileIOChannel extends Channel {
     public boolean remaining() {
         return false;
     }
+
+    /**
+     * Moves the channel to the position of the memory mapped reads, so that the channel can be used directly.
+     */
+    private synchronized void syncChannelPosition() throws IOException {
+        if (position >= 0) {
+            channel.position(position);
+            position = -1;
+        }
+    }
+
+    private void unmapRegion() {
+        MappedByteBuffer mappedRegion = region;
+        region = null;
+        if (null == mappedRegion || null == INVOKE_CLEANER) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, mappedRegion);
+        } catch (ReflectiveOperationException e) {
+            // The region is unmapped once it is garbage collected
+        }
+    }
 }
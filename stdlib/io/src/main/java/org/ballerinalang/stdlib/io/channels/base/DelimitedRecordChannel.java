@@ -18,6 +18,7 @@
 package org.ballerinalang.stdlib.io.channels.base;
 
 import org.ballerinalang.stdlib.io.csv.Format;
+import org.ballerinalang.stdlib.io.csv.RecordTokenizer;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +56,32 @@ public class DelimitedRecordChannel implements IOChannel {
      */
     private StringBuilder persistentCharSequence;
 
+    /**
+     * <p>
+     * The index of the first character in the persistentCharSequence which is not read as a record yet.
+     * </p>
+     * <p>
+     * This is only used when the records are read through the tokenizer, the characters before this index are
+     * removed when more characters are read from the channel.
+     * </p>
+     */
+    private int recordStart = 0;
+
+    /**
+     * The index of the first character in the persistentCharSequence which is not searched for the end of the record.
+     */
+    private int searchStart = 0;
+
+    /**
+     * Splits the records and fields of the format without regular expressions, if a format is specified.
+     */
+    private RecordTokenizer tokenizer;
+
+    /**
+     * The number of characters read from the channel at once when the records are read through the tokenizer.
+     */
+    private static final int TOKENIZER_CHARACTER_COUNT = 4096;
+
     /**
      * A rough character count which will contain a record. This will be resized dynamically if the length of the
      * record is long.
@@ -100,6 +127,7 @@ public class DelimitedRecordChannel implements IOChannel {
         this.channel = channel;
         this.format = format;
         this.persistentCharSequence = new StringBuilder();
+        this.tokenizer = new RecordTokenizer(format);
     }
 
     public DelimitedRecordChannel(CharacterChannel channel, String recordSeparator, String fieldSeparator) {
@@ -250,8 +278,28 @@ public class DelimitedRecordChannel implements IOChannel {
      * @return the record content.
      */
     private String readRecordFromChannel() throws BallerinaIOException {
+        return readCharactersFromChannel(null != tokenizer ? TOKENIZER_CHARACTER_COUNT : recordCharacterCount);
+    }
+
+    /**
+     * <p>
+     * Reads the given number of characters from the channel into the persistentCharSequence.
+     * </p>
+     * <p>
+     * The characters which are already read as records are removed before the characters are appended.
+     * </p>
+     *
+     * @param characterCount the number of characters to read.
+     * @return the characters which were read.
+     */
+    private String readCharactersFromChannel(int characterCount) throws BallerinaIOException {
+        if (recordStart > 0) {
+            persistentCharSequence.delete(0, recordStart);
+            searchStart = searchStart - recordStart;
+            recordStart = 0;
+        }
         String readCharacters;
-        readCharacters = channel.read(recordCharacterCount);
+        readCharacters = channel.read(characterCount);
         if (log.isTraceEnabled()) {
             log.trace(String.format("char [] get from channel,%d=%s", channel.hashCode(), readCharacters));
         }
@@ -332,6 +380,47 @@ public class DelimitedRecordChannel implements IOChannel {
         }
     }
 
+    /**
+     * <p>
+     * Reads the fields of the next record through the tokenizer.
+     * </p>
+     * <p>
+     * The records are read as with splitting the characters by the record separator. If there are no more records,
+     * the remaining characters are read as the final record.
+     * </p>
+     *
+     * @return the fields of the record, or null if the final record is empty.
+     * @throws BallerinaIOException during I/O error.
+     */
+    private String[] readTokenizedRecord() throws BallerinaIOException {
+        int recordEnd;
+        while ((recordEnd = tokenizer.findRecordEnd(persistentCharSequence, searchStart,
+                                                    persistentCharSequence.length())) < 0) {
+            searchStart = persistentCharSequence.length();
+            if (channel.hasReachedEnd()) {
+                String[] fields = null;
+                if (persistentCharSequence.length() > recordStart) {
+                    fields = tokenizer.getFields(persistentCharSequence, recordStart, persistentCharSequence.length());
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Final record is get from channel " + channel.hashCode() + " number of records get " +
+                            "from channel " + (numberOfRecordsReadThroughChannel + 1));
+                }
+                this.remaining = false;
+                tokenizer.reset();
+                persistentCharSequence.setLength(0);
+                recordStart = 0;
+                searchStart = 0;
+                return fields;
+            }
+            readCharactersFromChannel(TOKENIZER_CHARACTER_COUNT);
+        }
+        String[] fields = tokenizer.getFields(persistentCharSequence, recordStart, recordEnd);
+        recordStart = recordEnd + 1;
+        searchStart = recordStart;
+        return fields;
+    }
+
     /**
      * <p>
      * Read the next readRecord.
@@ -352,9 +441,15 @@ public class DelimitedRecordChannel implements IOChannel {
                 log.debug(String.format("Reading record %d from %d", numberOfRecordsReadThroughChannel,
                         channel.hashCode()));
             }
-            String record = readRecord();
-            if (!record.isEmpty() || remaining) {
-                fields = getFields(record);
+            String[] recordFields;
+            if (null != tokenizer) {
+                recordFields = readTokenizedRecord();
+            } else {
+                String record = readRecord();
+                recordFields = (!record.isEmpty() || remaining) ? getFields(record) : null;
+            }
+            if (null != recordFields) {
+                fields = recordFields;
                 numberOfRecordsReadThroughChannel++;
                 if (log.isDebugEnabled()) {
                     log.debug("Record " + numberOfRecordsReadThroughChannel + " returned " + fields.length + " from " +
@@ -460,7 +555,7 @@ public class DelimitedRecordChannel implements IOChannel {
 
     @Override
     public boolean remaining() {
-        return persistentCharSequence.length() > 0;
+        return persistentCharSequence.length() > recordStart;
     }
 
     /**
@@ -470,7 +565,7 @@ public class DelimitedRecordChannel implements IOChannel {
      * @throws BallerinaIOException if encoding error or channel reading error happens
      */
     public boolean hasNext() throws BallerinaIOException {
-        if (remaining && persistentCharSequence.length() == 0) {
+        if (remaining && persistentCharSequence.length() == recordStart) {
             //If this is the case we need to further verify whether there will be more bytes left to be read
             //Remaining can become false in the next iteration
             String readChars = readRecordFromChannel();
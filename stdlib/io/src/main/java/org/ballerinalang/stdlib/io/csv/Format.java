@@ -25,15 +25,15 @@ public enum Format {
     /**
      * The format would default, however empty lines will be allowed.
      */
-    DEFAULT(",", "\\r?\\n", ",", "\n", false),
+    DEFAULT(",", "\\r?\\n", ",", "\n", ',', false, false),
     /**
      * CSV should conform with RFC4180 specification.
      */
-    CSV(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", "\\r?\\n", ",", "\n", true),
+    CSV(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", "\\r?\\n", ",", "\n", ',', true, true),
     /**
      * Tab delimited records.
      */
-    TDF("\\t", "\\r?\\n", "\t", "\n", false);
+    TDF("\\t", "\\r?\\n", "\t", "\n", '\t', false, false);
 
     /**
      * Defines the record separator for the format.
@@ -51,16 +51,26 @@ public enum Format {
      * Defines the field separator which should be used when writing.
      */
     private String writeFieldSeparator;
+    /**
+     * Defines the character which separates the fields, used when reading without the field separator regex.
+     */
+    private char fieldSeparatorChar;
+    /**
+     * Specifies whether fields may be enclosed in double quotes, used when reading without the field separator regex.
+     */
+    private boolean quoted;
     /**
      * Specifies whether to ignore blanks.
      */
     private boolean ignoreBlanks;
 
-    Format(String rfs, String rrs, String wfs, String wrs, boolean ignoreBlank) {
+    Format(String rfs, String rrs, String wfs, String wrs, char fsc, boolean quoted, boolean ignoreBlank) {
         this.readFieldSeparator = rfs;
         this.readRecSeparator = rrs;
         this.writeFieldSeparator = wfs;
         this.writeRecSeparator = wrs;
+        this.fieldSeparatorChar = fsc;
+        this.quoted = quoted;
         this.ignoreBlanks = ignoreBlank;
     }
 
@@ -80,6 +90,14 @@ public enum Format {
         return writeFieldSeparator;
     }
 
+    public char getFieldSeparatorChar() {
+        return fieldSeparatorChar;
+    }
+
+    public boolean isQuoted() {
+        return quoted;
+    }
+
     public boolean shouldIgnoreBlanks() {
         return ignoreBlanks;
     }
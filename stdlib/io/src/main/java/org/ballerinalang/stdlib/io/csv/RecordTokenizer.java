@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Splits characters into records and fields of a given {@link Format} in a single pass, without regular expressions.
+ * </p>
+ * <p>
+ * Records are separated by new lines, with an optional carriage return. For the CSV format, fields may be enclosed
+ * in double quotes as specified in RFC4180, in which case they may contain field separators, new lines and escaped
+ * double quotes.
+ * </p>
+ * <p>
+ * <b>Note : </b> the tokenizer keeps the state of the record being searched, hence it should not be shared between
+ * channels.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class RecordTokenizer {
+
+    private static final char QUOTE = '"';
+    private static final char RECORD_SEPARATOR = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED_FIELD = 1;
+    private static final int QUOTED_FIELD = 2;
+    private static final int QUOTE_IN_QUOTED_FIELD = 3;
+
+    private final char fieldSeparator;
+    private final boolean quoted;
+
+    /**
+     * The state of the record being searched, which is kept when the end of the record is not found yet.
+     */
+    private int state = FIELD_START;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder quotedField = new StringBuilder();
+
+    public RecordTokenizer(Format format) {
+        this.fieldSeparator = format.getFieldSeparatorChar();
+        this.quoted = format.isQuoted();
+    }
+
+    /**
+     * Finds the record separator which ends the current record.
+     * <p>
+     * If the record separator is not found, the search could be continued from the given end once more characters
+     * are available.
+     * </p>
+     *
+     * @param chars the characters which contain the record.
+     * @param start the index of the first character which is not searched yet.
+     * @param end   the index after the last available character.
+     * @return the index of the record separator, or -1 if the record does not end within the available characters.
+     */
+    public int findRecordEnd(CharSequence chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            switch (state) {
+                case QUOTED_FIELD:
+                    if (c == QUOTE) {
+                        state = QUOTE_IN_QUOTED_FIELD;
+                    }
+                    continue;
+                case QUOTE_IN_QUOTED_FIELD:
+                    if (c == QUOTE) {
+                        //Escaped double quote
+                        state = QUOTED_FIELD;
+                        continue;
+                    }
+                    state = UNQUOTED_FIELD;
+                    break;
+                case FIELD_START:
+                    if (quoted && c == QUOTE) {
+                        state = QUOTED_FIELD;
+                        continue;
+                    }
+                    state = UNQUOTED_FIELD;
+                    break;
+                default:
+                    break;
+            }
+            if (c == RECORD_SEPARATOR) {
+                state = FIELD_START;
+                return i;
+            }
+            if (c == fieldSeparator) {
+                state = FIELD_START;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resets the state of the record being searched, once the remaining characters are taken as the final record.
+     */
+    public void reset() {
+        state = FIELD_START;
+    }
+
+    /**
+     * <p>
+     * Gets the fields of the record.
+     * </p>
+     * <p>
+     * As with splitting the record by the field separator, the trailing empty fields are removed, and a record without
+     * field separators has a single field.
+     * </p>
+     *
+     * @param chars the characters which contain the record.
+     * @param start the index of the first character of the record.
+     * @param end   the index of the record separator which ends the record, or the index after the last character.
+     * @return the fields of the record.
+     */
+    public String[] getFields(CharSequence chars, int start, int end) {
+        if (end > start && chars.charAt(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        fields.clear();
+        int lastNonEmptyField = -1;
+        int position = start;
+        while (true) {
+            int fieldEnd = -1;
+            if (quoted && position < end && chars.charAt(position) == QUOTE) {
+                fieldEnd = readQuotedField(chars, position + 1, end);
+            }
+            if (fieldEnd >= 0) {
+                fields.add(quotedField.toString());
+                lastNonEmptyField = fields.size() - 1;
+            } else {
+                fieldEnd = position;
+                while (fieldEnd < end && chars.charAt(fieldEnd) != fieldSeparator) {
+                    fieldEnd++;
+                }
+                fields.add(chars.subSequence(position, fieldEnd).toString());
+                if (fieldEnd > position) {
+                    lastNonEmptyField = fields.size() - 1;
+                }
+            }
+            if (fieldEnd >= end) {
+                break;
+            }
+            position = fieldEnd + 1;
+        }
+        if (fields.size() == 1) {
+            return new String[]{fields.get(0)};
+        }
+        return fields.subList(0, lastNonEmptyField + 1).toArray(new String[0]);
+    }
+
+    /**
+     * Reads a field enclosed in double quotes into the quoted field builder.
+     *
+     * @param chars the characters which contain the record.
+     * @param start the index after the opening double quote.
+     * @param end   the index after the last character of the record.
+     * @return the index of the field separator which ends the field or the end of the record, or -1 if the closing
+     * double quote is missing or followed by other characters, in which case the field is kept as it is.
+     */
+    private int readQuotedField(CharSequence chars, int start, int end) {
+        quotedField.setLength(0);
+        int i = start;
+        while (i < end) {
+            char c = chars.charAt(i++);
+            if (c != QUOTE) {
+                quotedField.append(c);
+            } else if (i < end && chars.charAt(i) == QUOTE) {
+                quotedField.append(QUOTE);
+                i++;
+            } else if (i == end || chars.charAt(i) == fieldSeparator) {
+                return i;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -29,7 +29,9 @@ import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.api.values.BTypedesc;
 import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
@@ -39,9 +41,6 @@ import org.ballerinalang.stdlib.io.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -67,97 +66,99 @@ public class GetTable {
             if (delimitedChannel.hasReachedEnd()) {
                 return IOUtils.createEoFError();
             }
-            List<String[]> records = new ArrayList<>();
+            Type describingType = bTypedesc.getDescribingType();
+            TableType newTableType;
+            if (key.size() == 0) {
+                newTableType = TypeCreator.createTableType(describingType, false);
+            } else {
+                newTableType = TypeCreator.createTableType(describingType, key.getStringArray(), false);
+            }
+            BTable table = ValueCreator.createTableValue(newTableType);
+            RecordBinder binder = new RecordBinder((StructureType) describingType);
+            //Each record is bound to the record type as it is read, instead of keeping all the records in memory
             while (delimitedChannel.hasNext()) {
-                records.add(delimitedChannel.read());
+                BMap<BString, Object> record = binder.bind(delimitedChannel.read());
+                if (record != null) {
+                    table.add(record);
+                }
             }
-            return getTable(bTypedesc, key, records);
+            return table;
         } catch (BallerinaIOException | BError e) {
             String msg = "failed to process the delimited file: " + e.getMessage();
             return IOUtils.createError(msg);
         }
     }
 
-    private static BTable getTable(BTypedesc bTypedesc, BArray key, List<String[]> records) {
-        Type describingType = bTypedesc.getDescribingType();
-        TableType newTableType;
-        if (key.size() == 0) {
-            newTableType = TypeCreator.createTableType(describingType, false);
-        } else {
-            newTableType = TypeCreator.createTableType(describingType, key.getStringArray(), false);
+    /**
+     * Binds the fields of records to a record type, with the type of each field resolved once.
+     */
+    private static class RecordBinder {
+
+        private static final int UNSUPPORTED_UNION = -1;
+
+        private final Type recordType;
+        private final BString[] fieldNames;
+        private final int[] fieldTypeTags;
+
+        RecordBinder(StructureType structType) {
+            this.recordType = structType;
+            Map<String, Field> internalStructFields = structType.getFields();
+            this.fieldNames = new BString[internalStructFields.size()];
+            this.fieldTypeTags = new int[internalStructFields.size()];
+            int i = 0;
+            for (Field internalStructField : internalStructFields.values()) {
+                fieldNames[i] = StringUtils.fromString(internalStructField.getFieldName());
+                fieldTypeTags[i] = getTypeTag(internalStructField.getFieldType());
+                i++;
+            }
         }
-        BTable table = ValueCreator.createTableValue(newTableType);
-        StructureType structType = (StructureType) describingType;
-        for (String[] fields : records) {
-            final Map<String, Object> struct = getStruct(fields, structType);
-            if (struct != null) {
-                table.add(ValueCreator.createRecordValue(describingType.getPackage(), describingType.getName(),
-                                                         struct));
+
+        private static int getTypeTag(Type fieldType) {
+            if (fieldType.getTag() != TypeTags.UNION_TAG) {
+                return fieldType.getTag();
+            }
+            List<Type> members = ((UnionType) fieldType).getMemberTypes();
+            if (members.get(0).getTag() == TypeTags.NULL_TAG) {
+                return members.get(1).getTag();
+            } else if (members.get(1).getTag() == TypeTags.NULL_TAG) {
+                return members.get(0).getTag();
             }
+            return UNSUPPORTED_UNION;
         }
-        return table;
-    }
 
-    private static Map<String, Object> getStruct(String[] fields, final StructureType structType) {
-        Map<String, Field> internalStructFields = structType.getFields();
-        int fieldLength = internalStructFields.size();
-        Map<String, Object> struct = null;
-        if (fields.length > 0) {
-            Iterator<Map.Entry<String, Field>> itr = internalStructFields.entrySet().iterator();
-            struct = new HashMap();
-            for (int i = 0; i < fieldLength; i++) {
-                final Field internalStructField = itr.next().getValue();
-                final int type = internalStructField.getFieldType().getTag();
-                String fieldName = internalStructField.getFieldName();
+        BMap<BString, Object> bind(String[] fields) {
+            if (fields.length == 0) {
+                return null;
+            }
+            BMap<BString, Object> record = ValueCreator.createRecordValue(recordType.getPackage(),
+                                                                          recordType.getName());
+            for (int i = 0; i < fieldNames.length; i++) {
+                Object value = null;
                 if (fields.length > i) {
-                    String value = fields[i];
-                    switch (type) {
-                        case TypeTags.INT_TAG:
-                        case TypeTags.FLOAT_TAG:
-                        case TypeTags.STRING_TAG:
-                        case TypeTags.BOOLEAN_TAG:
-                            populateRecord(type, struct, fieldName, value);
-                            break;
-                        case TypeTags.UNION_TAG:
-                            List<Type> members = ((UnionType) internalStructField.getFieldType()).getMemberTypes();
-                            if (members.get(0).getTag() == TypeTags.NULL_TAG) {
-                                populateRecord(members.get(1).getTag(), struct, fieldName, value);
-                            } else if (members.get(1).getTag() == TypeTags.NULL_TAG) {
-                                populateRecord(members.get(0).getTag(), struct, fieldName, value);
-                            } else {
-                                throw IOUtils.createError("unsupported nillable field for value: " + value);
-                            }
-                            break;
-                        default:
-                            throw IOUtils.createError(
-                                    "type casting support only for int, float, boolean and string. "
-                                            + "Invalid value for the struct field: " + value);
+                    if (fieldTypeTags[i] == UNSUPPORTED_UNION) {
+                        throw IOUtils.createError("unsupported nillable field for value: " + fields[i]);
                     }
-                } else {
-                    struct.put(fieldName, null);
+                    value = getValue(fieldTypeTags[i], fields[i]);
                 }
+                record.put(fieldNames[i], value);
             }
+            return record;
         }
-        return struct;
-    }
 
-    private static void populateRecord(int type, Map<String, Object> struct, String fieldName, String value) {
-        switch (type) {
-            case TypeTags.INT_TAG:
-                struct.put(fieldName, (value == null || value.isEmpty()) ? null : Long.parseLong(value));
-                return;
-            case TypeTags.FLOAT_TAG:
-                struct.put(fieldName, (value == null || value.isEmpty()) ? null : Double.parseDouble(value));
-                break;
-            case TypeTags.STRING_TAG:
-                struct.put(fieldName, value);
-                break;
-            case TypeTags.BOOLEAN_TAG:
-                struct.put(fieldName, (value == null || value.isEmpty()) ? null : (Boolean.parseBoolean(value)));
-                break;
-            default:
-                throw IOUtils.createError("type casting support only for int, float, boolean and string. "
-                        + "Invalid value for the struct field: " + value);
+        private static Object getValue(int type, String value) {
+            switch (type) {
+                case TypeTags.INT_TAG:
+                    return (value == null || value.isEmpty()) ? null : Long.parseLong(value);
+                case TypeTags.FLOAT_TAG:
+                    return (value == null || value.isEmpty()) ? null : Double.parseDouble(value);
+                case TypeTags.STRING_TAG:
+                    return StringUtils.fromString(value);
+                case TypeTags.BOOLEAN_TAG:
+                    return (value == null || value.isEmpty()) ? null : (Boolean.parseBoolean(value));
+                default:
+                    throw IOUtils.createError("type casting support only for int, float, boolean and string. "
+                            + "Invalid value for the struct field: " + value);
+            }
         }
     }
 }
@@ -53,6 +53,16 @@ public class IOConstants {
      */
     public static final int CHANNEL_BUFFER_SIZE = 16384;
 
+    /**
+     * The system variable which enables reading files through memory mapped regions, when set to `true`.
+     */
+    public static final String BALLERINA_IO_MMAP_ENV_VAR = "BALLERINA_IO_MMAP";
+
+    /**
+     * The size of the file regions mapped into memory when reading files through memory mapped regions (64 MB).
+     */
+    public static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
     public static final String IO_PACKAGE_VERSION =  "0.5.0";
 
     public static final Module IO_PACKAGE_ID = new Module(BALLERINA_BUILTIN_PKG_PREFIX, "io", IO_PACKAGE_VERSION);
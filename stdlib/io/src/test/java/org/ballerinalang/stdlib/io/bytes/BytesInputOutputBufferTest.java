@@ -18,6 +18,7 @@
 package org.ballerinalang.stdlib.io.bytes;
 
 import org.ballerinalang.stdlib.io.MockByteChannel;
+import org.ballerinalang.stdlib.io.channels.FileIOChannel;
 import org.ballerinalang.stdlib.io.channels.base.Buffer;
 import org.ballerinalang.stdlib.io.channels.base.Channel;
 import org.ballerinalang.stdlib.io.util.TestUtil;
@@ -33,6 +34,11 @@ import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 
 /**
@@ -251,6 +257,44 @@ public class BytesInputOutputBufferTest {
         Assert.assertEquals(numberOfBytesWritten, bytes.length);
     }
 
+    @Test(description = "Reads file through memory mapped regions")
+    public void readFileThroughMemoryMappedRegions() throws IOException, URISyntaxException {
+        Path path = Paths.get(getClass().getClassLoader().getResource("datafiles/io/text/fileThatExceeds2MB.txt")
+                                      .toURI());
+        byte[] expectedContent = Files.readAllBytes(path);
+        Channel channel = new FileIOChannel(FileChannel.open(path), true);
+        channel.setReadable(true);
+
+        ReadByteResult result = read(1000, channel);
+        Assert.assertEquals(result.getNumberOfBytesRead(), 1000);
+        Assert.assertEquals(result.getContent(), Arrays.copyOf(expectedContent, 1000));
+
+        result = read(expectedContent.length, channel);
+        Assert.assertEquals(result.getNumberOfBytesRead(), expectedContent.length - 1000);
+        Assert.assertEquals(Arrays.copyOf(result.getContent(), result.getNumberOfBytesRead()),
+                            Arrays.copyOfRange(expectedContent, 1000, expectedContent.length));
+        Assert.assertTrue(channel.hasReachedEnd());
+        channel.close();
+    }
+
+    @Test(description = "Continues reading through an InputStream after reading memory mapped regions")
+    public void readInputStreamAfterMemoryMappedRegions() throws IOException, URISyntaxException {
+        Path path = Paths.get(getClass().getClassLoader().getResource("datafiles/io/text/fileThatExceeds2MB.txt")
+                                      .toURI());
+        byte[] expectedContent = Files.readAllBytes(path);
+        Channel channel = new FileIOChannel(FileChannel.open(path), true);
+        channel.setReadable(true);
+
+        ReadByteResult result = read(1000, channel);
+        Assert.assertEquals(result.getContent(), Arrays.copyOf(expectedContent, 1000));
+
+        try (InputStream inputStream = channel.getInputStream()) {
+            Assert.assertEquals(inputStream.readAllBytes(),
+                                Arrays.copyOfRange(expectedContent, 1000, expectedContent.length));
+        }
+        channel.close();
+    }
+
     @Test(description = "Get content via InputStream")
     public void getContentViaInputStream() throws IOException, URISyntaxException {
         ByteChannel byteChannel = TestUtil.openForReading("datafiles/io/text/6charfile.txt");
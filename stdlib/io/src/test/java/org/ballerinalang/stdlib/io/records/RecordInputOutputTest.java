@@ -21,6 +21,7 @@ import org.ballerinalang.stdlib.io.MockByteChannel;
 import org.ballerinalang.stdlib.io.channels.base.Channel;
 import org.ballerinalang.stdlib.io.channels.base.CharacterChannel;
 import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
+import org.ballerinalang.stdlib.io.csv.Format;
 import org.ballerinalang.stdlib.io.util.TestUtil;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 import org.testng.Assert;
@@ -144,6 +145,28 @@ public class RecordInputOutputTest {
         recordChannel.close();
     }
 
+    @Test(description = "Reads records with quoted fields of the CSV format")
+    public void readQuotedRecords() throws IOException, URISyntaxException, BallerinaIOException {
+        ByteChannel byteChannel = TestUtil.openForReading("datafiles/io/records/sampleRfcQuoted.csv");
+        Channel channel = new MockByteChannel(byteChannel);
+        CharacterChannel characterChannel = new CharacterChannel(channel, StandardCharsets.UTF_8.name());
+        DelimitedRecordChannel recordChannel = new DelimitedRecordChannel(characterChannel, Format.CSV);
+
+        Assert.assertTrue(recordChannel.hasNext());
+        Assert.assertEquals(recordChannel.read(), new String[]{"User1", "WSO2, Colombo", "07xxxxxx"});
+
+        Assert.assertTrue(recordChannel.hasNext());
+        Assert.assertEquals(recordChannel.read(), new String[]{"User2", "He said \"hello\""});
+
+        Assert.assertTrue(recordChannel.hasNext());
+        Assert.assertEquals(recordChannel.read(), new String[]{"User3", "Line one\nLine two", "07xxxxxxx"});
+
+        Assert.assertFalse(recordChannel.hasNext());
+        Assert.assertEquals(recordChannel.read().length, 0);
+
+        recordChannel.close();
+    }
+
     @Test(description = "Writes records to channel")
     public void writeRecords() throws IOException {
         //Number of characters in this file would be 6
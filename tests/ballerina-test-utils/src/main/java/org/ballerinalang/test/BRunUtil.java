@@ -54,6 +54,7 @@ import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import io.ballerina.runtime.internal.values.ObjectValue;
+import io.ballerina.runtime.internal.values.RopeStringValue;
 import io.ballerina.runtime.internal.values.StreamValue;
 import io.ballerina.runtime.internal.values.TypedescValue;
 import io.ballerina.runtime.internal.values.XmlSequence;
@@ -118,6 +119,7 @@ import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -170,6 +172,8 @@ public class BRunUtil {
                 paramTypes[i] = BmpStringValue.class;
             } else if (arg instanceof NonBmpStringValue) {
                 paramTypes[i] = NonBmpStringValue.class;
+            } else if (arg instanceof RopeStringValue) {
+                paramTypes[i] = RopeStringValue.class;
             } else if (arg instanceof ArrayValue) {
                 paramTypes[i] = ArrayValue.class;
             } else if (arg instanceof Integer) {
@@ -1317,6 +1321,19 @@ public class BRunUtil {
     }
 
     public static ExitDetails run(CompileResult compileResult, String[] args) {
+        return run(compileResult, args, Collections.emptyMap());
+    }
+
+    /**
+     * Runs the main function of a compiled program in a new process, with the given system variables set in its
+     * environment, so that the runtime reads its configuration as it does when the program is run by a user.
+     *
+     * @param compileResult CompileResult instance
+     * @param args          arguments of the main function
+     * @param envVariables  system variables to set in the environment of the process
+     * @return the exit code and the console output of the process
+     */
+    public static ExitDetails run(CompileResult compileResult, String[] args, Map<String, String> envVariables) {
         PackageManifest packageManifest = compileResult.packageManifest();
         String initClassName = JarResolver.getQualifiedClassName(packageManifest.org().toString(),
                 packageManifest.name().toString(),
@@ -1333,8 +1350,9 @@ public class BRunUtil {
             actualArgs.add(3, initClassName);
             actualArgs.addAll(Arrays.asList(args));
 
-            final Runtime runtime = Runtime.getRuntime();
-            final Process process = runtime.exec(actualArgs.toArray(new String[0]));
+            ProcessBuilder processBuilder = new ProcessBuilder(actualArgs);
+            processBuilder.environment().putAll(envVariables);
+            final Process process = processBuilder.start();
             String consoleError = getConsoleOutput(process.getErrorStream());
             String consoleInput = getConsoleOutput(process.getInputStream());
             process.waitFor();
@@ -51,6 +51,7 @@ import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import io.ballerina.runtime.internal.values.ObjectValue;
+import io.ballerina.runtime.internal.values.RopeStringValue;
 import io.ballerina.runtime.internal.values.StreamValue;
 import io.ballerina.runtime.internal.values.TypedescValue;
 import io.ballerina.runtime.internal.values.XmlSequence;
@@ -153,6 +154,8 @@ public class BRunUtil {
                 paramTypes[i] = BmpStringValue.class;
             } else if (arg instanceof NonBmpStringValue) {
                 paramTypes[i] = NonBmpStringValue.class;
+            } else if (arg instanceof RopeStringValue) {
+                paramTypes[i] = RopeStringValue.class;
             } else if (arg instanceof ArrayValue) {
                 paramTypes[i] = ArrayValue.class;
             } else if (arg instanceof Integer) {
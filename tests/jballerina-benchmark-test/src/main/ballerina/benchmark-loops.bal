@@ -545,3 +545,62 @@ public function benchmarkJoinWithForeach(int warmupCount, int benchmarkCount) re
     }
     return (nanoTime() - startTime);
 }
+
+public function benchmarkFilterWithQuery(int warmupCount, int benchmarkCount) returns int {
+    Person[] pl = getPersonArray(warmupCount);
+    string[] outputList =
+        from var person in pl
+        let int id = person.id
+        where id % 2 == 0
+        select person.fname;
+
+    pl = getPersonArray(benchmarkCount);
+    int startTime = nanoTime();
+    outputList =
+        from var person in pl
+        let int id = person.id
+        where id % 2 == 0
+        select person.fname;
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkFilterWithForeach(int warmupCount, int benchmarkCount) returns int {
+    Person[] pl = getPersonArray(warmupCount);
+    string[] outputList = [];
+
+    foreach var person in pl {
+        int id = person.id;
+        if (id % 2 == 0) {
+            outputList.push(person.fname);
+        }
+    }
+
+    pl = getPersonArray(benchmarkCount);
+    outputList = [];
+    int startTime = nanoTime();
+    foreach var person in pl {
+        int id = person.id;
+        if (id % 2 == 0) {
+            outputList.push(person.fname);
+        }
+    }
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkOrderByWithQuery(int warmupCount, int benchmarkCount) returns int {
+    Person[] pl = getPersonArray(warmupCount);
+    Person[] outputList =
+        from var person in pl
+        order by person.id descending
+        limit 10
+        select person;
+
+    pl = getPersonArray(benchmarkCount);
+    int startTime = nanoTime();
+    outputList =
+        from var person in pl
+        order by person.id descending
+        limit 10
+        select person;
+    return (nanoTime() - startTime);
+}
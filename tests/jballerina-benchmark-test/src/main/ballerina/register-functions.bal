@@ -36,6 +36,9 @@ public function registerSingleExecFunctions() {
     addSingleExecFunction("benchmarkJoinWithQuery", benchmarkJoinWithQuery);
     addSingleExecFunction("benchmarkJoinWithForeach", benchmarkJoinWithForeach);
     addSingleExecFunction("benchmarkJoinWithWhile", benchmarkJoinWithWhile);
+    addSingleExecFunction("benchmarkFilterWithQuery", benchmarkFilterWithQuery);
+    addSingleExecFunction("benchmarkFilterWithForeach", benchmarkFilterWithForeach);
+    addSingleExecFunction("benchmarkOrderByWithQuery", benchmarkOrderByWithQuery);
 }
 
 public function registerMultiExecFunctions() {
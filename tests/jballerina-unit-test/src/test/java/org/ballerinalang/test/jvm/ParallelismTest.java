@@ -17,6 +17,7 @@
 
 package org.ballerinalang.test.jvm;
 
+import org.ballerinalang.core.model.values.BInteger;
 import org.ballerinalang.core.model.values.BValue;
 import org.ballerinalang.core.model.values.BValueArray;
 import org.ballerinalang.test.BCompileUtil;
@@ -60,6 +61,17 @@ public class ParallelismTest {
         Assert.assertEquals(result[0].stringValue(), "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]");
     }
 
+    @Test
+    public void testDeepRecursionAcrossYields() {
+        // Deep enough for the frame stack of each strand to grow several times past its initial size.
+        int depth = 200;
+        BValue[] args = {new BInteger(depth)};
+        BValue[] result = BRunUtil.invoke(compileResult, "testDeepRecursionAcrossYields", args);
+        Assert.assertEquals(result.length, 1);
+        long sum = (long) depth * (depth + 1);
+        Assert.assertEquals(((BInteger) result[0]).intValue(), sum + sum + (long) (depth + 1) * (depth + 2));
+    }
+
     @AfterClass
     public void tearDown() {
         compileResult = null;
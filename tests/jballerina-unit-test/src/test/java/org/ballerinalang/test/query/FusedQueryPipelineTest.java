@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * This contains methods to test query expressions whose clauses are fused into a single stream function.
+ *
+ * @since 2.0.0
+ */
+public class FusedQueryPipelineTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/fused-query-pipeline.bal");
+    }
+
+    @Test
+    public void testFusedClauses() {
+        BRunUtil.invoke(result, "testFusedClauses");
+    }
+
+    @Test
+    public void testFusedStreamValues() {
+        BRunUtil.invoke(result, "testFusedStreamValues");
+    }
+
+    @Test
+    public void testFusedClausesWithNilMembers() {
+        BRunUtil.invoke(result, "testFusedClausesWithNilMembers");
+    }
+
+    @Test
+    public void testFusedClausesBeforeOrderBy() {
+        BRunUtil.invoke(result, "testFusedClausesBeforeOrderBy");
+    }
+
+    @Test
+    public void testFusedClausesInNestedFrom() {
+        BRunUtil.invoke(result, "testFusedClausesInNestedFrom");
+    }
+
+    @Test
+    public void testFusedClausesInJoin() {
+        BRunUtil.invoke(result, "testFusedClausesInJoin");
+    }
+
+    @Test
+    public void testFusedQueryAction() {
+        BRunUtil.invoke(result, "testFusedQueryAction");
+    }
+
+    @Test
+    public void testFusedClausesOverMap() {
+        BRunUtil.invoke(result, "testFusedClausesOverMap");
+    }
+
+    @Test
+    public void testFusedClausesCallingYieldingFunction() {
+        BRunUtil.invoke(result, "testFusedClausesCallingYieldingFunction");
+    }
+
+    @Test
+    public void testParallelizableClauses() {
+        BRunUtil.invoke(result, "testParallelizableClauses");
+    }
+
+    @Test
+    public void testClausesRunInParallel() {
+        // The parallelism is only read from the system variable, hence the program is run in a process of its own.
+        CompileResult parallelResult =
+                BCompileUtil.compileWithoutInitInvocation("test-src/query/fused-query-parallel.bal");
+        Assert.assertEquals(parallelResult.getErrorCount(), 0);
+        BRunUtil.ExitDetails exitDetails = BRunUtil.run(parallelResult, new String[]{},
+                Collections.singletonMap("BALLERINA_QUERY_PARALLELISM", "4"));
+        Assert.assertEquals(exitDetails.exitCode, 0, exitDetails.errorOutput);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
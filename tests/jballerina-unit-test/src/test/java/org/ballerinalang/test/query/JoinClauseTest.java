@@ -115,6 +115,36 @@ public class JoinClauseTest {
         Assert.assertTrue(((BBoolean) values[0]).booleanValue());
     }
 
+    @Test(description = "Test join clauses with a large input having only a few matches")
+    public void testJoinClauseWithLargeInput() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinClauseWithLargeInput");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clause with keys that are equal but not in the same order")
+    public void testJoinClauseWithStructuredKey() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinClauseWithStructuredKey");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clause whose joined frames grow the hash table and have keys of many types")
+    public void testJoinClauseBuildSide() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinClauseBuildSide");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clauses with a key function which yields the strand")
+    public void testJoinClauseWithYieldingKey() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinClauseWithYieldingKey");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clauses over a stream and with a key function which yield the strand")
+    public void testJoinClauseWithYieldingStream() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinClauseWithYieldingStream");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
     @Test(groups = {"disableOnOldParser"}, description = "Test negative scenarios for query expr with join clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 32);
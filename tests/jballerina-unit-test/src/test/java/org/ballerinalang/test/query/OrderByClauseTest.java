@@ -222,6 +222,30 @@ public class OrderByClauseTest {
         Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
     }
 
+    @Test(description = "Test query expr with order by and limit clauses on a large input")
+    public void testQueryExprWithOrderByClauseAndLimitOnLargeInput() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseAndLimitOnLargeInput");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause over more frames than the initial capacity of the heap")
+    public void testQueryExprWithOrderByClauseOnMoreThan1024Frames() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseOnMoreThan1024Frames");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause on list order keys")
+    public void testQueryExprWithOrderByClauseOnListKeys() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseOnListKeys");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by and limit clauses which yield the strand")
+    public void testQueryExprWithOrderByClauseHavingYieldingOrderKey() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseHavingYieldingOrderKey");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
     @Test(description = "Test query expr with order by clause return string")
     public void testQueryExprWithOrderByClauseReturnString() {
         BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseReturnString");
@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/lang.runtime;
+
 int weightConst = 1000000;
 
 string[] log = [];
@@ -91,3 +93,27 @@ public function merge(int[] array, int[] helper, int low, int middle, int high)
         helperLeft = helperLeft + 1;
     }
 }
+
+function testDeepRecursionAcrossYields(int depth) returns int {
+    future<int> first = start sumAcrossYields(depth);
+    future<int> second = start sumAcrossYields(depth + 1);
+    int firstSum = wait first;
+    int secondSum = wait second;
+    return sumAcrossYields(depth) + firstSum + secondSum;
+}
+
+// Yields at the bottom of the recursion and again on the way up, so the frames of every function on the call stack
+// are saved and restored while the strand is suspended.
+function sumAcrossYields(int n) returns int {
+    int doubled = n * 2;
+    string label = n.toString();
+    if (n == 0) {
+        runtime:sleep(0);
+        return 0;
+    }
+    int rest = sumAcrossYields(n - 1);
+    if (n % 10 == 0) {
+        runtime:sleep(0);
+    }
+    return doubled + rest + (label == n.toString() ? 0 : -1);
+}
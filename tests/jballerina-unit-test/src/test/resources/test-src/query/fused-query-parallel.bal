@@ -0,0 +1,171 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+
+// Run with the BALLERINA_QUERY_PARALLELISM system variable set to 4.
+public function main() {
+    assertEquality(4, getQueryParallelism());
+    testClausesRunOnManyThreads();
+    testClausesRunInParallel();
+    testErrorEndsParallelQuery();
+    testClausesNotRunInParallel();
+}
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+function getPersons() returns Person[] {
+    Person[] persons = [];
+    int i = 0;
+    while (i < 10000) {
+        persons.push({name: "Person" + i.toString(), age: i});
+        i += 1;
+    }
+    return persons;
+}
+
+isolated function getAgeAfterYield(int age) returns int {
+    runtime:sleep(0);
+    return age;
+}
+
+isolated function getThreadName(int age) returns string {
+    if (age % 2500 == 0) {
+        // Holds the thread at the start of each chunk, so that the other chunks are run on other threads.
+        runtime:sleep(0.05);
+    }
+    return <string>java:toString(getName(currentThread()));
+}
+
+function testClausesRunOnManyThreads() {
+    string[] threadNames = from var p in getPersons() select getThreadName(p.age);
+    map<boolean> distinctNames = {};
+    foreach string name in threadNames {
+        distinctNames[name] = true;
+    }
+    if (distinctNames.length() < 2) {
+        panic error(ASSERTION_ERROR_REASON, message = "expected the chunks to run on more than one thread");
+    }
+}
+
+function testClausesRunInParallel() {
+    Person[] persons = getPersons();
+    table<Person> personTable = table [];
+    int[] expectedAges = [];
+    foreach Person p in persons {
+        personTable.add(p);
+        if (p.age % 3 == 0) {
+            expectedAges.push(p.age);
+        }
+    }
+
+    // The frames of the chunks are returned in the order of the members.
+    int[] ages = from var p in persons
+                 let int age = getAgeAfterYield(p.age)
+                 where age % 3 == 0
+                 select age;
+    assertEquality(expectedAges, ages);
+    int[] tableAges = from var p in personTable where p.age % 3 == 0 select getAgeAfterYield(p.age);
+    assertEquality(expectedAges, tableAges);
+
+    // Each selected record is a value of its own, rather than a frame reused in place.
+    Person[] adults = from var p in persons
+                      let string name = p.name.toUpperAscii()
+                      where p.age >= 18
+                      select {name: name, age: p.age};
+    assertEquality(9982, adults.length());
+    assertEquality({name: "PERSON18", age: 18}, adults[0]);
+    assertEquality({name: "PERSON5000", age: 5000}, adults[4982]);
+    assertEquality({name: "PERSON9999", age: 9999}, adults[9981]);
+}
+
+isolated function checkAge(int age) returns int|error {
+    if (age == 3000 || age == 7000) {
+        return error("Invalid age " + age.toString());
+    }
+    return age;
+}
+
+function getCheckedAges(Person[] persons) returns int[]|error {
+    int[]|error ages = from var p in persons
+                       let int age = check checkAge(p.age)
+                       select age;
+    return ages;
+}
+
+function testErrorEndsParallelQuery() {
+    // The error of the first member which fails is returned, although a later chunk may fail first.
+    int[]|error checkedAges = getCheckedAges(getPersons());
+    if (checkedAges is error) {
+        assertEquality("Invalid age 3000", checkedAges.message());
+    } else {
+        panic error(ASSERTION_ERROR_REASON, message = "expected an error, found '" + checkedAges.toString() + "'");
+    }
+}
+
+type Counter record {|
+    int count;
+|};
+
+isolated function countPerson(Counter counter) returns boolean {
+    counter.count += 1;
+    return true;
+}
+
+function testClausesNotRunInParallel() {
+    Person[] persons = getPersons();
+
+    // Limit clauses and small collections fall back to processing the members one by one.
+    int[] limited = from var p in persons where p.age >= 18 limit 5 select p.age;
+    assertEquality([18, 19, 20, 21, 22], limited);
+    int[] fewAges = from var p in persons.slice(0, 100) where p.age % 50 == 0 select p.age;
+    assertEquality([0, 50], fewAges);
+
+    // An isolated function may still mutate its arguments, hence these clauses are not run in parallel.
+    Counter counter = {count: 0};
+    int[] counted = from var p in persons where countPerson(counter) select p.age;
+    assertEquality(10000, counted.length());
+    assertEquality(10000, counter.count);
+}
+
+function getQueryParallelism() returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStreamFunction",
+    name: "getParallelism"
+} external;
+
+isolated function currentThread() returns handle = @java:Method {
+    'class: "java.lang.Thread",
+    name: "currentThread"
+} external;
+
+isolated function getName(handle thread) returns handle = @java:Method {
+    'class: "java.lang.Thread",
+    name: "getName"
+} external;
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}
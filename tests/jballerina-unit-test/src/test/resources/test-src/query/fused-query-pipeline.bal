@@ -0,0 +1,202 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+function getPersons() returns Person[] {
+    return [
+        {name: "Alex", age: 25},
+        {name: "Ranjan", age: 32},
+        {name: "John", age: 41},
+        {name: "Mary", age: 19},
+        {name: "Anne", age: 29}
+    ];
+}
+
+function testFusedClauses() {
+    Person[] persons = getPersons();
+    string[] names = from var p in persons
+                     let int birthYear = 2021 - p.age
+                     where birthYear < 1990
+                     select p.name + " " + birthYear.toString();
+    assertEquality(["Ranjan 1989", "John 1980"], names);
+
+    int[] ages = from var p in persons
+                 where p.age > 20
+                 limit 2
+                 select p.age;
+    assertEquality([25, 32], ages);
+}
+
+function testFusedStreamValues() {
+    Person[] persons = getPersons();
+    stream<record {| string name; int index; |}> strm = stream from var p in persons
+                                                         let int index = p.age % 10
+                                                         select {name: p.name, index: index};
+    record {| string name; int index; |}[] values = [];
+    record {| record {| string name; int index; |} value; |}? next = strm.next();
+    while (next is record {| record {| string name; int index; |} value; |}) {
+        values.push(next.value);
+        next = strm.next();
+    }
+    assertEquality([{name: "Alex", index: 5}, {name: "Ranjan", index: 2}, {name: "John", index: 1},
+                    {name: "Mary", index: 9}, {name: "Anne", index: 9}], values);
+}
+
+function testFusedClausesWithNilMembers() {
+    int?[] values = [1, (), 3, (), 5];
+    int?[] result = from var v in values select v;
+    assertEquality([1, (), 3, (), 5], result);
+
+    int?[] nonNil = from var v in values where v != () select v;
+    assertEquality([1, 3, 5], nonNil);
+}
+
+function testFusedClausesBeforeOrderBy() {
+    Person[] persons = getPersons();
+    string[] names = from var p in persons
+                     where p.age > 20
+                     order by p.age descending
+                     select p.name;
+    assertEquality(["John", "Ranjan", "Anne", "Alex"], names);
+}
+
+function testFusedClausesInNestedFrom() {
+    int[] outerList = [1, 2];
+    int[] innerList = [10, 20, 30];
+    int[] sums = from var i in outerList
+                 from var j in innerList
+                 where j != 20
+                 limit 3
+                 select i + j;
+    assertEquality([11, 31, 12], sums);
+}
+
+function testFusedClausesInJoin() {
+    Person[] persons = getPersons();
+    int[] selectedAges = [41, 32];
+    string[] result = from var p in persons
+                      join var age in selectedAges on p.age equals age
+                      where p.name != "Mary"
+                      select p.name;
+    assertEquality(["Ranjan", "John"], result);
+}
+
+function testFusedQueryAction() {
+    Person[] persons = getPersons();
+    int total = 0;
+    error? err = from var p in persons
+                 where p.age < 30
+                 do {
+                     total += p.age;
+                 };
+    assertEquality(true, err is ());
+    assertEquality(73, total);
+}
+
+function testFusedClausesOverMap() {
+    map<int> ages = {Alex: 25, Ranjan: 32, John: 41};
+    int[] result = from var age in ages where age > 30 select age;
+    assertEquality([32, 41], result);
+}
+
+isolated function getAge(int age) returns int {
+    return age;
+}
+
+function getAgeAfterWait(int age) returns int {
+    // The started strand has not run yet, hence waiting for it yields the strand of the query.
+    future<int> f = start getAge(age);
+    return wait f;
+}
+
+function testFusedClausesCallingYieldingFunction() {
+    Person[] persons = getPersons();
+    string[] names = from var p in persons
+                     let int age = getAgeAfterWait(p.age)
+                     where getAgeAfterWait(age) < 30
+                     limit getAgeAfterWait(2)
+                     select p.name + " " + getAgeAfterWait(age).toString();
+    assertEquality(["Alex 25", "Mary 19"], names);
+
+    int total = 0;
+    error? err = from var p in persons
+                 where getAgeAfterWait(p.age) > 30
+                 do {
+                     total += getAgeAfterWait(p.age);
+                 };
+    assertEquality(true, err is ());
+    assertEquality(73, total);
+
+    map<int> ages = {Alex: 25, Ranjan: 32, John: 41};
+    int[] result = from var age in ages where getAgeAfterWait(age) > 30 select getAgeAfterWait(age);
+    assertEquality([32, 41], result);
+}
+
+isolated function isAdult(int age) returns boolean {
+    return age >= 18;
+}
+
+int checkedAges = 0;
+
+function countAge(int age) returns int {
+    checkedAges += 1;
+    return age;
+}
+
+function testParallelizableClauses() {
+    Person[] persons = [];
+    int i = 0;
+    while (i < 10000) {
+        persons.push({name: "Person" + i.toString(), age: i % 40});
+        i += 1;
+    }
+
+    // Only calls isolated functions, hence may be run over chunks of the list in parallel.
+    Person[] adults = from var p in persons
+                      let string name = p.name.toUpperAscii()
+                      where isAdult(p.age)
+                      select {name: name, age: p.age};
+    assertEquality(5500, adults.length());
+    assertEquality({name: "PERSON18", age: 18}, adults[0]);
+    assertEquality({name: "PERSON9999", age: 39}, adults[5499]);
+
+    table<Person> personTable = table [];
+    foreach Person p in persons {
+        personTable.add(p);
+    }
+    int[] ages = from var p in personTable where isAdult(p.age) select p.age;
+    assertEquality(5500, ages.length());
+    assertEquality(39, ages[21]);
+
+    // Calls a function which is not isolated, hence is run one member at a time.
+    int[] counted = from var p in persons where countAge(p.age) > 38 select p.age;
+    assertEquality(250, counted.length());
+    assertEquality(10000, checkedAges);
+}
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}
@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/lang.runtime;
+
 type DeptPerson record {|
    string fname;
    string lname;
@@ -455,3 +457,201 @@ function getDeptName(int id) returns string {
         return "Operations";
     }
 }
+
+function testJoinClauseWithLargeInput() returns boolean {
+    Person[] personList = [];
+    int i = 0;
+    while (i < 100000) {
+        personList.push({id: i, fname: "Alex", lname: "George"});
+        i += 1;
+    }
+
+    Department[] deptList = [{id: 99999, name:"HR"}, {id: 5, name:"Operations"}, {id: -1, name:"Finance"}];
+
+    DeptPerson[] deptPersonList =
+       from var person in personList
+       join var {id,name} in deptList
+       on person.id equals id
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : name
+       };
+
+    DeptPerson[] outerDeptPersonList =
+       from var person in personList
+       outer join Department dept in deptList
+       on person.id equals dept.id
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : dept.name
+       };
+
+    boolean testPassed = true;
+    testPassed = testPassed && deptPersonList.length() == 2;
+    testPassed = testPassed && deptPersonList[0].dept == "Operations";
+    testPassed = testPassed && deptPersonList[1].dept == "HR";
+    testPassed = testPassed && outerDeptPersonList.length() == 100000;
+    testPassed = testPassed && outerDeptPersonList[0].dept is ();
+    testPassed = testPassed && outerDeptPersonList[5].dept == "Operations";
+    testPassed = testPassed && outerDeptPersonList[99999].dept == "HR";
+    return testPassed;
+}
+
+function testJoinClauseWithStructuredKey() returns boolean {
+    map<int> k1 = {a: 1, b: 2};
+    map<int> k2 = {b: 2, a: 1};
+    map<int> k3 = {a: 2, b: 1};
+
+    record {| map<int> key; string name; |}[] lhs = [{key: k1, name: "first"}, {key: k3, name: "second"}];
+    record {| map<int> key; int value; |}[] rhs = [{key: k2, value: 10}, {key: k2, value: 20}];
+
+    string[] joined =
+       from var l in lhs
+       join var r in rhs
+       on l.key equals r.key
+       select l.name + ":" + r.value.toString();
+
+    boolean testPassed = true;
+    testPassed = testPassed && joined.length() == 2;
+    testPassed = testPassed && joined[0] == "first:10";
+    testPassed = testPassed && joined[1] == "first:20";
+    return testPassed;
+}
+
+function testJoinClauseBuildSide() returns boolean {
+    // Enough distinct keys to grow the hash table of the joined frames, each added twice.
+    record {| anydata key; int index; |}[] rhs = [];
+    int i = 0;
+    while (i < 200) {
+        rhs.push({key: i % 100, index: i});
+        i += 1;
+    }
+    // Keys of other types are not equal to the int keys, even where they have the same value.
+    rhs.push({key: 1.0, index: 200});
+    rhs.push({key: "1", index: 201});
+    rhs.push({key: (), index: 202});
+    rhs.push({key: [1, 2], index: 203});
+    // The int and float keys have the same hash code, and the same integral part.
+    rhs.push({key: 1080039430, index: 204});
+    rhs.push({key: 1080039430.75, index: 205});
+    rhs.push({key: [1080039430.75], index: 206});
+
+    byte byteKey = 1;
+    anydata[] lhsKeys = [99, 1, "1", (), [1, 2], 100, 1.0, 1080039430.75, 1080039430, [1080039430], byteKey];
+    int[] joined =
+       from var lhsKey in lhsKeys
+       join var r in rhs
+       on lhsKey equals r.key
+       select r.index;
+
+    boolean testPassed = true;
+    testPassed = testPassed && joined == [99, 199, 1, 101, 201, 202, 203, 200, 205, 204, 1, 101];
+    return testPassed;
+}
+
+class YieldingPersonGenerator {
+    Person[] persons;
+    int i = 0;
+
+    function init(Person[] persons) {
+        self.persons = persons;
+    }
+
+    public isolated function next() returns record {| Person value; |}|error? {
+        // Sleeping yields the strand of the query before each value is returned.
+        runtime:sleep(0);
+        if (self.i == self.persons.length()) {
+            return ();
+        }
+        Person person = self.persons[self.i];
+        self.i += 1;
+        return {value: person};
+    }
+}
+
+isolated function getNextIndex(int i) returns int {
+    return i + 1;
+}
+
+function getIdAfterWait(int id) returns int {
+    future<int> f = start getNextIndex(id - 1);
+    return wait f;
+}
+
+function testJoinClauseWithYieldingKey() returns boolean {
+    Person p1 = {id: 1, fname: "Alex", lname: "George"};
+    Person p2 = {id: 2, fname: "Ranjan", lname: "Fonseka"};
+    Person p3 = {id: 3, fname: "Grainier", lname: "Perera"};
+
+    Department d1 = {id: 1, name:"HR"};
+    Department d2 = {id: 2, name:"Operations"};
+
+    Person[] personList = [p1, p2, p3];
+    Department[] deptList = [d1, d2];
+
+    string[] joined =
+       from var person in personList
+       join var dept in deptList
+       on getIdAfterWait(person.id) equals dept.id
+       select person.fname + ":" + dept.name;
+
+    DeptPerson[] outerJoined =
+       from var person in personList
+       outer join Department dept in deptList
+       on getIdAfterWait(person.id) equals dept.id
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : dept.name
+       };
+
+    boolean testPassed = true;
+    testPassed = testPassed && joined == ["Alex:HR", "Ranjan:Operations"];
+    testPassed = testPassed && outerJoined.length() == 3;
+    testPassed = testPassed && outerJoined[0].dept == "HR" && outerJoined[1].dept == "Operations";
+    testPassed = testPassed && outerJoined[2].dept is ();
+    return testPassed;
+}
+
+function testJoinClauseWithYieldingStream() returns boolean {
+    Person p1 = {id: 1, fname: "Alex", lname: "George"};
+    Person p2 = {id: 2, fname: "Ranjan", lname: "Fonseka"};
+    Person p3 = {id: 3, fname: "Grainier", lname: "Perera"};
+
+    Department d1 = {id: 1, name:"HR"};
+    Department d2 = {id: 2, name:"Operations"};
+
+    Person[] personList = [p1, p2, p3];
+    Department[] deptList = [d1, d2];
+
+    YieldingPersonGenerator personGen = new (personList);
+    var personStream = new stream<Person, error>(personGen);
+    string[]|error joined =
+       from var person in personStream
+       join var dept in deptList
+       on getIdAfterWait(person.id) equals dept.id
+       select person.fname + ":" + dept.name;
+
+    YieldingPersonGenerator outerPersonGen = new (personList);
+    var outerPersonStream = new stream<Person, error>(outerPersonGen);
+    DeptPerson[]|error outerJoined =
+       from var person in outerPersonStream
+       outer join Department dept in deptList
+       on getIdAfterWait(person.id) equals dept.id
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : dept.name
+       };
+
+    boolean testPassed = true;
+    testPassed = testPassed && joined is string[] && joined == ["Alex:HR", "Ranjan:Operations"];
+    testPassed = testPassed && outerJoined is DeptPerson[] && outerJoined.length() == 3;
+    if (outerJoined is DeptPerson[]) {
+        testPassed = testPassed && outerJoined[0].dept == "HR" && outerJoined[1].dept == "Operations";
+        testPassed = testPassed && outerJoined[2].dept is ();
+    }
+    return testPassed;
+}
@@ -502,3 +502,131 @@ function incrementCount(int i) returns int {
     int count = i + 2;
     return count;
 }
+
+function testQueryExprWithOrderByClauseAndLimitOnLargeInput() returns boolean {
+    Person[] personList = [];
+    int i = 0;
+    while (i < 100000) {
+        personList.push({firstName: "Person" + i.toString(), lastName: "Doe", age: i % 50});
+        i += 1;
+    }
+
+    string[] oldest = from var person in personList
+                      order by person.age descending
+                      limit 3
+                      select person.firstName;
+
+    string[] all = from var person in personList.slice(0, 4)
+                   order by person.age descending, person.firstName
+                   limit 10
+                   select person.firstName;
+
+    boolean testPassed = true;
+    // Frames having equal order keys are in their input order.
+    testPassed = testPassed && oldest == ["Person49", "Person99", "Person149"];
+    testPassed = testPassed && all == ["Person3", "Person2", "Person1", "Person0"];
+    return testPassed;
+}
+
+function testQueryExprWithOrderByClauseOnMoreThan1024Frames() returns boolean {
+    Person[] personList = [];
+    int i = 0;
+    while (i < 3000) {
+        personList.push({firstName: "Person" + i.toString(), lastName: "Doe", age: i % 7});
+        i += 1;
+    }
+
+    int[] ordered = from var person in personList
+                    order by person.age descending
+                    select person.age;
+    string[] names = from var person in personList
+                     order by person.age descending
+                     select person.firstName;
+    // The limit is larger than the initial capacity of the heap of the frames within the limit.
+    string[] limited = from var person in personList
+                       order by person.age descending
+                       limit 2000
+                       select person.firstName;
+
+    boolean testPassed = true;
+    testPassed = testPassed && ordered.length() == 3000;
+    i = 1;
+    while (i < ordered.length()) {
+        testPassed = testPassed && ordered[i - 1] >= ordered[i];
+        i += 1;
+    }
+    // Frames having equal order keys are in their input order.
+    testPassed = testPassed && names[0] == "Person6" && names[1] == "Person13" && names[2999] == "Person2996";
+    testPassed = testPassed && limited == names.slice(0, 2000);
+    return testPassed;
+}
+
+function testQueryExprWithOrderByClauseOnListKeys() returns boolean {
+    int[][] shifts = [[2, 1], [1, 3], [], [2], [1], [1, 3, 0], [2, 1], [1, 2]];
+    Employee[] employeeList = [];
+    int i = 0;
+    foreach int[] s in shifts {
+        employeeList.push({name: "Employee" + i.toString(), address: {unitNo: i, street: "Main"}, tokens: {},
+                           noOfShifts: s});
+        i += 1;
+    }
+
+    // Lists are ordered on their members, and a list is ordered before the lists which it is a prefix of.
+    string[] names = from var e in employeeList
+                     order by e.noOfShifts ascending
+                     select e.name;
+    string[] reversed = from var e in employeeList
+                          order by e.noOfShifts descending
+                          select e.name;
+    string[] limited = from var e in employeeList
+                       order by e.noOfShifts ascending
+                       limit 5
+                       select e.name;
+    string[] limitedReversed = from var e in employeeList
+                                 order by e.noOfShifts descending
+                                 limit 3
+                                 select e.name;
+
+    boolean testPassed = true;
+    testPassed = testPassed && names == ["Employee2", "Employee4", "Employee7", "Employee1", "Employee5",
+                                         "Employee3", "Employee0", "Employee6"];
+    testPassed = testPassed && reversed == ["Employee0", "Employee6", "Employee3", "Employee5", "Employee1",
+                                              "Employee7", "Employee4", "Employee2"];
+    // The frames kept within the limit are ordered the same way as all the frames.
+    testPassed = testPassed && limited == names.slice(0, 5);
+    testPassed = testPassed && limitedReversed == reversed.slice(0, 3);
+    return testPassed;
+}
+
+isolated function getAge(int age) returns int {
+    return age;
+}
+
+function getAgeAfterWait(int age) returns int {
+    // The started strand has not run yet, hence waiting for it yields the strand of the query.
+    future<int> f = start getAge(age);
+    return wait f;
+}
+
+function testQueryExprWithOrderByClauseHavingYieldingOrderKey() returns boolean {
+    Person[] personList = [
+        {firstName: "Alex", lastName: "George", age: 25},
+        {firstName: "Ranjan", lastName: "Fonseka", age: 41},
+        {firstName: "John", lastName: "David", age: 33},
+        {firstName: "Mary", lastName: "Anne", age: 19}
+    ];
+
+    string[] ordered = from var person in personList
+                       order by getAgeAfterWait(person.age) descending
+                       select person.firstName;
+
+    string[] youngest = from var person in personList
+                        order by getAgeAfterWait(person.age)
+                        limit getAgeAfterWait(2)
+                        select person.firstName;
+
+    boolean testPassed = true;
+    testPassed = testPassed && ordered == ["Ranjan", "John", "Alex", "Mary"];
+    testPassed = testPassed && youngest == ["Mary", "Alex"];
+    return testPassed;
+}
@@ -0,0 +1,143 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+type Employee record {|
+    readonly int id;
+    readonly string dept;
+    readonly int age;
+    readonly float salary;
+    string name;
+|};
+
+type EmployeeTable table<Employee> key(id);
+
+function getEmployees() returns EmployeeTable {
+    EmployeeTable employees = table [
+        {id: 1, dept: "Sales", age: 25, salary: 1000.0, name: "Alex"},
+        {id: 2, dept: "HR", age: 32, salary: 1500.0, name: "Ranjan"},
+        {id: 3, dept: "Sales", age: 41, salary: 2000.0, name: "John"},
+        {id: 4, dept: "Finance", age: 32, salary: -0.0, name: "Mary"},
+        {id: 5, dept: "Sales", age: 29, salary: 1200.0, name: "Anne"}
+    ];
+    return employees;
+}
+
+function testEqualityFilterOnIndexedField() {
+    EmployeeTable employees = getEmployees();
+    string dept = "Sales";
+    int[] ids = from var e in employees where e.dept == dept select e.id;
+    assertEquality([1, 3, 5], ids);
+
+    ids = from var e in employees where "HR" == e.dept select e.id;
+    assertEquality([2], ids);
+
+    ids = from var e in employees where e.dept == "Marketing" select e.id;
+    assertEquality([], ids);
+
+    ids = from var e in employees where e.salary == 0.0 select e.id;
+    assertEquality([4], ids);
+}
+
+function testRangeFilterOnIndexedField() {
+    EmployeeTable employees = getEmployees();
+    int age = 32;
+    int[] ids = from var e in employees where e.age < age select e.id;
+    assertEquality([1, 5], ids);
+
+    ids = from var e in employees where e.age <= age select e.id;
+    assertEquality([1, 2, 4, 5], ids);
+
+    ids = from var e in employees where age < e.age select e.id;
+    assertEquality([3], ids);
+
+    ids = from var e in employees where e.age >= 32 && e.dept == "Sales" select e.id;
+    assertEquality([3], ids);
+
+    ids = from var e in employees where (e.salary > 1100.0) select e.id;
+    assertEquality([2, 3, 5], ids);
+}
+
+function testIndexedFieldAfterUpdates() {
+    EmployeeTable employees = getEmployees();
+    int[] ids = from var e in employees where e.dept == "Sales" select e.id;
+    assertEquality([1, 3, 5], ids);
+
+    employees.add({id: 6, dept: "Sales", age: 22, salary: 900.0, name: "Kate"});
+    _ = employees.remove(3);
+    employees.put({id: 1, dept: "HR", age: 25, salary: 1000.0, name: "Alex"});
+    ids = from var e in employees where e.dept == "Sales" select e.id;
+    assertEquality([5, 6], ids);
+
+    ids = from var e in employees where e.dept == "HR" select e.id;
+    assertEquality([1, 2], ids);
+
+    employees.removeAll();
+    ids = from var e in employees where e.dept == "HR" select e.id;
+    assertEquality([], ids);
+}
+
+type Person record {|
+    readonly int id;
+    string name;
+    int age;
+|};
+
+function testFilterOnMutableField() {
+    table<Person> key(id) persons = table [
+        {id: 1, name: "Alex", age: 25},
+        {id: 2, name: "Ranjan", age: 32}
+    ];
+    int[] ids = from var p in persons where p.age > 30 select p.id;
+    assertEquality([2], ids);
+
+    Person person = persons.get(1);
+    person.age = 35;
+    ids = from var p in persons where p.age > 30 select p.id;
+    assertEquality([1, 2], ids);
+}
+
+function testFilterOnImmutableTable() {
+    table<Person> key(id) & readonly persons = table [
+        {id: 1, name: "Alex", age: 25},
+        {id: 2, name: "Ranjan", age: 32},
+        {id: 3, name: "John", age: 41}
+    ];
+    string[] names = from var p in persons where p.age > 30 select p.name;
+    assertEquality(["Ranjan", "John"], names);
+}
+
+function testQueryActionWithIndexedField() {
+    EmployeeTable employees = getEmployees();
+    string[] names = [];
+    error? err = from var e in employees
+                 where e.dept == "Sales"
+                 do {
+                     names.push(e.name);
+                 };
+    assertEquality(true, err is ());
+    assertEquality(["Alex", "John", "Anne"], names);
+}
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}